@@ -0,0 +1,78 @@
+#!/usr/bin/env bash
+# Prueba de carga: PATCH de stock concurrentes por HTTP/1.1 y por h2c con la misma
+# cantidad de peticiones en vuelo. Reporta conexiones abiertas en el servidor y
+# latencias p50/p99/p99.9 de cada escenario.
+#
+# Requiere h2load (paquete nghttp2-client), curl y la API levantada con
+# server.http2.enabled=true y franchise.netty.metrics.enabled=true.
+#
+# Uso: ./load-test/stock-patch-h2c.sh [base-url] [peticiones] [en-vuelo] [conexiones-h2c]
+set -euo pipefail
+
+BASE_URL="${1:-http://localhost:8084}"
+REQUESTS="${2:-50000}"
+IN_FLIGHT="${3:-200}"
+H2C_CONNECTIONS="${4:-4}"
+STREAMS_PER_CONNECTION=$(( IN_FLIGHT / H2C_CONNECTIONS ))
+WORK_DIR="$(mktemp -d)"
+trap 'rm -rf "$WORK_DIR"' EXIT
+
+json_field() {
+  grep -o "\"$1\":\"[^\"]*\"" | head -n 1 | cut -d '"' -f 4
+}
+
+metric_value() {
+  curl -s "$BASE_URL/actuator/metrics/$1" | grep -o '"value":[0-9.]*' | head -n 1 | cut -d ':' -f 2
+}
+
+echo "Preparando datos de prueba en $BASE_URL"
+FRANCHISE_ID=$(curl -s -X POST "$BASE_URL/api/franchises" -H 'Content-Type: application/json' \
+  -d "{\"name\":\"Carga h2c $(date +%s)\"}" | json_field id)
+BRANCH_ID=$(curl -s -X POST "$BASE_URL/api/franchises/$FRANCHISE_ID/branches" -H 'Content-Type: application/json' \
+  -d '{"name":"Sucursal carga"}' | json_field branchId)
+PRODUCT_ID=$(curl -s -X POST "$BASE_URL/api/franchises/$FRANCHISE_ID/branches/by-id/$BRANCH_ID/products" \
+  -H 'Content-Type: application/json' -d '{"name":"Producto carga","stock":1}' | json_field productId)
+TARGET="$BASE_URL/api/franchises/$FRANCHISE_ID/branches/by-id/$BRANCH_ID/products/$PRODUCT_ID"
+echo '{"stock":42}' > "$WORK_DIR/body.json"
+
+# Máximo de conexiones abiertas en el servidor mientras corre el escenario
+sample_connections() {
+  local max=0 current
+  while [ ! -f "$WORK_DIR/done" ]; do
+    current=$(metric_value reactor.netty.http.server.connections.total)
+    current=${current%.*}
+    if [ -n "$current" ] && [ "$current" -gt "$max" ]; then
+      max=$current
+    fi
+    sleep 0.2
+  done
+  echo "$max" > "$WORK_DIR/connections"
+}
+
+run_scenario() {
+  local name="$1"; shift
+  rm -f "$WORK_DIR/done" "$WORK_DIR/connections"
+  sample_connections &
+  h2load "$@" -n "$REQUESTS" -d "$WORK_DIR/body.json" \
+    -H ':method: PATCH' -H 'Content-Type: application/json' \
+    --log-file="$WORK_DIR/$name.log" "$TARGET" > "$WORK_DIR/$name.out"
+  touch "$WORK_DIR/done"
+  wait
+  grep -E '^(finished in|requests:)' "$WORK_DIR/$name.out" | sed "s/^/[$name] /"
+  # Tercera columna del log de h2load: duración de la petición en microsegundos
+  cut -f 3 "$WORK_DIR/$name.log" | sort -n | awk -v name="$name" -v connections="$(cat "$WORK_DIR/connections")" '
+    { latency[NR] = $1 }
+    END {
+      printf "[%s] conexiones=%s p50=%.1fms p99=%.1fms p99.9=%.1fms\n", name, connections,
+        latency[int(NR * 0.50)] / 1000, latency[int(NR * 0.99)] / 1000, latency[int(NR * 0.999)] / 1000
+    }'
+}
+
+echo "HTTP/1.1: $IN_FLIGHT conexiones, una petición en vuelo por conexión"
+run_scenario http11 --h1 -c "$IN_FLIGHT" -m 1
+
+# h2load cierra sus conexiones al terminar; se deja que el servidor las descuente
+sleep 2
+
+echo "h2c: $H2C_CONNECTIONS conexiones, $STREAMS_PER_CONNECTION streams por conexión"
+run_scenario h2c -c "$H2C_CONNECTIONS" -m "$STREAMS_PER_CONNECTION"
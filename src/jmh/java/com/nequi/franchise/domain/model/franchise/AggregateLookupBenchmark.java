@@ -0,0 +1,90 @@
+package com.nequi.franchise.domain.model.franchise;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de buscar sucursales y productos con el recorrido lineal anterior
+ * ({@code stream().filter().findFirst()}) frente a los índices del agregado.
+ * Las variantes indexadas miden búsquedas repetidas sobre el mismo agregado, como en un lote:
+ * la primera búsqueda tras un cambio recorre la lista y no forma parte de la medición.
+ * Ejecutar con {@code ./gradlew jmh -Pjmh.includes=AggregateLookupBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AggregateLookupBenchmark {
+
+    @Param({"1000"})
+    public int branches;
+
+    @Param({"5000"})
+    public int products;
+
+    private Franchise franchise;
+    private Branch branch;
+    private List<Branch> plainBranches;
+    private List<Product> plainProducts;
+
+    @Setup
+    public void setUp() {
+        List<Branch> branchList = new ArrayList<>(branches);
+        for (int b = 0; b < branches; b++) {
+            branchList.add(Branch.builder().branchId("b-" + b).name("Sucursal " + b).build());
+        }
+        List<Product> productList = new ArrayList<>(products);
+        for (int p = 0; p < products; p++) {
+            productList.add(Product.builder().productId("p-" + p).name("Producto " + p).stock(p).build());
+        }
+        branch = branchList.get(branches - 1);
+        branch.setProducts(productList);
+        franchise = new Franchise("f-1", "Franquicia", branchList);
+        plainBranches = new ArrayList<>(branchList);
+        plainProducts = new ArrayList<>(productList);
+    }
+
+    @Benchmark
+    public Optional<Branch> branchByNameLinear() {
+        String name = "sucursal " + ThreadLocalRandom.current().nextInt(branches);
+        return plainBranches.stream().filter(b -> b.getName().equalsIgnoreCase(name)).findFirst();
+    }
+
+    @Benchmark
+    public Optional<Branch> branchByNameIndexed() {
+        return franchise.findBranchByName("sucursal " + ThreadLocalRandom.current().nextInt(branches));
+    }
+
+    @Benchmark
+    public Optional<Product> productByIdLinear() {
+        String productId = "p-" + ThreadLocalRandom.current().nextInt(products);
+        return plainProducts.stream().filter(p -> p.getProductId().equals(productId)).findFirst();
+    }
+
+    @Benchmark
+    public Optional<Product> productByIdIndexed() {
+        return branch.findProductById("p-" + ThreadLocalRandom.current().nextInt(products));
+    }
+
+    @Benchmark
+    public Optional<Product> productByNameLinear() {
+        String name = "PRODUCTO " + ThreadLocalRandom.current().nextInt(products);
+        return plainProducts.stream().filter(p -> p.getName().equalsIgnoreCase(name)).findFirst();
+    }
+
+    @Benchmark
+    public Optional<Product> productByNameIndexed() {
+        return branch.findProductByName("PRODUCTO " + ThreadLocalRandom.current().nextInt(products));
+    }
+}
@@ -0,0 +1,130 @@
+package com.nequi.franchise.domain.model.franchise;
+
+import com.nequi.franchise.domain.util.StockKernels;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recorrido del grafo {@code List<Branch>} → {@code List<Product>} con streams frente a la foto
+ * columnar {@link StockSnapshot} con kernels escalares y SIMD.
+ * <p>
+ * {@code *Stream} es el camino anterior; {@code *Scalar} y {@code *Vector} operan sobre una foto
+ * ya construida, y {@code buildAndMaxVector} incluye el costo de empaquetar los stocks, que es
+ * lo que paga el camino de mayor stock en cada recálculo. Ejecutar con
+ * {@code ./gradlew jmh -Pjmh.includes=StockKernelsBenchmark}; la variante vectorial requiere
+ * {@code --add-modules jdk.incubator.vector}, ya incluido en la configuración de jmh.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StockKernelsBenchmark {
+    private static final int THRESHOLD = 10;
+
+    @Param({"20"})
+    public int branches;
+
+    @Param({"100", "5000"})
+    public int productsPerBranch;
+
+    private List<Branch> graph;
+    private StockSnapshot scalarSnapshot;
+    private StockSnapshot vectorSnapshot;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        graph = new ArrayList<>(branches);
+        for (int b = 0; b < branches; b++) {
+            List<Product> products = new ArrayList<>(productsPerBranch);
+            for (int p = 0; p < productsPerBranch; p++) {
+                int stock = random.nextInt(20) == 0 ? Product.UNKNOWN_STOCK : random.nextInt(100_000);
+                products.add(new Product("p" + p, "Producto " + p, stock));
+            }
+            graph.add(new Branch("b" + b, "Sucursal " + b, products));
+        }
+        scalarSnapshot = StockSnapshot.of(graph, Branch::getProducts, Product::getStock, StockKernels.scalar());
+        vectorSnapshot = StockSnapshot.of(graph, Branch::getProducts, Product::getStock, StockKernels.preferred());
+    }
+
+    @Benchmark
+    public void maxPerBranchStream(Blackhole blackhole) {
+        for (Branch branch : graph) {
+            blackhole.consume(branch.getProducts().stream()
+                    .filter(Product::hasKnownStock)
+                    .max(Comparator.comparingInt(Product::getStock))
+                    .orElse(null));
+        }
+    }
+
+    @Benchmark
+    public void maxPerBranchScalar(Blackhole blackhole) {
+        for (int b = 0; b < scalarSnapshot.branchCount(); b++) {
+            blackhole.consume(scalarSnapshot.argMaxInBranch(b));
+        }
+    }
+
+    @Benchmark
+    public void maxPerBranchVector(Blackhole blackhole) {
+        for (int b = 0; b < vectorSnapshot.branchCount(); b++) {
+            blackhole.consume(vectorSnapshot.argMaxInBranch(b));
+        }
+    }
+
+    @Benchmark
+    public void buildAndMaxVector(Blackhole blackhole) {
+        StockSnapshot snapshot = StockSnapshot.of(graph, Branch::getProducts, Product::getStock, StockKernels.preferred());
+        for (int b = 0; b < snapshot.branchCount(); b++) {
+            blackhole.consume(snapshot.argMaxInBranch(b));
+        }
+    }
+
+    @Benchmark
+    public long sumStream() {
+        return graph.stream()
+                .flatMap(branch -> branch.getProducts().stream())
+                .filter(Product::hasKnownStock)
+                .mapToLong(Product::getStock)
+                .sum();
+    }
+
+    @Benchmark
+    public long sumScalar() {
+        return scalarSnapshot.totalStock();
+    }
+
+    @Benchmark
+    public long sumVector() {
+        return vectorSnapshot.totalStock();
+    }
+
+    @Benchmark
+    public long countBelowStream() {
+        return graph.stream()
+                .flatMap(branch -> branch.getProducts().stream())
+                .filter(product -> product.hasKnownStock() && product.getStock() < THRESHOLD)
+                .count();
+    }
+
+    @Benchmark
+    public int countBelowScalar() {
+        return scalarSnapshot.countBelow(THRESHOLD);
+    }
+
+    @Benchmark
+    public int countBelowVector() {
+        return vectorSnapshot.countBelow(THRESHOLD);
+    }
+}
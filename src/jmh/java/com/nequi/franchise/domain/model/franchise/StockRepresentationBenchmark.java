@@ -0,0 +1,92 @@
+package com.nequi.franchise.domain.model.franchise;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stock en caja ({@code Integer}, representación anterior) frente a {@code int}.
+ * <p>
+ * {@code materialize*} mide la asignación al construir los productos, como hace el mapeo
+ * documento → entidad (cada stock fuera de la caché de {@code Integer} es un objeto nuevo);
+ * {@code max*} mide el recorrido de mayor stock. Ejecutar con
+ * {@code ./gradlew jmh -Pjmh.includes=StockRepresentationBenchmark} y comparar
+ * {@code gc.alloc.rate.norm} en la salida del profiler gc.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StockRepresentationBenchmark {
+
+    @Param({"1000000"})
+    public int products;
+
+    private int[] stocks;
+    private List<BoxedProduct> boxedProducts;
+    private List<Product> primitiveProducts;
+
+    /**
+     * Forma del producto antes del cambio a primitivo.
+     */
+    public record BoxedProduct(String productId, String name, Integer stock) {
+    }
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        stocks = new int[products];
+        for (int i = 0; i < products; i++) {
+            stocks[i] = random.nextInt(100_000);
+        }
+        boxedProducts = materializeBoxed();
+        primitiveProducts = materializePrimitive();
+    }
+
+    @Benchmark
+    public List<BoxedProduct> materializeBoxed() {
+        List<BoxedProduct> result = new ArrayList<>(products);
+        for (int i = 0; i < products; i++) {
+            result.add(new BoxedProduct("p", "p", stocks[i]));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Product> materializePrimitive() {
+        List<Product> result = new ArrayList<>(products);
+        for (int i = 0; i < products; i++) {
+            result.add(new Product("p", "p", stocks[i]));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public BoxedProduct maxBoxedStream() {
+        return boxedProducts.stream().max(Comparator.comparingInt(BoxedProduct::stock)).orElse(null);
+    }
+
+    @Benchmark
+    public Product maxPrimitiveLoop() {
+        Product maxProduct = null;
+        int maxStock = Product.UNKNOWN_STOCK;
+        for (Product product : primitiveProducts) {
+            int stock = product.getStock();
+            if (stock != Product.UNKNOWN_STOCK && (maxProduct == null || stock > maxStock)) {
+                maxProduct = product;
+                maxStock = stock;
+            }
+        }
+        return maxProduct;
+    }
+}
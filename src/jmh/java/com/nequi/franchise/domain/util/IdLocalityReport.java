@@ -0,0 +1,76 @@
+package com.nequi.franchise.domain.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compara la localidad de inserción en un índice B-tree de cada estrategia.
+ * Para una secuencia de IDs en orden de creación calcula:
+ * <ul>
+ *     <li>la proporción de inserciones que caen al final del índice (mayores que todas las anteriores);</li>
+ *     <li>la distancia media, en posiciones del índice final, entre inserciones consecutivas;</li>
+ *     <li>las hojas distintas tocadas por cada ventana de inserciones, con hojas de {@code LEAF_SIZE} claves.</li>
+ * </ul>
+ * Ejecutar con {@code ./gradlew jmhClasses} y luego
+ * {@code java -cp build/classes/java/jmh:build/classes/java/main com.nequi.franchise.domain.util.IdLocalityReport}.
+ * Salida en JDK 21 (la fila de uuid varía un poco entre ejecuciones):
+ * <pre>
+ * uuid      appends=  0.0%  distanciaMedia= 66558.5  hojasPorVentana= 788.5
+ * ulid      appends=100.0%  distanciaMedia=     1.0  hojasPorVentana=  10.0
+ * objectid  appends=100.0%  distanciaMedia=     1.0  hojasPorVentana=  10.0
+ * </pre>
+ */
+public final class IdLocalityReport {
+    private static final int IDS = 200_000;
+    private static final int LEAF_SIZE = 100;
+    private static final int WINDOW = 1_000;
+
+    private IdLocalityReport() {
+    }
+
+    public static void main(String[] args) {
+        for (String name : new String[]{"uuid", "ulid", "objectid"}) {
+            report(name, IdGenerator.strategyNamed(name));
+        }
+    }
+
+    private static void report(String name, IdStrategy strategy) {
+        String[] ids = new String[IDS];
+        for (int i = 0; i < IDS; i++) {
+            ids[i] = strategy.nextId();
+        }
+        String[] sorted = ids.clone();
+        Arrays.sort(sorted);
+        Map<String, Integer> rank = HashMap.newHashMap(IDS);
+        for (int i = 0; i < IDS; i++) {
+            rank.put(sorted[i], i);
+        }
+
+        int appends = 0;
+        String max = null;
+        long distance = 0;
+        long leavesTouched = 0;
+        for (int i = 0; i < IDS; i++) {
+            if (max == null || ids[i].compareTo(max) > 0) {
+                appends++;
+                max = ids[i];
+            }
+            if (i > 0) {
+                distance += Math.abs(rank.get(ids[i]) - rank.get(ids[i - 1]));
+            }
+        }
+        for (int start = 0; start < IDS; start += WINDOW) {
+            leavesTouched += Arrays.stream(ids, start, Math.min(IDS, start + WINDOW))
+                    .mapToInt(id -> rank.get(id) / LEAF_SIZE)
+                    .distinct()
+                    .count();
+        }
+
+        System.out.printf("%-9s appends=%5.1f%%  distanciaMedia=%8.1f  hojasPorVentana=%6.1f%n",
+                name,
+                100.0 * appends / IDS,
+                (double) distance / (IDS - 1),
+                (double) leavesTouched / Math.ceil((double) IDS / WINDOW));
+    }
+}
@@ -0,0 +1,47 @@
+package com.nequi.franchise.domain.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendimiento de cada estrategia con un hilo y con varios hilos concurrentes, donde
+ * el {@code SecureRandom} compartido de UUID se vuelve un punto de contención.
+ * Ejecutar con {@code ./gradlew jmh -Pjmh.includes=IdStrategyBenchmark}; la asignación
+ * por ID aparece como {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IdStrategyBenchmark {
+
+    @Param({"uuid", "ulid", "objectid"})
+    public String strategyName;
+
+    private IdStrategy strategy;
+
+    @Setup
+    public void setUp() {
+        strategy = IdGenerator.strategyNamed(strategyName);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String singleThread() {
+        return strategy.nextId();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String contended() {
+        return strategy.nextId();
+    }
+}
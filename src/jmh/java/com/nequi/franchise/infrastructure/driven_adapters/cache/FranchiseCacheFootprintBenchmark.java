@@ -0,0 +1,102 @@
+package com.nequi.franchise.infrastructure.driven_adapters.cache;
+
+import com.nequi.franchise.infrastructure.driven_adapters.mongo_repository.FranchiseDocument;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara la caché solo en heap contra la caché de dos niveles con franquicias grandes.
+ * <p>
+ * Ejecutar con {@code ./gradlew jmh}: el profiler {@code gc} (configurado en build.gradle)
+ * reporta tasa de asignación, número y tiempo de pausas; el heap ocupado tras poblar la
+ * caché se imprime en la salida estándar de cada fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FranchiseCacheFootprintBenchmark {
+
+    @Param({"heap-only", "two-tier"})
+    public String layout;
+
+    @Param({"2000"})
+    public int franchises;
+
+    @Param({"50"})
+    public int branchesPerFranchise;
+
+    @Param({"40"})
+    public int productsPerBranch;
+
+    private FranchiseLocalCache cache;
+
+    @Setup
+    public void setUp() {
+        boolean twoTier = "two-tier".equals(layout);
+        // El presupuesto se reserva completo al crear el store; 1 GiB alcanza para las 2000 franquicias
+        OffHeapFranchiseStore offHeapStore = new OffHeapFranchiseStore(
+                twoTier ? 1024L * 1024 * 1024 : 0, new SimpleMeterRegistry());
+        cache = new FranchiseLocalCache(true, twoTier ? 100 : franchises, Duration.ZERO, offHeapStore);
+        for (int i = 0; i < franchises; i++) {
+            cache.putIfUnchanged(franchise(i), cache.epoch());
+        }
+        System.gc();
+        long heapUsed = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        System.out.printf("%n[footprint] layout=%s heapUsed=%d MB offHeapUsed=%d MB offHeapReserved=%d MB%n",
+                layout, heapUsed >> 20, offHeapStore.usedBytes() >> 20, offHeapStore.capacityBytes() >> 20);
+    }
+
+    @Benchmark
+    public Optional<FranchiseDocument> readUniform() {
+        return cache.get(Integer.toString(ThreadLocalRandom.current().nextInt(franchises)));
+    }
+
+    @Benchmark
+    public Optional<FranchiseDocument> readHotSet() {
+        // El 90% de las lecturas cae sobre el 5% de las franquicias
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int hot = Math.max(1, franchises / 20);
+        int id = random.nextInt(10) < 9 ? random.nextInt(hot) : random.nextInt(franchises);
+        return cache.get(Integer.toString(id));
+    }
+
+    private FranchiseDocument franchise(int index) {
+        List<FranchiseDocument.BranchDocument> branches = new ArrayList<>(branchesPerFranchise);
+        for (int b = 0; b < branchesPerFranchise; b++) {
+            List<FranchiseDocument.ProductDocument> products = new ArrayList<>(productsPerBranch);
+            for (int p = 0; p < productsPerBranch; p++) {
+                FranchiseDocument.ProductDocument product = new FranchiseDocument.ProductDocument();
+                product.setProductId(index + "-" + b + "-" + p);
+                product.setName("Producto " + p);
+                product.setStock(p * 7 % 500);
+                products.add(product);
+            }
+            FranchiseDocument.BranchDocument branch = new FranchiseDocument.BranchDocument();
+            branch.setBranchId(index + "-" + b);
+            branch.setName("Sucursal " + b);
+            branch.setProducts(products);
+            branches.add(branch);
+        }
+        FranchiseDocument document = new FranchiseDocument();
+        document.setId(Integer.toString(index));
+        document.setName("Franquicia " + index);
+        document.setBranches(branches);
+        document.setVersion(0L);
+        return document;
+    }
+}
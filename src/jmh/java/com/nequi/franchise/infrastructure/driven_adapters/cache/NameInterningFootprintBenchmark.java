@@ -0,0 +1,84 @@
+package com.nequi.franchise.infrastructure.driven_adapters.cache;
+
+import com.nequi.franchise.infrastructure.driven_adapters.mongo_repository.FranchiseDocument;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heap retenido por los nombres de muchas franquicias con y sin {@link NameInterner}, y costo de
+ * deduplicar un documento al decodificarlo.
+ * <p>
+ * Cada nombre se crea como una instancia nueva, como los que entrega el decodificador de MongoDB.
+ * El heap ocupado tras retener los documentos se imprime en la salida estándar de cada fork.
+ * Ejecutar con {@code ./gradlew jmh -Pjmh.includes=NameInterningFootprintBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NameInterningFootprintBenchmark {
+
+    @Param({"false", "true"})
+    public boolean interning;
+
+    @Param({"1000"})
+    public int franchises;
+
+    @Param({"500"})
+    public int productsPerFranchise;
+
+    @Param({"500"})
+    public int distinctNames;
+
+    private NameInterner interner;
+    private List<FranchiseDocument> retained;
+    private FranchiseDocument decoded;
+
+    @Setup
+    public void setUp() {
+        interner = new NameInterner(interning, 65536, new SimpleMeterRegistry());
+        System.gc();
+        long before = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        retained = new ArrayList<>(franchises);
+        for (int i = 0; i < franchises; i++) {
+            retained.add(interner.internNames(franchise(i)));
+        }
+        System.gc();
+        long after = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        System.out.printf("%n[footprint] interning=%s retained=%.1f MB bytesDeduplicated=%.1f MB%n",
+                interning, (after - before) / 1048576.0, interner.bytesDeduplicated() / 1048576.0);
+        decoded = franchise(0);
+    }
+
+    @Benchmark
+    public FranchiseDocument internDocument() {
+        return interner.internNames(decoded);
+    }
+
+    private FranchiseDocument franchise(int index) {
+        List<FranchiseDocument.ProductDocument> products = new ArrayList<>(productsPerFranchise);
+        for (int p = 0; p < productsPerFranchise; p++) {
+            FranchiseDocument.ProductDocument product = new FranchiseDocument.ProductDocument();
+            product.setName(new String("Producto de catálogo " + (index * 31 + p) % distinctNames));
+            products.add(product);
+        }
+        FranchiseDocument.BranchDocument branch = new FranchiseDocument.BranchDocument();
+        branch.setName(new String("Sucursal Centro"));
+        branch.setProducts(products);
+        FranchiseDocument document = new FranchiseDocument();
+        document.setName("Franquicia " + index);
+        document.setBranches(List.of(branch));
+        return document;
+    }
+}
@@ -0,0 +1,78 @@
+package com.nequi.franchise.infrastructure.driven_adapters.cache;
+
+import com.nequi.franchise.domain.model.franchise.ProductSuggestion;
+import com.nequi.franchise.infrastructure.driven_adapters.mongo_repository.FranchiseDocument;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de una búsqueda de autocompletado en {@link ProductPrefixIndex}, de construir el índice
+ * completo de una franquicia y de aplicar un alta incremental.
+ * Ejecutar con {@code ./gradlew jmh -Pjmh.includes=ProductPrefixIndexBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductPrefixIndexBenchmark {
+    private static final String[] WORDS = {"arroz", "azucar", "cafe", "chocolate", "galletas", "harina",
+            "leche", "lentejas", "mantequilla", "pan", "queso", "sal", "te", "yogur"};
+
+    @Param({"100"})
+    public int branches;
+
+    @Param({"500"})
+    public int productsPerBranch;
+
+    private FranchiseDocument document;
+    private ProductPrefixIndex index;
+
+    @Setup
+    public void setUp() {
+        List<FranchiseDocument.BranchDocument> branchDocuments = new ArrayList<>(branches);
+        for (int b = 0; b < branches; b++) {
+            List<FranchiseDocument.ProductDocument> products = new ArrayList<>(productsPerBranch);
+            for (int p = 0; p < productsPerBranch; p++) {
+                FranchiseDocument.ProductDocument product = new FranchiseDocument.ProductDocument();
+                product.setProductId("p-" + b + "-" + p);
+                product.setName(WORDS[p % WORDS.length] + " " + p);
+                products.add(product);
+            }
+            FranchiseDocument.BranchDocument branch = new FranchiseDocument.BranchDocument();
+            branch.setBranchId("b-" + b);
+            branch.setName("Sucursal " + b);
+            branch.setProducts(products);
+            branchDocuments.add(branch);
+        }
+        document = new FranchiseDocument();
+        document.setId("f-1");
+        document.setBranches(branchDocuments);
+        index = ProductPrefixIndex.of(document);
+    }
+
+    @Benchmark
+    public List<ProductSuggestion> search() {
+        String word = WORDS[ThreadLocalRandom.current().nextInt(WORDS.length)];
+        return index.search(word.substring(0, Math.min(3, word.length())), 10);
+    }
+
+    @Benchmark
+    public ProductPrefixIndex build() {
+        return ProductPrefixIndex.of(document);
+    }
+
+    @Benchmark
+    public ProductPrefixIndex addProduct() {
+        return index.withProduct("b-0", "p-nuevo", "Producto nuevo");
+    }
+}
@@ -0,0 +1,98 @@
+package com.nequi.franchise.infrastructure.entrypoints.reactiveweb;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.nequi.franchise.application.config.JacksonConfig;
+import com.nequi.franchise.domain.model.franchise.Branch;
+import com.nequi.franchise.domain.model.franchise.Franchise;
+import com.nequi.franchise.domain.model.franchise.Product;
+import com.nequi.franchise.infrastructure.entrypoints.reactiveweb.dto.BatchRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput de serialización JSON de la franquicia completa y de deserialización de un DTO
+ * de entrada, con acceso por reflexión ({@code reflection}) frente al módulo Blackbird
+ * ({@code blackbird}) que usa la API. Ambos mappers aplican los mismos mixins de dominio.
+ * Ejecutar con {@code ./gradlew jmh -Pjmh.includes=JsonSerializationBenchmark}; los resultados
+ * medidos están en el README.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JsonSerializationBenchmark {
+
+    @Param({"reflection", "blackbird"})
+    public String access;
+
+    @Param({"20"})
+    public int branches;
+
+    @Param({"50", "1000"})
+    public int productsPerBranch;
+
+    private ObjectMapper mapper;
+    private Franchise franchise;
+    private byte[] franchiseJson;
+    private byte[] batchJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder();
+        new JacksonConfig().domainMixins().customize(builder);
+        if ("blackbird".equals(access)) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        mapper = builder.build();
+
+        SplittableRandom random = new SplittableRandom(42);
+        List<Branch> graph = new ArrayList<>(branches);
+        for (int b = 0; b < branches; b++) {
+            List<Product> products = new ArrayList<>(productsPerBranch);
+            for (int p = 0; p < productsPerBranch; p++) {
+                int stock = random.nextInt(20) == 0 ? Product.UNKNOWN_STOCK : random.nextInt(100_000);
+                products.add(new Product("01JA2XQ5S8K3M9V7T4R6P" + b + "P" + p, "Producto de prueba " + p, stock));
+            }
+            graph.add(new Branch("01JA2XQ5S8K3M9V7T4R6B" + b, "Sucursal " + b, products));
+        }
+        franchise = new Franchise("01JA2XQ5S8K3M9V7T4R6F00001", "Franquicia de prueba", graph);
+        franchiseJson = mapper.writeValueAsBytes(franchise);
+
+        StringBuilder batch = new StringBuilder("{\"operations\":[");
+        for (int i = 0; i < 100; i++) {
+            batch.append(i == 0 ? "" : ",")
+                    .append("{\"op\":\"UPDATE_STOCK\",\"branchId\":\"b").append(i % branches)
+                    .append("\",\"productId\":\"p").append(i).append("\",\"stock\":").append(i).append('}');
+        }
+        batchJson = batch.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] serializeFranchise() throws IOException {
+        return mapper.writeValueAsBytes(franchise);
+    }
+
+    @Benchmark
+    public Franchise deserializeFranchise() throws IOException {
+        return mapper.readValue(franchiseJson, Franchise.class);
+    }
+
+    @Benchmark
+    public BatchRequest deserializeBatchRequest() throws IOException {
+        return mapper.readValue(batchJson, BatchRequest.class);
+    }
+}
@@ -0,0 +1,90 @@
+package com.nequi.franchise.infrastructure.entrypoints.reactiveweb;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.nequi.franchise.application.config.JacksonConfig;
+import com.nequi.franchise.domain.model.franchise.Branch;
+import com.nequi.franchise.domain.model.franchise.Franchise;
+import com.nequi.franchise.domain.model.franchise.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tamaño y tiempo de codificación y decodificación de la franquicia completa (lo que responde
+ * cada mutación) en JSON, CBOR y Smile, con los mismos mixins que usa la API.
+ * <p>
+ * Los tamaños en bytes de cada formato se imprimen al preparar el estado. Ejecutar con
+ * {@code ./gradlew jmh -Pjmh.includes=PayloadEncodingBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PayloadEncodingBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"20"})
+    public int branches;
+
+    @Param({"50", "1000"})
+    public int productsPerBranch;
+
+    private ObjectMapper mapper;
+    private Franchise franchise;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder();
+        new JacksonConfig().domainMixins().customize(builder);
+        mapper = builder.factory(factory(format)).build();
+
+        SplittableRandom random = new SplittableRandom(42);
+        List<Branch> graph = new ArrayList<>(branches);
+        for (int b = 0; b < branches; b++) {
+            List<Product> products = new ArrayList<>(productsPerBranch);
+            for (int p = 0; p < productsPerBranch; p++) {
+                int stock = random.nextInt(20) == 0 ? Product.UNKNOWN_STOCK : random.nextInt(100_000);
+                products.add(new Product("01JA2XQ5S8K3M9V7T4R6P" + b + "P" + p, "Producto de prueba " + p, stock));
+            }
+            graph.add(new Branch("01JA2XQ5S8K3M9V7T4R6B" + b, "Sucursal " + b, products));
+        }
+        franchise = new Franchise("01JA2XQ5S8K3M9V7T4R6F00001", "Franquicia de prueba", graph);
+        encoded = mapper.writeValueAsBytes(franchise);
+        System.out.printf("%n%s, %d sucursales x %d productos: %d bytes%n", format, branches, productsPerBranch, encoded.length);
+    }
+
+    private static JsonFactory factory(String format) {
+        return switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return mapper.writeValueAsBytes(franchise);
+    }
+
+    @Benchmark
+    public Franchise decode() throws IOException {
+        return mapper.readValue(encoded, Franchise.class);
+    }
+}
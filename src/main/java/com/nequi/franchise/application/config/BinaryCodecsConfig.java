@@ -0,0 +1,39 @@
+package com.nequi.franchise.application.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Codificaciones binarias de las respuestas y cuerpos de la API, elegidas por {@code Accept}
+ * y {@code Content-Type}: CBOR ({@code application/cbor}) y Smile ({@code application/x-jackson-smile}).
+ * <p>
+ * Los mappers salen del mismo {@link Jackson2ObjectMapperBuilder} que el de JSON, así que
+ * aplican los mismos mixins (por ejemplo, el stock desconocido viaja como {@code null}).
+ * El codec Smile por defecto de WebFlux no pasa por ese builder, por eso se reemplaza.
+ * Los codecs CBOR de Jackson solo codifican valores completos, no flujos.
+ */
+@Configuration
+public class BinaryCodecsConfig {
+
+    @Bean
+    public CodecCustomizer binaryCodecs(ObjectProvider<Jackson2ObjectMapperBuilder> builders) {
+        ObjectMapper cborMapper = builders.getObject().factory(new CBORFactory()).build();
+        ObjectMapper smileMapper = builders.getObject().factory(new SmileFactory()).build();
+        return configurer -> {
+            configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smileMapper));
+            configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smileMapper));
+            configurer.customCodecs().register(new Jackson2CborEncoder(cborMapper));
+            configurer.customCodecs().register(new Jackson2CborDecoder(cborMapper));
+        };
+    }
+}
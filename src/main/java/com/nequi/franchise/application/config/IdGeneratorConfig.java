@@ -0,0 +1,21 @@
+package com.nequi.franchise.application.config;
+
+import com.nequi.franchise.domain.util.IdGenerator;
+import com.nequi.franchise.domain.util.IdStrategy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Slf4j
+@Configuration
+public class IdGeneratorConfig {
+
+    @Bean
+    public IdStrategy idStrategy(@Value("${franchise.id.strategy:uuid}") String strategyName) {
+        IdStrategy strategy = IdGenerator.strategyNamed(strategyName);
+        IdGenerator.use(strategy);
+        log.info("Estrategia de generación de IDs: {}", strategyName);
+        return strategy;
+    }
+}
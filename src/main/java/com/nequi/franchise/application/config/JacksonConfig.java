@@ -0,0 +1,59 @@
+package com.nequi.franchise.application.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.nequi.franchise.domain.model.franchise.Product;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+/**
+ * Ajustes de serialización JSON de los modelos de dominio, sin acoplar el dominio a Jackson.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer domainMixins() {
+        return builder -> builder.mixIn(Product.class, ProductMixin.class);
+    }
+
+    /**
+     * Reemplaza las llamadas por reflexión a getters, setters y constructores con lambdas
+     * generadas en tiempo de ejecución. Spring Boot registra el módulo en el {@code ObjectMapper}
+     * de los codecs de WebFlux y en los mappers construidos con el mismo builder (CBOR y Smile).
+     */
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    /**
+     * El stock desconocido viaja como {@code null}, igual que antes de usar un primitivo.
+     */
+    abstract static class ProductMixin {
+        @JsonSerialize(using = StockSerializer.class)
+        abstract int getStock();
+    }
+
+    static class StockSerializer extends StdSerializer<Integer> {
+        StockSerializer() {
+            super(Integer.class);
+        }
+
+        @Override
+        public void serialize(Integer stock, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            if (stock == Product.UNKNOWN_STOCK) {
+                generator.writeNull();
+            } else {
+                generator.writeNumber(stock);
+            }
+        }
+    }
+}
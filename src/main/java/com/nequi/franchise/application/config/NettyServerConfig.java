@@ -0,0 +1,62 @@
+package com.nequi.franchise.application.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Ajustes del transporte Netty del servidor.
+ * <p>
+ * HTTP/2 en claro (h2c) se habilita con {@code server.http2.enabled}: sin TLS, Spring Boot
+ * acepta en el mismo puerto HTTP/1.1 y h2c (con conocimiento previo o por {@code Upgrade}).
+ * El tiempo de vida de las conexiones ociosas y el máximo de peticiones por conexión
+ * HTTP/1.1 son {@code server.netty.idle-timeout} y {@code server.netty.max-keep-alive-requests}.
+ * Aquí se configura lo que Boot no expone: el máximo de streams concurrentes por conexión
+ * HTTP/2, la cantidad de hilos del event loop y las métricas de conexiones de Reactor Netty.
+ */
+@Configuration
+public class NettyServerConfig implements DisposableBean {
+    // Todas las rutas comparten una etiqueta: las latencias por operación ya están en franchise.api.latency
+    private static final String METRICS_URI = "/api";
+
+    private final int eventLoopThreads;
+    private final long maxConcurrentStreams;
+    private final boolean metricsEnabled;
+    private LoopResources loopResources;
+
+    public NettyServerConfig(@Value("${franchise.netty.event-loop-threads:0}") int eventLoopThreads,
+                             @Value("${franchise.netty.http2.max-concurrent-streams:256}") long maxConcurrentStreams,
+                             @Value("${franchise.netty.metrics.enabled:true}") boolean metricsEnabled) {
+        this.eventLoopThreads = eventLoopThreads;
+        this.maxConcurrentStreams = maxConcurrentStreams;
+        this.metricsEnabled = metricsEnabled;
+    }
+
+    @Bean
+    public NettyServerCustomizer franchiseNettyServerCustomizer() {
+        return httpServer -> {
+            HttpServer server = httpServer.http2Settings(settings -> settings.maxConcurrentStreams(maxConcurrentStreams));
+            if (eventLoopThreads > 0) {
+                // 0 conserva los recursos globales de Reactor Netty (un hilo por núcleo)
+                loopResources = LoopResources.create("franchise-http", 1, eventLoopThreads, true);
+                server = server.runOn(loopResources);
+            }
+            if (metricsEnabled) {
+                server = server.metrics(true, uri -> METRICS_URI);
+            }
+            return server;
+        };
+    }
+
+    @Override
+    public void destroy() {
+        // El servidor web ya se detuvo en la fase de ciclo de vida, antes de destruir los beans
+        if (loopResources != null) {
+            loopResources.dispose();
+        }
+    }
+}
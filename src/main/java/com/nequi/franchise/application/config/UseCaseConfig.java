@@ -2,6 +2,7 @@ package com.nequi.franchise.application.config;
 
 import com.nequi.franchise.domain.model.gateway.FranchiseGateway;
 import com.nequi.franchise.domain.usecase.franchise.*;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -12,6 +13,17 @@ public class UseCaseConfig {
         return new CreateFranchiseUseCase(gateway);
     }
 
+    @Bean
+    public FindFranchiseUseCase findFranchiseUseCase(FranchiseGateway gateway) {
+        return new FindFranchiseUseCase(gateway);
+    }
+
+    @Bean
+    public ListFranchisesUseCase listFranchisesUseCase(FranchiseGateway gateway,
+                                                       @Value("${franchise.listing.default-page-size:50}") int defaultPageSize) {
+        return new ListFranchisesUseCase(gateway, defaultPageSize);
+    }
+
     @Bean
     public AddBranchUseCase addBranchUseCase(FranchiseGateway gateway) {
         return new AddBranchUseCase(gateway);
@@ -37,6 +49,31 @@ public class UseCaseConfig {
         return new FindMaxStockUseCase(gateway);
     }
 
+    @Bean
+    public FindTopStockUseCase findTopStockUseCase(FranchiseGateway gateway) {
+        return new FindTopStockUseCase(gateway);
+    }
+
+    @Bean
+    public FindProductsByStockRangeUseCase findProductsByStockRangeUseCase(FranchiseGateway gateway) {
+        return new FindProductsByStockRangeUseCase(gateway);
+    }
+
+    @Bean
+    public SuggestProductsUseCase suggestProductsUseCase(FranchiseGateway gateway) {
+        return new SuggestProductsUseCase(gateway);
+    }
+
+    @Bean
+    public FranchiseStatsUseCase franchiseStatsUseCase(FranchiseGateway gateway) {
+        return new FranchiseStatsUseCase(gateway);
+    }
+
+    @Bean
+    public FindFranchiseVersionUseCase findFranchiseVersionUseCase(FranchiseGateway gateway) {
+        return new FindFranchiseVersionUseCase(gateway);
+    }
+
     @Bean
     public UpdateFranchiseNameUseCase updateFranchiseNameUseCase(FranchiseGateway gateway) {
         return new UpdateFranchiseNameUseCase(gateway);
@@ -49,5 +86,10 @@ public class UseCaseConfig {
     public UpdateProductNameUseCase updateProductNameUseCase(FranchiseGateway gateway) {
         return new UpdateProductNameUseCase(gateway);
     }
+
+    @Bean
+    public ExecuteBatchUseCase executeBatchUseCase(FranchiseGateway gateway) {
+        return new ExecuteBatchUseCase(gateway);
+    }
 }
 
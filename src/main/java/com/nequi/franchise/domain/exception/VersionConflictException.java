@@ -0,0 +1,10 @@
+package com.nequi.franchise.domain.exception;
+
+/**
+ * La franquicia cambió entre la lectura y la escritura: la versión leída ya no es la vigente.
+ */
+public class VersionConflictException extends BusinessException {
+    public VersionConflictException(String message) {
+        super("VERSION_CONFLICT", message);
+    }
+}
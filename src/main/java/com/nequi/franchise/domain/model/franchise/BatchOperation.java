@@ -0,0 +1,10 @@
+package com.nequi.franchise.domain.model.franchise;
+
+/**
+ * Operación de un lote. La sucursal y el producto se indican por ID o por nombre (el ID tiene
+ * prioridad); {@code name} es el nombre de lo que se agrega o el nuevo nombre al renombrar.
+ * Las operaciones pueden referirse a sucursales y productos agregados antes en el mismo lote.
+ */
+public record BatchOperation(BatchOperationType type, String branchId, String branchName,
+                             String productId, String productName, String name, Integer stock) {
+}
@@ -0,0 +1,38 @@
+package com.nequi.franchise.domain.model.franchise;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado de una operación del lote")
+public class BatchOperationResult {
+
+    public enum Status {
+        APPLIED,
+        FAILED
+    }
+
+    @Schema(description = "Posición de la operación en el lote, desde 0", example = "0")
+    private int index;
+
+    @Schema(description = "Tipo de operación", example = "UPDATE_STOCK")
+    private BatchOperationType type;
+
+    @Schema(description = "APPLIED si se aplicó, FAILED si se descartó", example = "APPLIED")
+    private Status status;
+
+    @Schema(description = "ID de la sucursal afectada (generado en ADD_BRANCH)", example = "01JA2XQ5S8K3M9V7T4R6P0N1BD")
+    private String branchId;
+
+    @Schema(description = "ID del producto afectado (generado en ADD_PRODUCT)", example = "01JA2XQ5S8K3M9V7T4R6P0N1BE")
+    private String productId;
+
+    @Schema(description = "Motivo del rechazo cuando la operación falla", example = "Producto no encontrado: Laptop")
+    private String message;
+}
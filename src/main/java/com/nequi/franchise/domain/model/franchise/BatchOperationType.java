@@ -0,0 +1,13 @@
+package com.nequi.franchise.domain.model.franchise;
+
+/**
+ * Operaciones admitidas en un lote; cada una corresponde a un caso de uso individual.
+ */
+public enum BatchOperationType {
+    ADD_BRANCH,
+    RENAME_BRANCH,
+    ADD_PRODUCT,
+    REMOVE_PRODUCT,
+    UPDATE_STOCK,
+    RENAME_PRODUCT
+}
@@ -0,0 +1,121 @@
+package com.nequi.franchise.domain.model.franchise;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cambios netos de un lote, agrupados por tipo para escribirlos con pocas actualizaciones.
+ * <p>
+ * Las operaciones se aplican primero sobre una copia en memoria de la franquicia y luego se
+ * registran aquí. Las sucursales y productos nuevos se guardan por referencia, así que los cambios
+ * posteriores sobre ellos (stock, nombre, productos agregados) ya quedan incluidos en el alta.
+ * Solo los elementos existentes generan cambios separados.
+ */
+public final class BatchPlan {
+
+    /**
+     * Producto existente dentro de una sucursal existente.
+     */
+    public record ProductRef(String branchId, String productId) {
+    }
+
+    private final Map<String, Branch> newBranches = new LinkedHashMap<>();
+    private final Map<String, List<Product>> newProducts = new LinkedHashMap<>();
+    private final Map<String, String> branchRenames = new LinkedHashMap<>();
+    private final Map<ProductRef, String> productRenames = new LinkedHashMap<>();
+    private final Map<ProductRef, Integer> stockUpdates = new LinkedHashMap<>();
+    private final Map<String, Set<String>> removals = new LinkedHashMap<>();
+
+    public void branchAdded(Branch branch) {
+        newBranches.put(branch.getBranchId(), branch);
+    }
+
+    public void branchRenamed(Branch branch) {
+        if (!newBranches.containsKey(branch.getBranchId())) {
+            branchRenames.put(branch.getBranchId(), branch.getName());
+        }
+    }
+
+    public void productAdded(String branchId, Product product) {
+        if (!newBranches.containsKey(branchId)) {
+            newProducts.computeIfAbsent(branchId, id -> new ArrayList<>()).add(product);
+        }
+    }
+
+    public void productRemoved(String branchId, String productId) {
+        if (newBranches.containsKey(branchId)) {
+            return;
+        }
+        List<Product> added = newProducts.get(branchId);
+        if (added != null && added.removeIf(product -> productId.equals(product.getProductId()))) {
+            return;
+        }
+        ProductRef ref = new ProductRef(branchId, productId);
+        stockUpdates.remove(ref);
+        productRenames.remove(ref);
+        removals.computeIfAbsent(branchId, id -> new LinkedHashSet<>()).add(productId);
+    }
+
+    public void stockUpdated(String branchId, Product product) {
+        if (isExisting(branchId, product)) {
+            stockUpdates.put(new ProductRef(branchId, product.getProductId()), product.getStock());
+        }
+    }
+
+    public void productRenamed(String branchId, Product product) {
+        if (isExisting(branchId, product)) {
+            productRenames.put(new ProductRef(branchId, product.getProductId()), product.getName());
+        }
+    }
+
+    public boolean isEmpty() {
+        return newBranches.isEmpty() && newProducts.values().stream().allMatch(List::isEmpty)
+                && branchRenames.isEmpty() && productRenames.isEmpty() && stockUpdates.isEmpty() && removals.isEmpty();
+    }
+
+    public List<Branch> newBranches() {
+        return List.copyOf(newBranches.values());
+    }
+
+    /**
+     * Productos nuevos en sucursales existentes, por ID de sucursal.
+     */
+    public Map<String, List<Product>> newProducts() {
+        Map<String, List<Product>> nonEmpty = new LinkedHashMap<>();
+        newProducts.forEach((branchId, products) -> {
+            if (!products.isEmpty()) {
+                nonEmpty.put(branchId, List.copyOf(products));
+            }
+        });
+        return Collections.unmodifiableMap(nonEmpty);
+    }
+
+    public Map<String, String> branchRenames() {
+        return Collections.unmodifiableMap(branchRenames);
+    }
+
+    public Map<ProductRef, String> productRenames() {
+        return Collections.unmodifiableMap(productRenames);
+    }
+
+    public Map<ProductRef, Integer> stockUpdates() {
+        return Collections.unmodifiableMap(stockUpdates);
+    }
+
+    /**
+     * IDs de productos existentes a eliminar, por ID de sucursal.
+     */
+    public Map<String, Set<String>> removals() {
+        return Collections.unmodifiableMap(removals);
+    }
+
+    private boolean isExisting(String branchId, Product product) {
+        return !newBranches.containsKey(branchId)
+                && newProducts.getOrDefault(branchId, List.of()).stream().noneMatch(added -> added == product);
+    }
+}
@@ -0,0 +1,28 @@
+package com.nequi.franchise.domain.model.franchise;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado de un lote de operaciones sobre una franquicia")
+public class BatchResult {
+    @Schema(description = "Versión de la franquicia tras el lote; null si ninguna operación se aplicó", example = "12", nullable = true)
+    private Long version;
+
+    @Schema(description = "Operaciones aplicadas", example = "9")
+    private int applied;
+
+    @Schema(description = "Operaciones rechazadas", example = "1")
+    private int failed;
+
+    @Schema(description = "Resultado de cada operación, en el orden del lote")
+    private List<BatchOperationResult> results;
+}
@@ -1,28 +1,62 @@
 package com.nequi.franchise.domain.model.franchise;
 
 import io.swagger.v3.oas.annotations.media.Schema;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 @Data
 @Builder(toBuilder = true)
 @NoArgsConstructor
-@AllArgsConstructor
 @Schema(description = "Representa una sucursal de la franquicia")
 public class Branch {
 
     @Schema(description = "Identificador único de la sucursal", example = "507f1f77bcf86cd799439011")
     private String branchId;
 
+    // Solo Franchise.renameBranch cambia el nombre, así el índice por nombre de la lista no queda desactualizado
     @Schema(description = "Nombre de la sucursal", example = "Sucursal Centro")
+    @Setter(AccessLevel.PACKAGE)
     private String name;
 
     @Builder.Default
     @Schema(description = "Lista de productos disponibles en la sucursal")
-    private List<Product> products = new ArrayList<>();
+    private List<Product> products = new IndexedList<>(Product::getProductId, Product::getName);
+
+    public Branch(String branchId, String name, List<Product> products) {
+        this.branchId = branchId;
+        this.name = name;
+        setProducts(products);
+    }
+
+    public void setProducts(List<Product> products) {
+        this.products = IndexedList.wrap(products, Product::getProductId, Product::getName);
+    }
+
+    /**
+     * Renombra un producto de esta sucursal manteniendo consistente el índice por nombre.
+     */
+    public void renameProduct(Product product, String name) {
+        product.setName(name);
+        IndexedList.keysChanged(products);
+    }
+
+    /**
+     * Busca un producto por su ID; desde la segunda búsqueda, en tiempo constante.
+     */
+    public Optional<Product> findProductById(String productId) {
+        return IndexedList.findById(products, productId, Product::getProductId);
+    }
+
+    /**
+     * Busca un producto por nombre, sin distinguir mayúsculas; desde la segunda búsqueda, en tiempo constante.
+     */
+    public Optional<Product> findProductByName(String productName) {
+        return IndexedList.findByName(products, productName, Product::getName);
+    }
 }
@@ -0,0 +1,23 @@
+package com.nequi.franchise.domain.model.franchise;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Estadísticas de inventario de una sucursal")
+public class BranchStats {
+    @Schema(description = "ID de la sucursal", example = "01JA2XQ5S8K3M9V7T4R6P0N1BD")
+    private String branchId;
+
+    @Schema(description = "Nombre de la sucursal", example = "Sucursal Centro")
+    private String branchName;
+
+    @Schema(description = "Estadísticas de stock de los productos de la sucursal")
+    private StockStats stock;
+}
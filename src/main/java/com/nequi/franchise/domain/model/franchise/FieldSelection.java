@@ -0,0 +1,87 @@
+package com.nequi.franchise.domain.model.franchise;
+
+import com.nequi.franchise.domain.exception.ValidationException;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Campos de la franquicia pedidos por el cliente (sparse fieldset), como rutas con punto
+ * sobre el modelo: {@code name}, {@code branches.name}, {@code branches.products.stock}...
+ * Elegir un campo compuesto incluye todos sus hijos. El ID de la franquicia siempre se incluye.
+ */
+public record FieldSelection(Set<String> paths) {
+    public static final FieldSelection ALL = new FieldSelection(Set.of());
+
+    private static final String SEPARATOR = ".";
+    private static final List<String> SUPPORTED = List.of(
+            "id", "name", "branches", "branches.branchId", "branches.name", "branches.products",
+            "branches.products.productId", "branches.products.name", "branches.products.stock");
+
+    /**
+     * Descarta los campos cuyo ancestro ya está elegido ({@code branches,branches.name} queda en
+     * {@code branches}): no cambian la respuesta y en la proyección de MongoDB chocan con el ancestro.
+     */
+    public FieldSelection {
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String path : paths) {
+            if (!hasSelectedAncestor(path, paths)) {
+                normalized.add(path);
+            }
+        }
+        paths = Set.copyOf(normalized);
+    }
+
+    /**
+     * Interpreta una lista separada por comas; vacía o nula equivale a todos los campos.
+     */
+    public static FieldSelection parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<String> paths = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String path = field.trim();
+            if (path.isEmpty()) {
+                continue;
+            }
+            if (!SUPPORTED.contains(path)) {
+                throw new ValidationException("Campo no soportado en 'fields': " + path);
+            }
+            paths.add(path);
+        }
+        return paths.isEmpty() ? ALL : new FieldSelection(paths);
+    }
+
+    public boolean isAll() {
+        return paths.isEmpty();
+    }
+
+    /**
+     * Indica si el campo se devuelve completo: está elegido él o alguno de sus ancestros.
+     */
+    public boolean includes(String path) {
+        if (isAll() || paths.contains(path)) {
+            return true;
+        }
+        int separator = path.lastIndexOf(SEPARATOR);
+        return separator > 0 && includes(path.substring(0, separator));
+    }
+
+    private static boolean hasSelectedAncestor(String path, Set<String> paths) {
+        for (int separator = path.lastIndexOf(SEPARATOR); separator > 0; separator = path.lastIndexOf(SEPARATOR, separator - 1)) {
+            if (paths.contains(path.substring(0, separator))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Indica si el campo aparece en la respuesta, completo o con solo algunos de sus hijos.
+     */
+    public boolean includesAny(String path) {
+        return includes(path) || paths.stream().anyMatch(selected -> selected.startsWith(path + SEPARATOR));
+    }
+}
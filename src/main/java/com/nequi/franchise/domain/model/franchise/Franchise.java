@@ -1,18 +1,16 @@
 package com.nequi.franchise.domain.model.franchise;
 
 import io.swagger.v3.oas.annotations.media.Schema;
-import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 @Data
 @Builder(toBuilder = true)
 @NoArgsConstructor
-@AllArgsConstructor
 @Schema(description = "Representa una franquicia con sus sucursales")
 public class Franchise {
     @Schema(description = "ID único de la franquicia", example = "123")
@@ -23,5 +21,37 @@ public class Franchise {
 
     @Builder.Default
     @Schema(description = "Lista de sucursales de la franquicia")
-    private List<Branch> branches = new ArrayList<>();
+    private List<Branch> branches = new IndexedList<>(Branch::getBranchId, Branch::getName);
+
+    public Franchise(String id, String name, List<Branch> branches) {
+        this.id = id;
+        this.name = name;
+        setBranches(branches);
+    }
+
+    public void setBranches(List<Branch> branches) {
+        this.branches = IndexedList.wrap(branches, Branch::getBranchId, Branch::getName);
+    }
+
+    /**
+     * Renombra una sucursal de esta franquicia manteniendo consistente el índice por nombre.
+     */
+    public void renameBranch(Branch branch, String name) {
+        branch.setName(name);
+        IndexedList.keysChanged(branches);
+    }
+
+    /**
+     * Busca una sucursal por su ID; desde la segunda búsqueda, en tiempo constante.
+     */
+    public Optional<Branch> findBranchById(String branchId) {
+        return IndexedList.findById(branches, branchId, Branch::getBranchId);
+    }
+
+    /**
+     * Busca una sucursal por nombre, sin distinguir mayúsculas; desde la segunda búsqueda, en tiempo constante.
+     */
+    public Optional<Branch> findBranchByName(String branchName) {
+        return IndexedList.findByName(branches, branchName, Branch::getName);
+    }
 }
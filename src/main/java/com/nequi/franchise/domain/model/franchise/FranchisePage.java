@@ -0,0 +1,10 @@
+package com.nequi.franchise.domain.model.franchise;
+
+import java.util.List;
+
+/**
+ * Página del listado de franquicias. {@code nextCursor} es el ID de la última franquicia
+ * de la página, o nulo si no hay más páginas.
+ */
+public record FranchisePage(List<FranchiseSummary> items, String nextCursor) {
+}
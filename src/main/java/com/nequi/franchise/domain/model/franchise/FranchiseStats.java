@@ -0,0 +1,53 @@
+package com.nequi.franchise.domain.model.franchise;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Estadísticas de inventario de la franquicia completa y de cada sucursal")
+public class FranchiseStats {
+    @Schema(description = "ID de la franquicia", example = "01JA2XQ5S8K3M9V7T4R6P0N1BC")
+    private String franchiseId;
+
+    @Schema(description = "Nombre de la franquicia", example = "Franquicia El Éxito")
+    private String franchiseName;
+
+    @Schema(description = "Cantidad de sucursales", example = "4")
+    private int branchCount;
+
+    @Schema(description = "Estadísticas de stock de todos los productos de la franquicia")
+    private StockStats stock;
+
+    @Schema(description = "Estadísticas por sucursal, en el orden de la franquicia")
+    private List<BranchStats> branches;
+
+    /**
+     * Recorre el grafo de sucursales y productos una sola vez para armar la foto columnar de
+     * stocks; el resto se calcula sobre arreglos de enteros.
+     */
+    public static FranchiseStats of(Franchise franchise) {
+        List<Branch> branches = franchise.getBranches() != null ? franchise.getBranches() : List.of();
+        StockSnapshot snapshot = StockSnapshot.of(branches);
+        List<BranchStats> branchStats = new ArrayList<>(branches.size());
+        for (int b = 0; b < snapshot.branchCount(); b++) {
+            Branch branch = branches.get(b);
+            branchStats.add(new BranchStats(branch.getBranchId(), branch.getName(), snapshot.statsInBranch(b)));
+        }
+        return FranchiseStats.builder()
+                .franchiseId(franchise.getId())
+                .franchiseName(franchise.getName())
+                .branchCount(branches.size())
+                .stock(snapshot.stats())
+                .branches(branchStats)
+                .build();
+    }
+}
@@ -0,0 +1,23 @@
+package com.nequi.franchise.domain.model.franchise;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resumen de una franquicia para listados")
+public class FranchiseSummary {
+    @Schema(description = "ID de la franquicia", example = "01JA2XQ5S8K3M9V7T4R6P0N1BC")
+    private String id;
+
+    @Schema(description = "Nombre de la franquicia", example = "Franquicia El Éxito")
+    private String name;
+
+    @Schema(description = "Cantidad de sucursales", example = "4")
+    private int branchCount;
+}
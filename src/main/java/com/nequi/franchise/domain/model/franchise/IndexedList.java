@@ -0,0 +1,214 @@
+package com.nequi.franchise.domain.model.franchise;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Lista de elementos del agregado con índices hash por ID y por nombre (sin distinguir
+ * mayúsculas), construidos de forma perezosa.
+ * <p>
+ * La primera búsqueda tras un cambio recorre la lista, igual que antes; el índice solo se
+ * construye a partir de la segunda, así que una petición que busca una vez no paga el costo
+ * de indexar y un lote que busca muchas veces sobre el mismo agregado sí lo amortiza.
+ * <p>
+ * El índice se descarta ante cualquier modificación estructural de la lista y cuando el
+ * agregado dueño renombra un elemento ({@link Franchise#renameBranch}, {@link Branch#renameProduct}),
+ * que avisa con {@link #keysChanged(List)}. Los IDs se asignan antes de agregar el elemento.
+ * Ante nombres repetidos se conserva el primero, igual que {@code stream().filter().findFirst()}.
+ */
+final class IndexedList<T> extends ArrayList<T> {
+    private final transient Function<T, String> idKey;
+    private final transient Function<T, String> nameKey;
+    private transient Index<T> index;
+    private transient boolean scanned;
+
+    IndexedList(Function<T, String> idKey, Function<T, String> nameKey) {
+        this.idKey = idKey;
+        this.nameKey = nameKey;
+    }
+
+    private IndexedList(Collection<? extends T> items, Function<T, String> idKey, Function<T, String> nameKey) {
+        super(items);
+        this.idKey = idKey;
+        this.nameKey = nameKey;
+    }
+
+    /**
+     * Reutiliza la lista si ya está indexada; en otro caso la copia. {@code null} se conserva.
+     */
+    static <T> List<T> wrap(List<T> items, Function<T, String> idKey, Function<T, String> nameKey) {
+        if (items == null || items instanceof IndexedList<T>) {
+            return items;
+        }
+        return new IndexedList<>(items, idKey, nameKey);
+    }
+
+    /**
+     * Búsqueda por índice si la lista está indexada y ya se buscó en ella, lineal en otro caso.
+     */
+    static <T> Optional<T> findById(List<T> items, String id, Function<T, String> idKey) {
+        if (items == null || id == null) {
+            return Optional.empty();
+        }
+        if (items instanceof IndexedList<T> indexed && indexed.indexReady()) {
+            return Optional.ofNullable(indexed.index.byId().get(id));
+        }
+        return items.stream().filter(item -> id.equals(idKey.apply(item))).findFirst();
+    }
+
+    static <T> Optional<T> findByName(List<T> items, String name, Function<T, String> nameKey) {
+        if (items == null || name == null) {
+            return Optional.empty();
+        }
+        if (items instanceof IndexedList<T> indexed && indexed.indexReady()) {
+            return Optional.ofNullable(indexed.index.byName().get(fold(name)));
+        }
+        return items.stream().filter(item -> name.equalsIgnoreCase(nameKey.apply(item))).findFirst();
+    }
+
+    /**
+     * Notifica que cambió el nombre de un elemento de la lista; solo descarta el índice de esa lista.
+     */
+    static void keysChanged(List<?> items) {
+        if (items instanceof IndexedList<?> indexed) {
+            indexed.invalidate();
+        }
+    }
+
+    /**
+     * {@code false} en la primera búsqueda tras un cambio, que se resuelve recorriendo la lista.
+     */
+    private boolean indexReady() {
+        if (index != null) {
+            return true;
+        }
+        if (!scanned) {
+            scanned = true;
+            return false;
+        }
+        Map<String, T> byId = HashMap.newHashMap(size());
+        Map<String, T> byName = HashMap.newHashMap(size());
+        for (T item : this) {
+            Optional.ofNullable(idKey.apply(item)).ifPresent(id -> byId.putIfAbsent(id, item));
+            Optional.ofNullable(nameKey.apply(item)).ifPresent(name -> byName.putIfAbsent(fold(name), item));
+        }
+        index = new Index<>(byId, byName);
+        return true;
+    }
+
+    // Misma equivalencia que String.equalsIgnoreCase, carácter a carácter
+    private static String fold(String value) {
+        StringBuilder folded = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            folded.append(Character.toLowerCase(Character.toUpperCase(value.charAt(i))));
+        }
+        return folded.toString();
+    }
+
+    private void invalidate() {
+        index = null;
+        scanned = false;
+    }
+
+    @Override
+    public boolean add(T item) {
+        invalidate();
+        return super.add(item);
+    }
+
+    @Override
+    public void add(int position, T item) {
+        invalidate();
+        super.add(position, item);
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends T> items) {
+        invalidate();
+        return super.addAll(items);
+    }
+
+    @Override
+    public boolean addAll(int position, Collection<? extends T> items) {
+        invalidate();
+        return super.addAll(position, items);
+    }
+
+    @Override
+    public T set(int position, T item) {
+        invalidate();
+        return super.set(position, item);
+    }
+
+    @Override
+    public T remove(int position) {
+        invalidate();
+        return super.remove(position);
+    }
+
+    @Override
+    public boolean remove(Object item) {
+        invalidate();
+        return super.remove(item);
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> items) {
+        invalidate();
+        return super.removeAll(items);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> items) {
+        invalidate();
+        return super.retainAll(items);
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        invalidate();
+        return super.removeIf(filter);
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        invalidate();
+        super.removeRange(fromIndex, toIndex);
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<T> operator) {
+        invalidate();
+        super.replaceAll(operator);
+    }
+
+    @Override
+    public void sort(Comparator<? super T> comparator) {
+        invalidate();
+        super.sort(comparator);
+    }
+
+    @Override
+    public void clear() {
+        invalidate();
+        super.clear();
+    }
+
+    @Override
+    public List<T> subList(int fromIndex, int toIndex) {
+        // SubList.set escribe directo sobre el arreglo interno, sin pasar por set()
+        invalidate();
+        return super.subList(fromIndex, toIndex);
+    }
+
+    private record Index<T>(Map<String, T> byId, Map<String, T> byName) {
+    }
+}
@@ -2,9 +2,11 @@ package com.nequi.franchise.domain.model.franchise;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 
 @Data
 @Builder(toBuilder = true)
@@ -13,12 +15,25 @@ import lombok.NoArgsConstructor;
 @Schema(description = "Representa un producto en el inventario de una sucursal")
 public class Product {
 
+    /**
+     * Valor centinela para un stock no informado. Es menor que cualquier stock válido,
+     * por lo que nunca gana en comparaciones de mayor stock.
+     */
+    public static final int UNKNOWN_STOCK = Integer.MIN_VALUE;
+
     @Schema(description = "Identificador único del producto", example = "507f1f77bcf86cd799439012")
     private String productId;
 
+    // Solo Branch.renameProduct cambia el nombre, así el índice por nombre de la lista no queda desactualizado
     @Schema(description = "Nombre del producto", example = "Laptop Dell XPS 15")
+    @Setter(AccessLevel.PACKAGE)
     private String name;
 
-    @Schema(description = "Cantidad disponible en stock", example = "50", minimum = "0")
-    private Integer stock;
+    @Builder.Default
+    @Schema(description = "Cantidad disponible en stock; null si no fue informada", example = "50", minimum = "0", nullable = true)
+    private int stock = UNKNOWN_STOCK;
+
+    public boolean hasKnownStock() {
+        return stock != UNKNOWN_STOCK;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.nequi.franchise.domain.model.franchise;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Producto cuyo stock cae dentro del rango consultado, con su ubicación")
+public class ProductStockEntry {
+    @Schema(description = "ID de la franquicia", example = "01JA2XQ5S8K3M9V7T4R6P0N1BC")
+    private String franchiseId;
+
+    @Schema(description = "ID de la sucursal", example = "01JA2XQ5S8K3M9V7T4R6P0N1BD")
+    private String branchId;
+
+    @Schema(description = "Nombre de la sucursal", example = "Sucursal Centro")
+    private String branchName;
+
+    @Schema(description = "ID del producto", example = "01JA2XQ5S8K3M9V7T4R6P0N1BE")
+    private String productId;
+
+    @Schema(description = "Nombre del producto", example = "Laptop Dell")
+    private String productName;
+
+    @Schema(description = "Stock actual", example = "3")
+    private int stock;
+
+    @Schema(description = "Cursor opaco para continuar la consulta después de este elemento")
+    private String cursor;
+}
@@ -0,0 +1,23 @@
+package com.nequi.franchise.domain.model.franchise;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Producto cuyo nombre empieza por el prefijo buscado")
+public class ProductSuggestion {
+    @Schema(description = "ID de la sucursal", example = "01JA2XQ5S8K3M9V7T4R6P0N1BD")
+    private String branchId;
+
+    @Schema(description = "ID del producto", example = "01JA2XQ5S8K3M9V7T4R6P0N1BE")
+    private String productId;
+
+    @Schema(description = "Nombre del producto", example = "Laptop Dell")
+    private String name;
+}
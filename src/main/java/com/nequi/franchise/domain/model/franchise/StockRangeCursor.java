@@ -0,0 +1,37 @@
+package com.nequi.franchise.domain.model.franchise;
+
+import com.nequi.franchise.domain.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posición de un producto en el recorrido por rango de stock, en orden de (ID de franquicia,
+ * ID de sucursal, ID de producto). Al usar IDs y no posiciones en los arreglos, la página
+ * siguiente no se corre si entre tanto se agregan o eliminan sucursales o productos.
+ * Se expone como un token opaco en Base64 URL-safe.
+ */
+public record StockRangeCursor(String franchiseId, String branchId, String productId) {
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = franchiseId + SEPARATOR + branchId + SEPARATOR + productId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static StockRangeCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int productSeparator = raw.lastIndexOf(SEPARATOR);
+            int branchSeparator = raw.lastIndexOf(SEPARATOR, productSeparator - 1);
+            if (branchSeparator <= 0 || productSeparator == branchSeparator + 1 || productSeparator == raw.length() - 1) {
+                throw new IllegalArgumentException("Formato de cursor inesperado");
+            }
+            return new StockRangeCursor(raw.substring(0, branchSeparator),
+                    raw.substring(branchSeparator + 1, productSeparator),
+                    raw.substring(productSeparator + 1));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Cursor inválido: " + token);
+        }
+    }
+}
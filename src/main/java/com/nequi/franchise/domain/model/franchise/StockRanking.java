@@ -0,0 +1,19 @@
+package com.nequi.franchise.domain.model.franchise;
+
+/**
+ * Sentido de un ranking de productos por stock.
+ */
+public enum StockRanking {
+    /** Los N productos con mayor stock. */
+    HIGHEST,
+    /** Los N productos con menor stock. */
+    LOWEST;
+
+    /**
+     * Indica si {@code stock} queda estrictamente por delante de {@code other} en este ranking.
+     * Los empates no desplazan, así que ante igual stock se conserva el primero encontrado.
+     */
+    public boolean outranks(int stock, int other) {
+        return this == HIGHEST ? stock > other : stock < other;
+    }
+}
@@ -0,0 +1,11 @@
+package com.nequi.franchise.domain.model.franchise;
+
+/**
+ * Alcance de un ranking de productos por stock.
+ */
+public enum StockRankingScope {
+    /** Un ranking independiente por cada sucursal, en el orden de las sucursales. */
+    BRANCH,
+    /** Un único ranking con los productos de todas las sucursales de la franquicia. */
+    FRANCHISE
+}
@@ -0,0 +1,113 @@
+package com.nequi.franchise.domain.model.franchise;
+
+import com.nequi.franchise.domain.util.StockKernels;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Foto columnar de los stocks de una franquicia: todos los stocks en un único {@code int[]}
+ * contiguo, sucursal tras sucursal, y un arreglo de offsets donde la sucursal {@code b}
+ * ocupa {@code [branchOffsets[b], branchOffsets[b + 1])}. Las posiciones conservan el orden
+ * de las listas originales, así que un índice devuelto por la foto sirve sobre esas listas.
+ * <p>
+ * Los cálculos recorren memoria contigua con {@link StockKernels} en lugar de saltar por
+ * punteros entre sucursales y productos.
+ */
+public final class StockSnapshot {
+    private final int[] stocks;
+    private final int[] branchOffsets;
+    private final StockKernels kernels;
+
+    private StockSnapshot(int[] stocks, int[] branchOffsets, StockKernels kernels) {
+        this.stocks = stocks;
+        this.branchOffsets = branchOffsets;
+        this.kernels = kernels;
+    }
+
+    public static StockSnapshot of(List<Branch> branches) {
+        return of(branches, Branch::getProducts, Product::getStock, StockKernels.preferred());
+    }
+
+    /**
+     * Construye la foto desde cualquier representación de sucursales y productos
+     * (por ejemplo, los documentos de persistencia, sin mapearlos al dominio).
+     */
+    public static <B, P> StockSnapshot of(List<B> branches, Function<B, List<P>> products,
+                                          ToIntFunction<P> stock, StockKernels kernels) {
+        List<B> source = branches != null ? branches : List.of();
+        int[] offsets = new int[source.size() + 1];
+        for (int b = 0; b < source.size(); b++) {
+            List<P> branchProducts = products.apply(source.get(b));
+            offsets[b + 1] = offsets[b] + (branchProducts != null ? branchProducts.size() : 0);
+        }
+        int[] packed = new int[offsets[source.size()]];
+        for (int b = 0; b < source.size(); b++) {
+            List<P> branchProducts = products.apply(source.get(b));
+            if (branchProducts != null) {
+                int position = offsets[b];
+                for (P product : branchProducts) {
+                    packed[position++] = stock.applyAsInt(product);
+                }
+            }
+        }
+        return new StockSnapshot(packed, offsets, kernels);
+    }
+
+    public int branchCount() {
+        return branchOffsets.length - 1;
+    }
+
+    public int productCount() {
+        return stocks.length;
+    }
+
+    /**
+     * Posición dentro de la sucursal del primer producto con mayor stock, o -1 si la sucursal
+     * no tiene productos con stock conocido.
+     */
+    public int argMaxInBranch(int branch) {
+        int from = branchOffsets[branch];
+        int position = kernels.argMax(stocks, from, branchOffsets[branch + 1]);
+        return position < 0 ? -1 : position - from;
+    }
+
+    /**
+     * Mayor stock de la sucursal, o {@link Product#UNKNOWN_STOCK} si no tiene stocks conocidos.
+     */
+    public int maxInBranch(int branch) {
+        return kernels.max(stocks, branchOffsets[branch], branchOffsets[branch + 1]);
+    }
+
+    public long totalStock() {
+        return kernels.sum(stocks, 0, stocks.length);
+    }
+
+    public long totalStockInBranch(int branch) {
+        return kernels.sum(stocks, branchOffsets[branch], branchOffsets[branch + 1]);
+    }
+
+    /**
+     * Cantidad de productos de la franquicia con stock conocido menor que {@code threshold}.
+     */
+    public int countBelow(int threshold) {
+        return kernels.countBelow(stocks, 0, stocks.length, threshold);
+    }
+
+    public StockStats statsInBranch(int branch) {
+        return sortedStats(branchOffsets[branch], branchOffsets[branch + 1]);
+    }
+
+    public StockStats stats() {
+        return sortedStats(0, stocks.length);
+    }
+
+    // Los percentiles requieren ordenar; se ordena una copia para no alterar las posiciones de la foto
+    private StockStats sortedStats(int from, int to) {
+        int[] sorted = Arrays.copyOfRange(stocks, from, to);
+        Arrays.sort(sorted);
+        return StockStats.ofSorted(sorted, kernels);
+    }
+}
@@ -0,0 +1,88 @@
+package com.nequi.franchise.domain.model.franchise;
+
+import com.nequi.franchise.domain.util.StockKernels;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Estadísticas de stock de un conjunto de productos. Los productos sin stock conocido "
+        + "solo cuentan en productCount y unknownStockCount")
+public class StockStats {
+    @Schema(description = "Cantidad total de productos", example = "120")
+    private int productCount;
+
+    @Schema(description = "Productos sin stock informado", example = "2")
+    private int unknownStockCount;
+
+    @Schema(description = "Productos con stock en cero", example = "7")
+    private int zeroStockCount;
+
+    @Schema(description = "Suma de los stocks conocidos", example = "5400")
+    private long totalStock;
+
+    @Schema(description = "Promedio de los stocks conocidos", example = "45.76")
+    private double averageStock;
+
+    @Schema(description = "Menor stock conocido; null si no hay stocks conocidos", example = "0", nullable = true)
+    private Integer minStock;
+
+    @Schema(description = "Mayor stock conocido; null si no hay stocks conocidos", example = "300", nullable = true)
+    private Integer maxStock;
+
+    @Schema(description = "Mediana de los stocks conocidos (rango más cercano)", example = "40", nullable = true)
+    private Integer p50Stock;
+
+    @Schema(description = "Percentil 90 de los stocks conocidos (rango más cercano)", example = "110", nullable = true)
+    private Integer p90Stock;
+
+    @Schema(description = "Percentil 99 de los stocks conocidos (rango más cercano)", example = "280", nullable = true)
+    private Integer p99Stock;
+
+    /**
+     * Calcula las estadísticas sobre {@code sorted}, ordenado ascendentemente. Como
+     * {@link Product#UNKNOWN_STOCK} es el menor entero, los stocks desconocidos quedan al principio.
+     */
+    static StockStats ofSorted(int[] sorted, StockKernels kernels) {
+        int size = sorted.length;
+        int firstKnown = 0;
+        while (firstKnown < size && sorted[firstKnown] == Product.UNKNOWN_STOCK) {
+            firstKnown++;
+        }
+        int known = size - firstKnown;
+        int zeros = 0;
+        for (int i = firstKnown; i < size && sorted[i] <= 0; i++) {
+            if (sorted[i] == 0) {
+                zeros++;
+            }
+        }
+        long total = kernels.sum(sorted, firstKnown, size);
+        return StockStats.builder()
+                .productCount(size)
+                .unknownStockCount(firstKnown)
+                .zeroStockCount(zeros)
+                .totalStock(total)
+                .averageStock(known == 0 ? 0.0 : (double) total / known)
+                .minStock(known == 0 ? null : sorted[firstKnown])
+                .maxStock(known == 0 ? null : sorted[size - 1])
+                .p50Stock(percentile(sorted, firstKnown, known, 50))
+                .p90Stock(percentile(sorted, firstKnown, known, 90))
+                .p99Stock(percentile(sorted, firstKnown, known, 99))
+                .build();
+    }
+
+    // Rango más cercano: el menor valor con al menos percent% de los elementos por debajo o igual
+    private static Integer percentile(int[] sorted, int firstKnown, int known, int percent) {
+        if (known == 0) {
+            return null;
+        }
+        // ceil(percent * known / 100) en enteros, sin errores de redondeo de punto flotante
+        int rank = (int) ((percent * (long) known + 99) / 100);
+        return sorted[firstKnown + rank - 1];
+    }
+}
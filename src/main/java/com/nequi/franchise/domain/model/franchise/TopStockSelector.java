@@ -0,0 +1,66 @@
+package com.nequi.franchise.domain.model.franchise;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Selección de los N productos con mayor (o menor) stock mediante un heap acotado a N:
+ * la cabeza del heap es el peor candidato retenido y solo se reemplaza cuando aparece uno
+ * mejor, de modo que nunca se ordena la lista completa de productos (O(P log N)).
+ * Los productos con stock desconocido no participan.
+ */
+public final class TopStockSelector {
+
+    private TopStockSelector() {
+    }
+
+    /**
+     * Ranking de los productos de las sucursales indicadas, del mejor al peor.
+     * Ante empates se respeta el orden de aparición (sucursal y posición del producto).
+     */
+    public static List<BranchProductResult> select(List<Branch> branches, int limit, StockRanking ranking) {
+        if (branches == null || limit <= 0) {
+            return List.of();
+        }
+        Comparator<Candidate> bestFirst = bestFirst(ranking);
+        PriorityQueue<Candidate> heap = new PriorityQueue<>(limit, bestFirst.reversed());
+        int sequence = 0;
+        for (Branch branch : branches) {
+            if (branch.getProducts() == null) {
+                continue;
+            }
+            for (Product product : branch.getProducts()) {
+                int stock = product.getStock();
+                if (stock == Product.UNKNOWN_STOCK) {
+                    continue;
+                }
+                if (heap.size() < limit) {
+                    heap.add(new Candidate(branch.getName(), product, stock, sequence));
+                } else if (ranking.outranks(stock, heap.peek().stock())) {
+                    // Se compara el primitivo antes de crear el candidato
+                    heap.poll();
+                    heap.add(new Candidate(branch.getName(), product, stock, sequence));
+                }
+                sequence++;
+            }
+        }
+        List<Candidate> ordered = new ArrayList<>(heap);
+        ordered.sort(bestFirst);
+        List<BranchProductResult> results = new ArrayList<>(ordered.size());
+        for (Candidate candidate : ordered) {
+            results.add(new BranchProductResult(candidate.branchName(), candidate.product()));
+        }
+        return results;
+    }
+
+    private static Comparator<Candidate> bestFirst(StockRanking ranking) {
+        Comparator<Candidate> byStock = Comparator.comparingInt(Candidate::stock);
+        return (ranking == StockRanking.HIGHEST ? byStock.reversed() : byStock)
+                .thenComparingInt(Candidate::sequence);
+    }
+
+    private record Candidate(String branchName, Product product, int stock, int sequence) {
+    }
+}
@@ -1,9 +1,17 @@
 package com.nequi.franchise.domain.model.gateway;
 
+import com.nequi.franchise.domain.model.franchise.BatchPlan;
 import com.nequi.franchise.domain.model.franchise.Branch;
 import com.nequi.franchise.domain.model.franchise.BranchProductResult;
+import com.nequi.franchise.domain.model.franchise.FieldSelection;
 import com.nequi.franchise.domain.model.franchise.Franchise;
+import com.nequi.franchise.domain.model.franchise.FranchiseSummary;
 import com.nequi.franchise.domain.model.franchise.Product;
+import com.nequi.franchise.domain.model.franchise.ProductStockEntry;
+import com.nequi.franchise.domain.model.franchise.ProductSuggestion;
+import com.nequi.franchise.domain.model.franchise.StockRangeCursor;
+import com.nequi.franchise.domain.model.franchise.StockRanking;
+import com.nequi.franchise.domain.model.franchise.StockRankingScope;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -20,16 +28,76 @@ public interface FranchiseGateway {
 
     Mono<Franchise> findById(String id);
 
+    /**
+     * Como {@link #findById(String)}, pero garantiza una versión no anterior a la vigente al
+     * momento de la llamada: una copia en caché que quedó atrás no se usa. Para respuestas que
+     * llevan el ETag de la versión actual.
+     */
+    Mono<Franchise> findCurrentById(String id);
+
+    /**
+     * Lee la franquicia trayendo solo los campos elegidos; los demás quedan sin valor.
+     * Con la misma garantía de versión que {@link #findCurrentById(String)}.
+     */
+    Mono<Franchise> findById(String id, FieldSelection fields);
+
+    /**
+     * Hasta {@code limit} franquicias en orden de ID, con ID mayor que {@code afterId} (nulo
+     * para empezar desde el principio) y, si se indica, cuyo nombre empieza por {@code namePrefix}
+     * sin distinguir mayúsculas.
+     */
+    Flux<FranchiseSummary> findFranchises(String namePrefix, String afterId, int limit);
+
+    /**
+     * Versión actual de la franquicia; cambia con cada mutación y permite
+     * responder peticiones condicionales sin leer el documento completo.
+     */
+    Mono<Long> findVersionById(String id);
+
+    /**
+     * Indica si la franquicia ya tiene una sucursal con ese nombre (sin distinguir mayúsculas).
+     * Retorna {@code false} si la franquicia no existe.
+     */
+    Mono<Boolean> existsBranchByName(String franchiseId, String branchName);
+
     Mono<Franchise> addBranch(String franchiseId, Branch branch);
 
     Mono<Franchise> addProduct(String franchiseId, String branchId, Product product);
 
     Mono<Franchise> removeProduct(String franchiseId, String branchId, String productId);
 
-    Mono<Franchise> updateStock(String franchiseId, String branchId, String productId, Integer newStock);
+    Mono<Franchise> updateStock(String franchiseId, String branchId, String productId, int newStock);
+
+    /**
+     * Escribe todos los cambios de un lote incrementando la versión una sola vez y retorna
+     * la versión resultante, o vacío si la franquicia no existe. Solo escribe si la versión
+     * vigente es {@code expectedVersion}; si no, falla con {@code VersionConflictException}
+     * sin modificar nada.
+     */
+    Mono<Long> applyBatch(String franchiseId, long expectedVersion, BatchPlan plan);
 
     Flux<BranchProductResult> findMaxStockByBranch(String franchiseId);
 
+    /**
+     * Los {@code limit} productos con mayor o menor stock, por sucursal o en toda la franquicia,
+     * del mejor al peor. Los productos con stock desconocido se excluyen. Se calcula sobre una
+     * versión no anterior a la vigente al momento de la llamada.
+     */
+    Flux<BranchProductResult> findTopStock(String franchiseId, int limit, StockRanking ranking, StockRankingScope scope);
+
+    /**
+     * Productos con stock en {@code [minStock, maxStock)} de la franquicia indicada, o de todas
+     * si {@code franchiseId} es nulo. Se emiten en orden estable hasta {@code limit} elementos;
+     * el cursor del último permite pedir la página siguiente ({@code after} nulo para la primera).
+     */
+    Flux<ProductStockEntry> findProductsByStockRange(String franchiseId, int minStock, int maxStock, StockRangeCursor after, int limit);
+
+    /**
+     * Hasta {@code limit} productos de la franquicia cuyo nombre empieza por {@code prefix}
+     * (sin distinguir mayúsculas), en orden alfabético.
+     */
+    Flux<ProductSuggestion> suggestProducts(String franchiseId, String prefix, int limit);
+
     Mono<Franchise> updateFranchiseName(String franchiseId, String newName);
 
     Mono<Franchise> updateBranchName(String franchiseId, String branchId, String newName);
@@ -39,5 +107,17 @@ public interface FranchiseGateway {
     Mono<Branch> findBranchById(String franchiseId, String branchId);
 
     Mono<Product> findProductById(String franchiseId, String branchId, String productId);
+
+    /**
+     * Busca una sucursal por nombre, sin distinguir mayúsculas.
+     * Retorna vacío si la franquicia no existe y error si no tiene una sucursal con ese nombre.
+     */
+    Mono<Branch> findBranchByName(String franchiseId, String branchName);
+
+    /**
+     * Busca un producto de la sucursal por nombre, sin distinguir mayúsculas.
+     * Retorna vacío si la franquicia no existe y error si no existe la sucursal o el producto.
+     */
+    Mono<Product> findProductByName(String franchiseId, String branchId, String productName);
 }
 
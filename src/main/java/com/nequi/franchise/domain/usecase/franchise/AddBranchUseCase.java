@@ -22,10 +22,9 @@ public class AddBranchUseCase {
                 .doOnSubscribe(s -> log.info("Method: AddBranchUseCase.apply - Input: franchiseId={}, branch={}", franchiseId, branch))
                 .filter(name -> !name.isBlank())
                 .switchIfEmpty(Mono.error(new ValidationException("El nombre de la sucursal no puede estar vacío")))
-                .flatMap(name -> franchiseGateway.findById(franchiseId))
-                .flatMap(franchise -> franchise.getBranches().stream()
-                        .filter(b -> b.getName().equalsIgnoreCase(branch.getName()))
-                        .findFirst()
+                .flatMap(name -> franchiseGateway.existsBranchByName(franchiseId, name))
+                .flatMap(exists -> Optional.of(exists)
+                        .filter(Boolean::booleanValue)
                         .map(existingBranch -> Mono.<Franchise>error(new BusinessException(
                                 "Ya existe una sucursal con el nombre '" + branch.getName() + "' en esta franquicia")))
                         .orElseGet(() -> {
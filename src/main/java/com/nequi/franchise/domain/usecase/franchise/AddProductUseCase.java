@@ -19,7 +19,10 @@ public class AddProductUseCase {
     public Mono<Franchise> apply(String franchiseId, String branchId, Product product) {
         log.info("Method: AddProductUseCase.apply - Input: franchiseId={}, branchId={}, product={}", franchiseId, branchId, product);
 
-        return Optional.ofNullable(product.getStock())
+        // El stock desconocido (no informado) es válido; cualquier otro negativo no
+        return Optional.of(product)
+                .filter(Product::hasKnownStock)
+                .map(Product::getStock)
                 .filter(stock -> stock < 0)
                 .map(stock -> Mono.<Franchise>error(new ValidationException("El stock no puede ser negativo")))
                 .orElseGet(() -> {
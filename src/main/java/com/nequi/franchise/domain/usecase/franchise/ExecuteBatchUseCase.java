@@ -0,0 +1,235 @@
+package com.nequi.franchise.domain.usecase.franchise;
+
+import com.nequi.franchise.domain.exception.BusinessException;
+import com.nequi.franchise.domain.exception.DomainException;
+import com.nequi.franchise.domain.exception.ResourceNotFoundException;
+import com.nequi.franchise.domain.exception.ValidationException;
+import com.nequi.franchise.domain.exception.VersionConflictException;
+import com.nequi.franchise.domain.model.franchise.BatchOperation;
+import com.nequi.franchise.domain.model.franchise.BatchOperationResult;
+import com.nequi.franchise.domain.model.franchise.BatchPlan;
+import com.nequi.franchise.domain.model.franchise.BatchResult;
+import com.nequi.franchise.domain.model.franchise.Branch;
+import com.nequi.franchise.domain.model.franchise.Franchise;
+import com.nequi.franchise.domain.model.franchise.Product;
+import com.nequi.franchise.domain.model.gateway.FranchiseGateway;
+import com.nequi.franchise.domain.util.IdGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Aplica un lote de mutaciones sobre una franquicia con una lectura y una escritura.
+ * <p>
+ * Las operaciones se validan en orden contra una copia en memoria, con las mismas reglas que los
+ * casos de uso individuales, así que cada una ve el efecto de las anteriores. Una operación
+ * inválida se reporta como {@code FAILED} y no afecta al resto. Los cambios aceptados se agrupan
+ * en un {@link BatchPlan} que el gateway escribe de una vez.
+ * <p>
+ * La escritura exige que la franquicia siga en la versión leída. Si otra escritura se adelantó,
+ * el lote se vuelve a validar sobre la franquicia actualizada hasta {@link #MAX_CONFLICT_RETRIES}
+ * veces; agotados los reintentos se propaga el {@link VersionConflictException}.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ExecuteBatchUseCase {
+    public static final int MAX_OPERATIONS = 100;
+    static final int MAX_CONFLICT_RETRIES = 3;
+
+    private final FranchiseGateway gateway;
+
+    public Mono<BatchResult> apply(String franchiseId, List<BatchOperation> operations) {
+        if (operations == null || operations.isEmpty()) {
+            return Mono.error(new ValidationException("El lote debe tener al menos una operación"));
+        }
+        if (operations.size() > MAX_OPERATIONS) {
+            return Mono.error(new ValidationException("El lote admite como máximo " + MAX_OPERATIONS + " operaciones"));
+        }
+        return Mono.defer(() -> readAndApply(franchiseId, operations))
+                .retryWhen(Retry.max(MAX_CONFLICT_RETRIES)
+                        .filter(VersionConflictException.class::isInstance)
+                        .doBeforeRetry(signal -> log.warn("Method: ExecuteBatchUseCase.apply - Reintento {} por conflicto de versión: franchiseId={}",
+                                signal.totalRetries() + 1, franchiseId))
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                .doOnSubscribe(s -> log.info("Method: ExecuteBatchUseCase.apply - Input: franchiseId={}, operations={}", franchiseId, operations.size()))
+                .doOnSuccess(result -> log.info("Method: ExecuteBatchUseCase.apply - Output: franchiseId={}, applied={}, failed={}, version={}",
+                        franchiseId, result.getApplied(), result.getFailed(), result.getVersion()))
+                .doOnError(error -> log.error("Method: ExecuteBatchUseCase.apply - Error: franchiseId={}, message={}", franchiseId, error.getMessage(), error));
+    }
+
+    private Mono<BatchResult> readAndApply(String franchiseId, List<BatchOperation> operations) {
+        // La versión se lee antes que la franquicia: el documento leído nunca es más viejo que ella,
+        // y si es más nuevo la escritura falla por conflicto en vez de pisar cambios ajenos
+        return gateway.findVersionById(franchiseId)
+                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Franquicia no encontrada con ID: " + franchiseId)))
+                .flatMap(readVersion -> gateway.findCurrentById(franchiseId)
+                        .switchIfEmpty(Mono.error(new ResourceNotFoundException("Franquicia no encontrada con ID: " + franchiseId)))
+                        .flatMap(franchise -> {
+                            BatchPlan plan = new BatchPlan();
+                            List<BatchOperationResult> results = new ArrayList<>(operations.size());
+                            for (int index = 0; index < operations.size(); index++) {
+                                results.add(plan(franchise, plan, index, operations.get(index)));
+                            }
+                            if (plan.isEmpty()) {
+                                return Mono.just(result(null, results));
+                            }
+                            return gateway.applyBatch(franchiseId, readVersion, plan)
+                                    .switchIfEmpty(Mono.error(new ResourceNotFoundException("Franquicia no encontrada con ID: " + franchiseId)))
+                                    .map(version -> result(version, results));
+                        }));
+    }
+
+    private BatchOperationResult plan(Franchise franchise, BatchPlan plan, int index, BatchOperation operation) {
+        BatchOperationResult.BatchOperationResultBuilder result = BatchOperationResult.builder()
+                .index(index)
+                .type(operation.type())
+                .status(BatchOperationResult.Status.APPLIED);
+        try {
+            if (operation.type() == null) {
+                throw new ValidationException("El tipo de operación es obligatorio");
+            }
+            switch (operation.type()) {
+                case ADD_BRANCH -> {
+                    Branch branch = addBranch(franchise, operation);
+                    plan.branchAdded(branch);
+                    result.branchId(branch.getBranchId());
+                }
+                case RENAME_BRANCH -> {
+                    String name = requireNewName(operation);
+                    Branch branch = resolveBranch(franchise, operation);
+                    franchise.renameBranch(branch, name);
+                    plan.branchRenamed(branch);
+                    result.branchId(branch.getBranchId());
+                }
+                case ADD_PRODUCT -> {
+                    Branch branch = resolveBranch(franchise, operation);
+                    Product product = addProduct(branch, operation);
+                    plan.productAdded(branch.getBranchId(), product);
+                    result.branchId(branch.getBranchId()).productId(product.getProductId());
+                }
+                case REMOVE_PRODUCT -> {
+                    Branch branch = resolveBranch(franchise, operation);
+                    Product product = resolveProduct(branch, operation);
+                    branch.getProducts().remove(product);
+                    plan.productRemoved(branch.getBranchId(), product.getProductId());
+                    result.branchId(branch.getBranchId()).productId(product.getProductId());
+                }
+                case UPDATE_STOCK -> {
+                    int stock = requireStock(operation.stock());
+                    Branch branch = resolveBranch(franchise, operation);
+                    Product product = resolveProduct(branch, operation);
+                    product.setStock(stock);
+                    plan.stockUpdated(branch.getBranchId(), product);
+                    result.branchId(branch.getBranchId()).productId(product.getProductId());
+                }
+                case RENAME_PRODUCT -> {
+                    String name = requireNewName(operation);
+                    Branch branch = resolveBranch(franchise, operation);
+                    Product product = resolveProduct(branch, operation);
+                    branch.renameProduct(product, name);
+                    plan.productRenamed(branch.getBranchId(), product);
+                    result.branchId(branch.getBranchId()).productId(product.getProductId());
+                }
+            }
+            return result.build();
+        } catch (DomainException e) {
+            log.warn("Method: ExecuteBatchUseCase.plan - Operación {} ({}) rechazada: {}", index, operation.type(), e.getMessage());
+            return result.status(BatchOperationResult.Status.FAILED).message(e.getMessage()).build();
+        }
+    }
+
+    private Branch addBranch(Franchise franchise, BatchOperation operation) {
+        String name = operation.name();
+        if (name == null || name.isBlank()) {
+            throw new ValidationException("El nombre de la sucursal no puede estar vacío");
+        }
+        if (franchise.findBranchByName(name).isPresent()) {
+            throw new BusinessException("Ya existe una sucursal con el nombre '" + name + "' en esta franquicia");
+        }
+        Branch branch = Branch.builder()
+                .branchId(IdGenerator.generateId())
+                .name(name)
+                .build();
+        if (franchise.getBranches() == null) {
+            franchise.setBranches(new ArrayList<>());
+        }
+        franchise.getBranches().add(branch);
+        return branch;
+    }
+
+    private Product addProduct(Branch branch, BatchOperation operation) {
+        String name = operation.name();
+        if (name == null || name.isBlank()) {
+            throw new ValidationException("El nombre del producto no puede estar vacío");
+        }
+        // El stock desconocido (no informado) es válido; cualquier otro negativo no
+        int stock = operation.stock() == null ? Product.UNKNOWN_STOCK : requireStock(operation.stock());
+        Product product = Product.builder()
+                .productId(IdGenerator.generateId())
+                .name(name)
+                .stock(stock)
+                .build();
+        if (branch.getProducts() == null) {
+            branch.setProducts(new ArrayList<>());
+        }
+        branch.getProducts().add(product);
+        return product;
+    }
+
+    private static String requireNewName(BatchOperation operation) {
+        if (operation.name() == null || operation.name().isBlank()) {
+            throw new ValidationException("El nuevo nombre no puede estar vacío");
+        }
+        return operation.name();
+    }
+
+    private static int requireStock(Integer stock) {
+        if (stock == null) {
+            throw new ValidationException("El stock es obligatorio");
+        }
+        if (stock < 0) {
+            throw new ValidationException("El stock no puede ser negativo");
+        }
+        return stock;
+    }
+
+    private static Branch resolveBranch(Franchise franchise, BatchOperation operation) {
+        if (operation.branchId() != null) {
+            return franchise.findBranchById(operation.branchId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Sucursal no encontrada con branchId: " + operation.branchId()));
+        }
+        if (operation.branchName() != null) {
+            return franchise.findBranchByName(operation.branchName())
+                    .orElseThrow(() -> new ResourceNotFoundException("Sucursal no encontrada con nombre: " + operation.branchName()));
+        }
+        throw new ValidationException("La operación debe indicar branchId o branchName");
+    }
+
+    private static Product resolveProduct(Branch branch, BatchOperation operation) {
+        if (operation.productId() != null) {
+            return branch.findProductById(operation.productId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Producto no encontrado con productId: " + operation.productId()));
+        }
+        if (operation.productName() != null) {
+            return branch.findProductByName(operation.productName())
+                    .orElseThrow(() -> new ResourceNotFoundException("Producto no encontrado con nombre: " + operation.productName()));
+        }
+        throw new ValidationException("La operación debe indicar productId o productName");
+    }
+
+    private static BatchResult result(Long version, List<BatchOperationResult> results) {
+        int applied = (int) results.stream()
+                .filter(result -> result.getStatus() == BatchOperationResult.Status.APPLIED)
+                .count();
+        return BatchResult.builder()
+                .version(version)
+                .applied(applied)
+                .failed(results.size() - applied)
+                .results(results)
+                .build();
+    }
+}
@@ -0,0 +1,23 @@
+package com.nequi.franchise.domain.usecase.franchise;
+
+import com.nequi.franchise.domain.exception.ResourceNotFoundException;
+import com.nequi.franchise.domain.model.franchise.FieldSelection;
+import com.nequi.franchise.domain.model.franchise.Franchise;
+import com.nequi.franchise.domain.model.gateway.FranchiseGateway;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@RequiredArgsConstructor
+public class FindFranchiseUseCase {
+    private final FranchiseGateway gateway;
+
+    public Mono<Franchise> apply(String franchiseId, FieldSelection fields) {
+        return gateway.findById(franchiseId, fields)
+                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Franquicia no encontrada con ID: " + franchiseId)))
+                .doOnSubscribe(s -> log.info("Method: FindFranchiseUseCase.apply - Input: franchiseId={}, fields={}", franchiseId, fields.paths()))
+                .doOnSuccess(franchise -> log.info("Method: FindFranchiseUseCase.apply - Output: franchiseId={}", franchiseId))
+                .doOnError(error -> log.error("Method: FindFranchiseUseCase.apply - Error: franchiseId={}, message={}", franchiseId, error.getMessage(), error));
+    }
+}
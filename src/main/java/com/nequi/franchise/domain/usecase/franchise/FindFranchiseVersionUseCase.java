@@ -0,0 +1,19 @@
+package com.nequi.franchise.domain.usecase.franchise;
+
+import com.nequi.franchise.domain.model.gateway.FranchiseGateway;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@RequiredArgsConstructor
+public class FindFranchiseVersionUseCase {
+    private final FranchiseGateway gateway;
+
+    public Mono<Long> apply(String franchiseId) {
+        return gateway.findVersionById(franchiseId)
+                .doOnSubscribe(s -> log.debug("Method: FindFranchiseVersionUseCase.apply - Input: franchiseId={}", franchiseId))
+                .doOnSuccess(version -> log.debug("Method: FindFranchiseVersionUseCase.apply - Output: franchiseId={}, version={}", franchiseId, version))
+                .doOnError(error -> log.error("Method: FindFranchiseVersionUseCase.apply - Error: franchiseId={}, message={}", franchiseId, error.getMessage(), error));
+    }
+}
@@ -0,0 +1,48 @@
+package com.nequi.franchise.domain.usecase.franchise;
+
+import com.nequi.franchise.domain.exception.ValidationException;
+import com.nequi.franchise.domain.model.franchise.ProductStockEntry;
+import com.nequi.franchise.domain.model.franchise.StockRangeCursor;
+import com.nequi.franchise.domain.model.gateway.FranchiseGateway;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+
+/**
+ * Productos con stock en el rango {@code [minStock, maxStock)}, de una franquicia o de todas
+ * ({@code franchiseId} nulo), paginados por cursor.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class FindProductsByStockRangeUseCase {
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private final FranchiseGateway gateway;
+
+    public Flux<ProductStockEntry> apply(String franchiseId, int minStock, int maxStock, StockRangeCursor after, int limit) {
+        return Flux.defer(() -> {
+                    validate(minStock, maxStock, limit);
+                    return gateway.findProductsByStockRange(franchiseId, minStock, maxStock, after, limit);
+                })
+                .doOnSubscribe(s -> log.info("Method: FindProductsByStockRangeUseCase.apply - Input: franchiseId={}, minStock={}, maxStock={}, after={}, limit={}",
+                        franchiseId, minStock, maxStock, after, limit))
+                .doOnComplete(() -> log.info("Method: FindProductsByStockRangeUseCase.apply - Output: franchiseId={}, completed", franchiseId))
+                .doOnError(error -> log.error("Method: FindProductsByStockRangeUseCase.apply - Error: franchiseId={}, message={}", franchiseId, error.getMessage(), error));
+    }
+
+    /**
+     * Valida el rango y el tamaño de página. Expuesto para que quien transmite la respuesta
+     * pueda rechazar la petición antes de comprometer el estado HTTP.
+     */
+    public static void validate(int minStock, int maxStock, int limit) {
+        if (minStock < 0) {
+            throw new ValidationException("El stock mínimo no puede ser negativo");
+        }
+        if (maxStock <= minStock) {
+            throw new ValidationException("El stock máximo debe ser mayor que el mínimo");
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ValidationException("El límite debe estar entre 1 y " + MAX_PAGE_SIZE);
+        }
+    }
+}
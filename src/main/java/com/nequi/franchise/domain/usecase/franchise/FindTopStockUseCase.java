@@ -0,0 +1,41 @@
+package com.nequi.franchise.domain.usecase.franchise;
+
+import com.nequi.franchise.domain.exception.ValidationException;
+import com.nequi.franchise.domain.model.franchise.BranchProductResult;
+import com.nequi.franchise.domain.model.franchise.StockRanking;
+import com.nequi.franchise.domain.model.franchise.StockRankingScope;
+import com.nequi.franchise.domain.model.gateway.FranchiseGateway;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+
+@Slf4j
+@RequiredArgsConstructor
+public class FindTopStockUseCase {
+    public static final int MAX_LIMIT = 100;
+
+    private final FranchiseGateway gateway;
+
+    public Flux<BranchProductResult> apply(String franchiseId, int limit, StockRanking ranking, StockRankingScope scope) {
+        return Flux.defer(() -> {
+                    validate(limit, ranking, scope);
+                    return gateway.findTopStock(franchiseId, limit, ranking, scope);
+                })
+                .doOnSubscribe(s -> log.info("Method: FindTopStockUseCase.apply - Input: franchiseId={}, limit={}, ranking={}, scope={}", franchiseId, limit, ranking, scope))
+                .doOnComplete(() -> log.info("Method: FindTopStockUseCase.apply - Output: franchiseId={}, completed", franchiseId))
+                .doOnError(error -> log.error("Method: FindTopStockUseCase.apply - Error: franchiseId={}, message={}", franchiseId, error.getMessage(), error));
+    }
+
+    /**
+     * Valida el límite, el orden y el alcance. Expuesto para que quien transmite la respuesta
+     * pueda rechazar la petición antes de comprometer el estado HTTP.
+     */
+    public static void validate(int limit, StockRanking ranking, StockRankingScope scope) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ValidationException("El límite debe estar entre 1 y " + MAX_LIMIT);
+        }
+        if (ranking == null || scope == null) {
+            throw new ValidationException("El orden y el alcance del ranking son obligatorios");
+        }
+    }
+}
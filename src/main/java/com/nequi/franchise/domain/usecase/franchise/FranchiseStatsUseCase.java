@@ -0,0 +1,29 @@
+package com.nequi.franchise.domain.usecase.franchise;
+
+import com.nequi.franchise.domain.exception.ResourceNotFoundException;
+import com.nequi.franchise.domain.model.franchise.FranchiseStats;
+import com.nequi.franchise.domain.model.gateway.FranchiseGateway;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Totales, promedios, conteos y percentiles de stock por sucursal y de toda la franquicia,
+ * calculados con una sola lectura del documento (servida desde la caché local si está al día,
+ * para que no sea anterior a la versión del ETag de la respuesta).
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class FranchiseStatsUseCase {
+    private final FranchiseGateway gateway;
+
+    public Mono<FranchiseStats> apply(String franchiseId) {
+        return gateway.findCurrentById(franchiseId)
+                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Franquicia no encontrada con ID: " + franchiseId)))
+                .map(FranchiseStats::of)
+                .doOnSubscribe(s -> log.info("Method: FranchiseStatsUseCase.apply - Input: franchiseId={}", franchiseId))
+                .doOnSuccess(stats -> log.info("Method: FranchiseStatsUseCase.apply - Output: franchiseId={}, branches={}, products={}",
+                        franchiseId, stats.getBranchCount(), stats.getStock().getProductCount()))
+                .doOnError(error -> log.error("Method: FranchiseStatsUseCase.apply - Error: franchiseId={}, message={}", franchiseId, error.getMessage(), error));
+    }
+}
@@ -0,0 +1,51 @@
+package com.nequi.franchise.domain.usecase.franchise;
+
+import com.nequi.franchise.domain.exception.ValidationException;
+import com.nequi.franchise.domain.model.franchise.FranchisePage;
+import com.nequi.franchise.domain.model.franchise.FranchiseSummary;
+import com.nequi.franchise.domain.model.gateway.FranchiseGateway;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Listado de franquicias en orden de ID, paginado por keyset: cada página continúa después
+ * del último ID visto, por lo que su costo no depende de cuántas páginas se recorrieron.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ListFranchisesUseCase {
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private final FranchiseGateway gateway;
+    private final int defaultPageSize;
+
+    /**
+     * @param limit tamaño de página; nulo para usar el configurado por defecto
+     */
+    public Mono<FranchisePage> apply(String namePrefix, String after, Integer limit) {
+        int pageSize = limit != null ? limit : defaultPageSize;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            return Mono.error(new ValidationException("El límite debe estar entre 1 y " + MAX_PAGE_SIZE));
+        }
+        String prefix = namePrefix != null && !namePrefix.isBlank() ? namePrefix.strip() : null;
+        String cursor = after != null && !after.isBlank() ? after : null;
+        // Se pide un elemento de más para saber si existe una página siguiente
+        return gateway.findFranchises(prefix, cursor, pageSize + 1)
+                .collectList()
+                .map(items -> toPage(items, pageSize))
+                .doOnSubscribe(s -> log.info("Method: ListFranchisesUseCase.apply - Input: namePrefix={}, after={}, limit={}", prefix, cursor, pageSize))
+                .doOnSuccess(page -> log.info("Method: ListFranchisesUseCase.apply - Output: items={}, nextCursor={}", page.items().size(), page.nextCursor()))
+                .doOnError(error -> log.error("Method: ListFranchisesUseCase.apply - Error: message={}", error.getMessage(), error));
+    }
+
+    private static FranchisePage toPage(List<FranchiseSummary> items, int pageSize) {
+        if (items.size() <= pageSize) {
+            return new FranchisePage(items, null);
+        }
+        List<FranchiseSummary> page = items.subList(0, pageSize);
+        return new FranchisePage(List.copyOf(page), page.get(pageSize - 1).getId());
+    }
+}
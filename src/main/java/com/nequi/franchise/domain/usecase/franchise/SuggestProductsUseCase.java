@@ -0,0 +1,39 @@
+package com.nequi.franchise.domain.usecase.franchise;
+
+import com.nequi.franchise.domain.exception.ValidationException;
+import com.nequi.franchise.domain.model.franchise.ProductSuggestion;
+import com.nequi.franchise.domain.model.gateway.FranchiseGateway;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+
+@Slf4j
+@RequiredArgsConstructor
+public class SuggestProductsUseCase {
+    public static final int MAX_LIMIT = 50;
+
+    private final FranchiseGateway gateway;
+
+    public Flux<ProductSuggestion> apply(String franchiseId, String prefix, int limit) {
+        return Flux.defer(() -> {
+                    validate(prefix, limit);
+                    return gateway.suggestProducts(franchiseId, prefix.strip(), limit);
+                })
+                .doOnSubscribe(s -> log.info("Method: SuggestProductsUseCase.apply - Input: franchiseId={}, prefix={}, limit={}", franchiseId, prefix, limit))
+                .doOnComplete(() -> log.info("Method: SuggestProductsUseCase.apply - Output: franchiseId={}, completed", franchiseId))
+                .doOnError(error -> log.error("Method: SuggestProductsUseCase.apply - Error: franchiseId={}, message={}", franchiseId, error.getMessage(), error));
+    }
+
+    /**
+     * Valida el prefijo y el límite. Expuesto para que quien transmite la respuesta
+     * pueda rechazar la petición antes de comprometer el estado HTTP.
+     */
+    public static void validate(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new ValidationException("El prefijo de búsqueda es obligatorio");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ValidationException("El límite debe estar entre 1 y " + MAX_LIMIT);
+        }
+    }
+}
@@ -17,7 +17,10 @@ public class UpdateStockUseCase {
     public Mono<Franchise> apply(String franchiseId, String branchId, String productId, Integer newStock) {
         log.info("Method: UpdateStockUseCase.apply - Input: franchiseId={}, branchId={}, productId={}, newStock={}", franchiseId, branchId, productId, newStock);
 
-        return Optional.ofNullable(newStock)
+        if (newStock == null) {
+            return Mono.error(new ValidationException("El stock es obligatorio"));
+        }
+        return Optional.of(newStock)
                 .filter(stock -> stock < 0)
                 .map(stock -> Mono.<Franchise>error(new ValidationException("El stock no puede ser negativo")))
                 .orElseGet(() -> gateway.updateStock(franchiseId, branchId, productId, newStock)
@@ -1,19 +1,42 @@
 package com.nequi.franchise.domain.util;
 
-import java.util.UUID;
+import java.util.Locale;
 
 /**
  * Utilidad para generar identificadores únicos para entidades del dominio.
  * Abstrae la generación de IDs de cualquier tecnología específica.
+ * <p>
+ * La estrategia se configura al iniciar con {@link #use(IdStrategy)}; por defecto se
+ * usan UUID para conservar el formato histórico.
  */
 public class IdGenerator {
 
+    private static volatile IdStrategy strategy = new UuidIdStrategy();
+
+    private IdGenerator() {
+    }
+
     /**
-     * Genera un ID único basado en UUID.
+     * Genera un ID único con la estrategia configurada.
      * @return String con un ID único
      */
     public static String generateId() {
-        return UUID.randomUUID().toString().replace("-", "");
+        return strategy.nextId();
+    }
+
+    public static void use(IdStrategy idStrategy) {
+        strategy = idStrategy;
     }
-}
 
+    /**
+     * Resuelve una estrategia por nombre: {@code uuid}, {@code ulid} u {@code objectid}.
+     */
+    public static IdStrategy strategyNamed(String name) {
+        return switch (name.trim().toLowerCase(Locale.ROOT)) {
+            case "uuid" -> new UuidIdStrategy();
+            case "ulid" -> new UlidIdStrategy();
+            case "objectid", "object-id" -> new ObjectIdStrategy();
+            default -> throw new IllegalArgumentException("Estrategia de IDs desconocida: " + name);
+        };
+    }
+}
@@ -0,0 +1,13 @@
+package com.nequi.franchise.domain.util;
+
+/**
+ * Estrategia de generación de identificadores usada por {@link IdGenerator}.
+ */
+@FunctionalInterface
+public interface IdStrategy {
+
+    /**
+     * @return un identificador nuevo y único, apto para usarse en URLs
+     */
+    String nextId();
+}
@@ -0,0 +1,42 @@
+package com.nequi.franchise.domain.util;
+
+/**
+ * Implementación escalar de {@link StockKernels}; el JIT puede autovectorizar algunos lazos.
+ */
+final class ScalarStockKernels implements StockKernels {
+    static final ScalarStockKernels INSTANCE = new ScalarStockKernels();
+
+    private ScalarStockKernels() {
+    }
+
+    @Override
+    public int max(int[] stocks, int from, int to) {
+        int max = Integer.MIN_VALUE;
+        for (int i = from; i < to; i++) {
+            max = Math.max(max, stocks[i]);
+        }
+        return max;
+    }
+
+    @Override
+    public long sum(int[] stocks, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            // El stock desconocido (MIN_VALUE) aporta 0
+            sum += Math.max(stocks[i], 0);
+        }
+        return sum;
+    }
+
+    @Override
+    public int countBelow(int[] stocks, int from, int to, int threshold) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            int stock = stocks[i];
+            if (stock >= 0 && stock < threshold) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
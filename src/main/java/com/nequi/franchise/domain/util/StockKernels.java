@@ -0,0 +1,72 @@
+package com.nequi.franchise.domain.util;
+
+/**
+ * Operaciones sobre columnas contiguas de stock ({@code int[]}) en el rango {@code [from, to)}.
+ * El stock desconocido se representa con {@link Integer#MIN_VALUE} y nunca cuenta como stock.
+ * <p>
+ * {@link #preferred()} usa la implementación SIMD ({@code jdk.incubator.vector}) si el módulo
+ * está cargado ({@code --add-modules jdk.incubator.vector}) y la escalar en otro caso.
+ */
+public interface StockKernels {
+
+    /**
+     * Máximo del rango; {@link Integer#MIN_VALUE} si está vacío o todo es desconocido.
+     */
+    int max(int[] stocks, int from, int to);
+
+    /**
+     * Suma de los stocks conocidos del rango.
+     */
+    long sum(int[] stocks, int from, int to);
+
+    /**
+     * Cantidad de stocks conocidos menores que {@code threshold}.
+     */
+    int countBelow(int[] stocks, int from, int to, int threshold);
+
+    /**
+     * Posición del primer máximo del rango, o -1 si no hay stocks conocidos.
+     */
+    default int argMax(int[] stocks, int from, int to) {
+        int max = max(stocks, from, to);
+        if (max == Integer.MIN_VALUE) {
+            return -1;
+        }
+        for (int i = from; i < to; i++) {
+            if (stocks[i] == max) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static StockKernels preferred() {
+        return Holder.PREFERRED;
+    }
+
+    static StockKernels scalar() {
+        return ScalarStockKernels.INSTANCE;
+    }
+
+    final class Holder {
+        private static final String VECTOR_MODULE = "jdk.incubator.vector";
+        private static final StockKernels PREFERRED = detect();
+
+        private Holder() {
+        }
+
+        private static StockKernels detect() {
+            if (ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+                try {
+                    // Carga reflexiva: sin el módulo la clase vectorial nunca se resuelve
+                    return (StockKernels) Class.forName("com.nequi.franchise.domain.util.VectorStockKernels")
+                            .getDeclaredConstructor()
+                            .newInstance();
+                } catch (ReflectiveOperationException | LinkageError e) {
+                    return ScalarStockKernels.INSTANCE;
+                }
+            }
+            return ScalarStockKernels.INSTANCE;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.nequi.franchise.domain.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * ULID (26 caracteres Crockford base32): 48 bits de milisegundos seguidos de 80 bits
+ * aleatorios. El orden lexicográfico sigue al de creación, por lo que las inserciones
+ * se concentran en el extremo derecho de los índices.
+ * <p>
+ * Sin bloqueos: cada hilo guarda su último valor y, dentro del mismo milisegundo,
+ * incrementa la parte aleatoria en lugar de sortear otra (ULID monótono por hilo).
+ * La aleatoriedad sale de {@link ThreadLocalRandom}, que no es criptográfico; los IDs
+ * no deben usarse como secretos.
+ */
+public class UlidIdStrategy implements IdStrategy {
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int LENGTH = 26;
+    private static final long RANDOM_HIGH_MASK = 0xFFFFL;  // 16 bits altos de los 80 aleatorios
+
+    private final ThreadLocal<State> state = ThreadLocal.withInitial(State::new);
+
+    @Override
+    public String nextId() {
+        State current = state.get();
+        long timestamp = System.currentTimeMillis();
+        if (timestamp > current.timestamp || current.overflowed()) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            current.timestamp = Math.max(timestamp, current.timestamp);
+            current.randomHigh = random.nextLong() & RANDOM_HIGH_MASK;
+            current.randomLow = random.nextLong();
+        } else {
+            current.increment();
+        }
+        return encode(current.timestamp, current.randomHigh, current.randomLow);
+    }
+
+    private static String encode(long timestamp, long randomHigh, long randomLow) {
+        char[] chars = new char[LENGTH];
+        // 10 caracteres de timestamp (50 bits, los 2 superiores en cero)
+        for (int i = 9; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (timestamp & 0x1F)];
+            timestamp >>>= 5;
+        }
+        // 16 caracteres para los 80 bits aleatorios: 16 altos + 64 bajos
+        for (int i = LENGTH - 1; i >= 10; i--) {
+            chars[i] = ALPHABET[(int) (randomLow & 0x1F)];
+            randomLow = (randomLow >>> 5) | ((randomHigh & 0x1F) << 59);
+            randomHigh >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    private static final class State {
+        private long timestamp = -1;
+        private long randomHigh;
+        private long randomLow;
+
+        private void increment() {
+            randomLow++;
+            if (randomLow == 0) {
+                randomHigh = (randomHigh + 1) & RANDOM_HIGH_MASK;
+            }
+        }
+
+        // Los 80 bits se agotaron en el mismo milisegundo: se vuelve a sortear
+        private boolean overflowed() {
+            return randomLow == -1L && randomHigh == RANDOM_HIGH_MASK;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.nequi.franchise.domain.util;
+
+import java.util.UUID;
+
+/**
+ * UUID v4 en hexadecimal sin guiones (32 caracteres). Es la estrategia histórica:
+ * aleatoria, sin orden temporal, y respaldada por un {@code SecureRandom} compartido.
+ */
+public class UuidIdStrategy implements IdStrategy {
+
+    @Override
+    public String nextId() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+}
@@ -0,0 +1,137 @@
+package com.nequi.franchise.infrastructure.driven_adapters.cache;
+
+import com.nequi.franchise.infrastructure.driven_adapters.mongo_repository.FranchiseDocument;
+import com.nequi.franchise.infrastructure.driven_adapters.mongo_repository.FranchiseDocument.BranchDocument;
+import com.nequi.franchise.infrastructure.driven_adapters.mongo_repository.FranchiseDocument.ProductDocument;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Índices por ID y por nombre de las sucursales y productos de un documento de franquicia.
+ * <p>
+ * Vive junto al documento en {@link FranchiseLocalCache}, así que todas las peticiones que leen
+ * la misma entrada comparten el índice: el de sucursales se construye en la primera búsqueda y el
+ * de productos de cada sucursal en la primera búsqueda dentro de ella; desde ahí, tiempo constante.
+ * El documento en caché no se modifica (las mutaciones lo invalidan), por lo que el índice no se
+ * mantiene: se descarta con la entrada. Construirlo dos veces en paralelo da el mismo resultado,
+ * así que basta con publicarlo en campos volátiles.
+ */
+public final class FranchiseDocumentIndex {
+
+    private final FranchiseDocument document;
+    private volatile Branches branches;
+
+    public FranchiseDocumentIndex(FranchiseDocument document) {
+        this.document = document;
+    }
+
+    public FranchiseDocument document() {
+        return document;
+    }
+
+    public Optional<BranchDocument> findBranchById(String branchId) {
+        return Optional.ofNullable(branches().byId().get(branchId)).map(BranchEntry::branch);
+    }
+
+    /**
+     * Busca una sucursal por nombre, sin distinguir mayúsculas; ante nombres repetidos gana la primera.
+     */
+    public Optional<BranchDocument> findBranchByName(String name) {
+        return name == null
+                ? Optional.empty()
+                : Optional.ofNullable(branches().byName().get(fold(name))).map(BranchEntry::branch);
+    }
+
+    public Optional<ProductDocument> findProductById(String branchId, String productId) {
+        return Optional.ofNullable(branches().byId().get(branchId))
+                .map(BranchEntry::products)
+                .map(products -> products.byId().get(productId));
+    }
+
+    /**
+     * Busca un producto de la sucursal por nombre, sin distinguir mayúsculas.
+     */
+    public Optional<ProductDocument> findProductByName(String branchId, String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(branches().byId().get(branchId))
+                .map(BranchEntry::products)
+                .map(products -> products.byName().get(fold(name)));
+    }
+
+    private Branches branches() {
+        Branches built = branches;
+        if (built == null) {
+            Map<String, BranchEntry> byId = new HashMap<>();
+            Map<String, BranchEntry> byName = new HashMap<>();
+            for (BranchDocument branch : orEmpty(document.getBranches())) {
+                BranchEntry entry = new BranchEntry(branch);
+                if (branch.getBranchId() != null) {
+                    byId.putIfAbsent(branch.getBranchId(), entry);
+                }
+                if (branch.getName() != null) {
+                    byName.putIfAbsent(fold(branch.getName()), entry);
+                }
+            }
+            built = new Branches(byId, byName);
+            branches = built;
+        }
+        return built;
+    }
+
+    private static <T> List<T> orEmpty(List<T> items) {
+        return items == null ? List.of() : items;
+    }
+
+    // Misma equivalencia que String.equalsIgnoreCase, carácter a carácter
+    private static String fold(String value) {
+        StringBuilder folded = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            folded.append(Character.toLowerCase(Character.toUpperCase(value.charAt(i))));
+        }
+        return folded.toString();
+    }
+
+    private record Branches(Map<String, BranchEntry> byId, Map<String, BranchEntry> byName) {
+    }
+
+    private record Products(Map<String, ProductDocument> byId, Map<String, ProductDocument> byName) {
+    }
+
+    private static final class BranchEntry {
+
+        private final BranchDocument branch;
+        private volatile Products products;
+
+        private BranchEntry(BranchDocument branch) {
+            this.branch = branch;
+        }
+
+        private BranchDocument branch() {
+            return branch;
+        }
+
+        private Products products() {
+            Products built = products;
+            if (built == null) {
+                Map<String, ProductDocument> byId = new HashMap<>();
+                Map<String, ProductDocument> byName = new HashMap<>();
+                for (ProductDocument product : orEmpty(branch.getProducts())) {
+                    if (product.getProductId() != null) {
+                        byId.putIfAbsent(product.getProductId(), product);
+                    }
+                    if (product.getName() != null) {
+                        byName.putIfAbsent(fold(product.getName()), product);
+                    }
+                }
+                built = new Products(byId, byName);
+                products = built;
+            }
+            return built;
+        }
+    }
+}
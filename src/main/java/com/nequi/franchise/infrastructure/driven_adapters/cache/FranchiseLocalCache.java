@@ -0,0 +1,203 @@
+package com.nequi.franchise.infrastructure.driven_adapters.cache;
+
+import com.nequi.franchise.infrastructure.driven_adapters.mongo_repository.FranchiseDocument;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Caché local (por nodo) y acotada de documentos de franquicia, en dos niveles:
+ * <ul>
+ *     <li>un nivel de objetos en el heap, pequeño y LRU, para las franquicias más usadas;</li>
+ *     <li>un nivel serializado fuera del heap ({@link OffHeapFranchiseStore}) que recibe las
+ *     entradas expulsadas del primero y las devuelve al heap cuando se vuelven a leer.</li>
+ * </ul>
+ * Las invalidaciones llegan desde las mutaciones locales y desde el listener de
+ * change streams, que propaga las escrituras hechas en otros nodos, y afectan a ambos niveles.
+ * Sin el listener, las escrituras de otros nodos solo se ven cuando la entrada vence: cada
+ * entrada expira {@code franchise.cache.ttl} después de leerse de la base de datos, también
+ * si pasó por el nivel fuera del heap.
+ */
+@Slf4j
+@Component
+public class FranchiseLocalCache {
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final LongSupplier ticker;
+    private final Map<String, Entry> entries;
+    private final OffHeapFranchiseStore offHeapStore;
+    private final AtomicLong epoch = new AtomicLong();
+    // Entrada expulsada por el último put; solo se accede bajo el lock de entries
+    private Entry evicted;
+
+    @Autowired
+    public FranchiseLocalCache(@Value("${franchise.cache.enabled:true}") boolean enabled,
+                               @Value("${franchise.cache.max-entries:100}") int maxEntries,
+                               @Value("${franchise.cache.ttl:30s}") Duration ttl,
+                               OffHeapFranchiseStore offHeapStore) {
+        this(enabled, maxEntries, ttl, offHeapStore, System::nanoTime);
+    }
+
+    FranchiseLocalCache(boolean enabled, int maxEntries, Duration ttl, OffHeapFranchiseStore offHeapStore, LongSupplier ticker) {
+        this.enabled = enabled && maxEntries > 0;
+        // Cero o negativo: sin vencimiento, solo para despliegues con el listener de change streams
+        this.ttlNanos = ttl.isNegative() ? 0 : ttl.toNanos();
+        this.ticker = ticker;
+        this.offHeapStore = offHeapStore;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > maxEntries) {
+                    evicted = eldest.getValue();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public Optional<FranchiseDocument> get(String franchiseId) {
+        return entry(franchiseId).map(Entry::document);
+    }
+
+    /**
+     * Índice por ID y por nombre del documento en caché; es el mismo para todas las lecturas de la entrada.
+     */
+    public Optional<FranchiseDocumentIndex> getIndex(String franchiseId) {
+        return entry(franchiseId).map(Entry::index);
+    }
+
+    private Optional<Entry> entry(String franchiseId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        long now = ticker.getAsLong();
+        synchronized (entries) {
+            Entry entry = entries.get(franchiseId);
+            if (entry != null && !isExpired(entry.loadedAt(), now)) {
+                return Optional.of(entry);
+            }
+            if (entry != null) {
+                entries.remove(franchiseId);
+                offHeapStore.remove(franchiseId);
+                return Optional.empty();
+            }
+        }
+        long expectedEpoch = epoch.get();
+        // La deserialización ocurre fuera del lock; la promoción al heap respeta la época
+        Optional<OffHeapFranchiseStore.Entry> offHeap = offHeapStore.get(franchiseId);
+        if (offHeap.isEmpty()) {
+            return Optional.empty();
+        }
+        if (isExpired(offHeap.get().loadedAt(), now)) {
+            offHeapStore.remove(franchiseId);
+            return Optional.empty();
+        }
+        // La promoción conserva el instante de lectura original: pasar por el otro nivel no renueva el vencimiento
+        Entry promoted = new Entry(offHeap.get().document(), offHeap.get().loadedAt());
+        store(promoted, expectedEpoch);
+        return Optional.of(promoted);
+    }
+
+    /**
+     * Época actual de invalidaciones. Se captura antes de leer de la base de datos
+     * para no guardar un documento que quedó obsoleto durante la lectura.
+     */
+    public long epoch() {
+        return epoch.get();
+    }
+
+    /**
+     * Guarda el documento solo si no hubo invalidaciones desde {@code expectedEpoch}.
+     * Si el nivel del heap está lleno, la entrada menos usada baja al nivel fuera del heap.
+     */
+    public void putIfUnchanged(FranchiseDocument document, long expectedEpoch) {
+        if (!enabled || document.getId() == null) {
+            return;
+        }
+        store(new Entry(document, ticker.getAsLong()), expectedEpoch);
+    }
+
+    private void store(Entry entry, long expectedEpoch) {
+        Entry demoted;
+        synchronized (entries) {
+            if (epoch.get() != expectedEpoch) {
+                return;
+            }
+            entries.put(entry.document().getId(), entry);
+            demoted = evicted;
+            evicted = null;
+        }
+        if (demoted != null) {
+            demote(demoted, expectedEpoch);
+        }
+    }
+
+    public void invalidate(String franchiseId) {
+        synchronized (entries) {
+            epoch.incrementAndGet();
+            entries.remove(franchiseId);
+            offHeapStore.remove(franchiseId);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            epoch.incrementAndGet();
+            entries.clear();
+            offHeapStore.clear();
+        }
+        log.debug("Caché local de franquicias vaciada");
+    }
+
+    /**
+     * Cantidad de entradas en el nivel del heap.
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private boolean isExpired(long loadedAt, long now) {
+        return ttlNanos > 0 && now - loadedAt >= ttlNanos;
+    }
+
+    private void demote(Entry entry, long expectedEpoch) {
+        FranchiseDocument document = entry.document();
+        // Los niveles son inclusivos: si los bytes ya están fuera del heap no se reserializa
+        if (!offHeapStore.isEnabled() || offHeapStore.contains(document.getId())
+                || isExpired(entry.loadedAt(), ticker.getAsLong())) {
+            return;
+        }
+        byte[] serialized;
+        try {
+            serialized = offHeapStore.serialize(document);
+        } catch (UncheckedIOException e) {
+            log.warn("No se pudo bajar la franquicia {} al nivel fuera del heap: {}", document.getId(), e.getMessage());
+            return;
+        }
+        synchronized (entries) {
+            if (epoch.get() == expectedEpoch) {
+                offHeapStore.put(document.getId(), serialized, entry.loadedAt());
+            }
+        }
+    }
+
+    private record Entry(FranchiseDocument document, long loadedAt, FranchiseDocumentIndex index) {
+
+        private Entry(FranchiseDocument document, long loadedAt) {
+            this(document, loadedAt, new FranchiseDocumentIndex(document));
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.nequi.franchise.infrastructure.driven_adapters.cache;
+
+import com.nequi.franchise.domain.model.franchise.BranchProductResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Caché de resultados de mayor stock por sucursal, indexada por franquicia y
+ * estampada con la versión del documento con la que se calculó. Una entrada solo
+ * se usa si la versión actual del documento coincide.
+ */
+@Component
+public class MaxStockResultCache {
+    private static final String METRIC_REQUESTS = "franchise.cache.max-stock.requests";
+
+    private final Map<String, Entry> entries;
+    private final Counter hits;
+    private final Counter misses;
+
+    public MaxStockResultCache(@Value("${franchise.cache.max-stock.max-entries:1000}") int maxEntries,
+                               MeterRegistry meterRegistry) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.hits = Counter.builder(METRIC_REQUESTS).tag("result", "hit")
+                .description("Consultas de mayor stock respondidas desde la caché")
+                .register(meterRegistry);
+        this.misses = Counter.builder(METRIC_REQUESTS).tag("result", "miss")
+                .description("Consultas de mayor stock que requirieron recalcular")
+                .register(meterRegistry);
+        Gauge.builder("franchise.cache.max-stock.hit-ratio", this, MaxStockResultCache::hitRatio)
+                .description("Proporción de aciertos de la caché de mayor stock")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Retorna el resultado cacheado si fue calculado sobre la versión indicada.
+     */
+    public Optional<List<BranchProductResult>> get(String franchiseId, long version) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(franchiseId);
+        }
+        if (entry != null && entry.version() == version) {
+            hits.increment();
+            return Optional.of(entry.results());
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    public void put(String franchiseId, long version, List<BranchProductResult> results) {
+        synchronized (entries) {
+            Entry current = entries.get(franchiseId);
+            // Nunca reemplazar un resultado más reciente por uno calculado sobre una versión anterior
+            if (current == null || current.version() <= version) {
+                entries.put(franchiseId, new Entry(version, List.copyOf(results)));
+            }
+        }
+    }
+
+    public void invalidate(String franchiseId) {
+        synchronized (entries) {
+            entries.remove(franchiseId);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0.0 : hits.count() / total;
+    }
+
+    private record Entry(long version, List<BranchProductResult> results) {
+    }
+}
@@ -0,0 +1,184 @@
+package com.nequi.franchise.infrastructure.driven_adapters.cache;
+
+import com.nequi.franchise.infrastructure.driven_adapters.mongo_repository.FranchiseDocument;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Pre-chequeo de existencia de nombres de franquicia y de sucursal (por franquicia).
+ * Si el filtro responde "definitivamente ausente" se omite la lectura de colisión en MongoDB.
+ * <p>
+ * Mientras no se haya completado una reconstrucción el filtro no se considera confiable y
+ * siempre responde "puede existir", delegando en la base de datos. Deja de ser confiable cada
+ * vez que el change stream se corta o pierde su resume token (pudo perderse un nombre creado en
+ * otro nodo) y vuelve a serlo cuando termina la reconstrucción iniciada después.
+ * Los nombres se normalizan de forma más laxa que las comparaciones reales (sin espacios
+ * extremos y sin distinguir mayúsculas), por lo que nunca produce falsos negativos.
+ * <p>
+ * El filtro solo ve los nombres escritos por este nodo y los que le llegan por el listener de
+ * change streams. Sin el listener, un nombre creado en otra réplica quedaría "definitivamente
+ * ausente" aquí, así que el filtro solo se activa si {@code franchise.cache.change-stream.enabled}
+ * también lo está.
+ */
+@Slf4j
+@Component
+public class NameBloomFilter {
+    private static final String METRIC_PREFIX = "franchise.name-filter";
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final boolean enabled;
+    private final ScalableBloomFilter franchiseNames;
+    private final ScalableBloomFilter branchNames;
+    private final Counter definitelyAbsent;
+    private final Counter mightExist;
+    private final Counter falsePositives;
+    private volatile boolean ready;
+    private long rebuild;
+
+    public NameBloomFilter(@Value("${franchise.name-filter.enabled:false}") boolean enabled,
+                           @Value("${franchise.cache.change-stream.enabled:false}") boolean changeStreamEnabled,
+                           @Value("${franchise.name-filter.initial-capacity:10000}") long initialCapacity,
+                           @Value("${franchise.name-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                           MeterRegistry meterRegistry) {
+        if (enabled && !changeStreamEnabled) {
+            log.warn("Filtro de nombres deshabilitado: requiere franchise.cache.change-stream.enabled=true para ver los nombres creados en otros nodos");
+        }
+        this.enabled = enabled && changeStreamEnabled;
+        this.franchiseNames = new ScalableBloomFilter(initialCapacity, falsePositiveRate);
+        this.branchNames = new ScalableBloomFilter(initialCapacity, falsePositiveRate);
+        this.definitelyAbsent = Counter.builder(METRIC_PREFIX + ".checks").tag("result", "absent")
+                .description("Chequeos resueltos por el filtro sin leer la base de datos")
+                .register(meterRegistry);
+        this.mightExist = Counter.builder(METRIC_PREFIX + ".checks").tag("result", "maybe")
+                .description("Chequeos que requirieron leer la base de datos")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder(METRIC_PREFIX + ".false-positives")
+                .description("Chequeos en los que el filtro respondió 'puede existir' y el nombre no existía")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".false-positive-rate", this, NameBloomFilter::observedFalsePositiveRate)
+                .description("Tasa de falsos positivos observada")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".expected-false-positive-rate", this, NameBloomFilter::expectedFalsePositiveRate)
+                .description("Tasa de falsos positivos estimada por la ocupación del filtro")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Deja de confiar en el filtro e inicia una reconstrucción; retorna su número, que debe
+     * pasarse a {@link #markReady(long)} al terminar el recorrido de la colección.
+     */
+    public synchronized long startRebuild() {
+        ready = false;
+        return ++rebuild;
+    }
+
+    /**
+     * Deja de confiar en el filtro hasta la próxima reconstrucción; la que esté en curso ya no
+     * lo marcará como confiable.
+     */
+    public synchronized void markNotReady() {
+        if (ready) {
+            log.info("Filtro de nombres no confiable hasta la próxima reconstrucción");
+        }
+        ready = false;
+        rebuild++;
+    }
+
+    /**
+     * Marca el filtro como confiable si {@code completedRebuild} es la última reconstrucción iniciada.
+     */
+    public synchronized void markReady(long completedRebuild) {
+        if (completedRebuild != rebuild) {
+            return;
+        }
+        ready = true;
+        log.info("Filtro de nombres listo: franquicias≈{}, sucursales≈{}",
+                franchiseNames.approximateElementCount(), branchNames.approximateElementCount());
+    }
+
+    public void addFranchiseName(String name) {
+        if (enabled && name != null) {
+            franchiseNames.add(normalize(name));
+        }
+    }
+
+    public void addBranchName(String franchiseId, String branchName) {
+        if (enabled && franchiseId != null && branchName != null) {
+            branchNames.add(branchKey(franchiseId, branchName));
+        }
+    }
+
+    /**
+     * Registra el nombre de la franquicia y los de todas sus sucursales.
+     */
+    public void addNamesOf(FranchiseDocument document) {
+        addFranchiseName(document.getName());
+        Optional.ofNullable(document.getBranches()).ifPresent(branches ->
+                branches.forEach(branch -> addBranchName(document.getId(), branch.getName())));
+    }
+
+    public boolean mightContainFranchiseName(String name) {
+        return check(() -> franchiseNames.mightContain(normalize(name)));
+    }
+
+    public boolean mightContainBranchName(String franchiseId, String branchName) {
+        return check(() -> branchNames.mightContain(branchKey(franchiseId, branchName)));
+    }
+
+    /**
+     * Registra que un "puede existir" resultó no existir al consultar la base de datos.
+     */
+    public void recordFalsePositive() {
+        if (enabled && ready) {
+            falsePositives.increment();
+        }
+    }
+
+    public double observedFalsePositiveRate() {
+        // FP / (FP + TN): de todos los nombres ausentes, cuántos no descartó el filtro
+        double negatives = falsePositives.count() + definitelyAbsent.count();
+        return negatives == 0 ? 0.0 : falsePositives.count() / negatives;
+    }
+
+    public double expectedFalsePositiveRate() {
+        return Math.max(franchiseNames.expectedFalsePositiveRate(), branchNames.expectedFalsePositiveRate());
+    }
+
+    static String normalize(String name) {
+        String trimmed = name.trim();
+        StringBuilder normalized = new StringBuilder(trimmed.length());
+        for (int i = 0; i < trimmed.length(); i++) {
+            // Misma equivalencia que String.equalsIgnoreCase, carácter a carácter
+            normalized.append(Character.toLowerCase(Character.toUpperCase(trimmed.charAt(i))));
+        }
+        return normalized.toString();
+    }
+
+    private static String branchKey(String franchiseId, String branchName) {
+        return franchiseId + KEY_SEPARATOR + normalize(branchName);
+    }
+
+    private boolean check(BooleanSupplier filter) {
+        if (!enabled || !ready) {
+            return true;
+        }
+        boolean maybe = filter.getAsBoolean();
+        (maybe ? mightExist : definitelyAbsent).increment();
+        return maybe;
+    }
+}
@@ -0,0 +1,120 @@
+package com.nequi.franchise.infrastructure.driven_adapters.cache;
+
+import com.nequi.franchise.infrastructure.driven_adapters.mongo_repository.FranchiseDocument;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Deduplicador de nombres de franquicia, sucursal y producto: los nombres iguales que llegan
+ * de la base de datos o de la caché fuera del heap se reemplazan por una única instancia.
+ * Se aplica una sola vez por documento, donde se decodifica: {@code FranchiseNameInterning}
+ * para lo leído de MongoDB y {@link OffHeapFranchiseStore} para lo leído de memoria directa.
+ * <p>
+ * Es una tabla de acceso directo de tamaño fijo con referencias débiles: cada nombre cae en
+ * una ranura según su hash y una colisión simplemente reemplaza la ranura. Así la memoria del
+ * interner es acotada, no impide que el recolector libere nombres que ya nadie usa y no
+ * requiere locks (a diferencia de {@link String#intern()}, que no es acotado).
+ */
+@Component
+public class NameInterner {
+    private static final String METRIC_PREFIX = "franchise.names.interner";
+    // Cabecera de String (~24 bytes) más cabecera del arreglo de bytes (~16 bytes)
+    private static final int STRING_OVERHEAD_BYTES = 40;
+
+    private final boolean enabled;
+    private final AtomicReferenceArray<WeakReference<String>> slots;
+    private final int mask;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter bytesDeduplicated;
+
+    public NameInterner(@Value("${franchise.names.interner.enabled:true}") boolean enabled,
+                        @Value("${franchise.names.interner.slots:65536}") int requestedSlots,
+                        MeterRegistry meterRegistry) {
+        int size = Integer.highestOneBit(Math.max(2, Math.min(requestedSlots, 1 << 24)) * 2 - 1);
+        this.enabled = enabled;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.hits = Counter.builder(METRIC_PREFIX + ".lookups").tag("result", "hit")
+                .description("Nombres reemplazados por una instancia ya existente")
+                .register(meterRegistry);
+        this.misses = Counter.builder(METRIC_PREFIX + ".lookups").tag("result", "miss")
+                .description("Nombres registrados como nueva instancia canónica")
+                .register(meterRegistry);
+        // Acumulado de copias descartadas, no memoria ahorrada en este momento: una copia solo se libera
+        // si nada más la retiene, y el mismo nombre se cuenta otra vez en cada lectura del documento
+        this.bytesDeduplicated = Counter.builder(METRIC_PREFIX + ".bytes-deduplicated")
+                .description("Bytes estimados de las copias de nombres reemplazadas por la instancia canónica, acumulados desde el arranque")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Retorna la instancia canónica de {@code name}.
+     */
+    public String intern(String name) {
+        if (!enabled || name == null) {
+            return name;
+        }
+        int slot = spread(name.hashCode()) & mask;
+        WeakReference<String> reference = slots.get(slot);
+        String canonical = reference != null ? reference.get() : null;
+        if (canonical != null && canonical.equals(name)) {
+            hits.increment();
+            if (canonical != name) {
+                bytesDeduplicated.increment(retainedBytes(name));
+            }
+            return canonical;
+        }
+        slots.set(slot, new WeakReference<>(name));
+        misses.increment();
+        return name;
+    }
+
+    /**
+     * Reemplaza en el documento los nombres de la franquicia, sus sucursales y sus productos.
+     */
+    public FranchiseDocument internNames(FranchiseDocument document) {
+        if (!enabled) {
+            return document;
+        }
+        document.setName(intern(document.getName()));
+        if (document.getBranches() != null) {
+            for (FranchiseDocument.BranchDocument branch : document.getBranches()) {
+                branch.setName(intern(branch.getName()));
+                if (branch.getProducts() != null) {
+                    for (FranchiseDocument.ProductDocument product : branch.getProducts()) {
+                        product.setName(intern(product.getName()));
+                    }
+                }
+            }
+        }
+        return document;
+    }
+
+    public double bytesDeduplicated() {
+        return bytesDeduplicated.count();
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    // Estimación con compact strings: 1 byte por carácter Latin-1, 2 si hay alguno fuera de ese rango
+    private static long retainedBytes(String name) {
+        int bytesPerChar = 1;
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) > 0xFF) {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+        long raw = STRING_OVERHEAD_BYTES + (long) name.length() * bytesPerChar;
+        return (raw + 7) & ~7L;
+    }
+}
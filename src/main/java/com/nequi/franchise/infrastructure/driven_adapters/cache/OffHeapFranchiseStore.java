@@ -0,0 +1,240 @@
+package com.nequi.franchise.infrastructure.driven_adapters.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.nequi.franchise.infrastructure.driven_adapters.mongo_repository.FranchiseDocument;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+/**
+ * Segundo nivel de la caché de franquicias: guarda los documentos serializados en CBOR
+ * dentro de memoria directa (fuera del heap), con un presupuesto de bytes y expulsión LRU.
+ * <p>
+ * Toda la memoria del presupuesto se reserva al crear el store, en segmentos directos de hasta
+ * 1 GiB divididos en bloques de tamaño fijo. Cada entrada ocupa los bloques que necesita (no
+ * contiguos) y los devuelve a la lista libre al expulsarse o invalidarse, así que la memoria
+ * directa usada nunca pasa del presupuesto ni depende de que el recolector libere buffers.
+ * El heap solo retiene el índice de claves y los números de bloque de cada entrada, por lo que
+ * el recolector no recorre los grafos de objetos de franquicias grandes. Los nombres de cada
+ * documento leído se deduplican con {@link NameInterner}, igual que los que llegan de MongoDB.
+ * <p>
+ * Está deshabilitado por defecto ({@code franchise.cache.off-heap.max-bytes=0}): acota el heap
+ * retenido, pero cada lectura deserializa el documento completo, lo que genera más basura y más
+ * trabajo de GC que servirlo desde el heap, y todas las lecturas y escrituras comparten un lock.
+ */
+@Slf4j
+@Component
+public class OffHeapFranchiseStore {
+    static final int DEFAULT_BLOCK_SIZE = 4096;
+    private static final int MAX_SEGMENT_BYTES = 1 << 30;
+
+    private final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+    private final UnaryOperator<FranchiseDocument> afterRead;
+    private final int blockSize;
+    private final int blocksPerSegment;
+    private final ByteBuffer[] segments;
+    private final int[] freeBlocks;
+    private int freeCount;
+    private final Map<String, Slot> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    @Autowired
+    public OffHeapFranchiseStore(@Value("${franchise.cache.off-heap.max-bytes:0}") long maxBytes,
+                                 NameInterner nameInterner,
+                                 MeterRegistry meterRegistry) {
+        this(maxBytes, DEFAULT_BLOCK_SIZE, nameInterner::internNames, meterRegistry);
+    }
+
+    /**
+     * Sin deduplicación de nombres.
+     */
+    public OffHeapFranchiseStore(long maxBytes, MeterRegistry meterRegistry) {
+        this(maxBytes, DEFAULT_BLOCK_SIZE, UnaryOperator.identity(), meterRegistry);
+    }
+
+    OffHeapFranchiseStore(long maxBytes, int blockSize, MeterRegistry meterRegistry) {
+        this(maxBytes, blockSize, UnaryOperator.identity(), meterRegistry);
+    }
+
+    private OffHeapFranchiseStore(long maxBytes, int blockSize, UnaryOperator<FranchiseDocument> afterRead,
+                                  MeterRegistry meterRegistry) {
+        this.afterRead = afterRead;
+        this.blockSize = blockSize;
+        this.blocksPerSegment = MAX_SEGMENT_BYTES / blockSize;
+        int totalBlocks = (int) Math.min(Integer.MAX_VALUE, Math.max(0, maxBytes) / blockSize);
+        this.segments = new ByteBuffer[(totalBlocks + blocksPerSegment - 1) / blocksPerSegment];
+        for (int s = 0; s < segments.length; s++) {
+            int blocks = Math.min(blocksPerSegment, totalBlocks - s * blocksPerSegment);
+            segments[s] = ByteBuffer.allocateDirect(blocks * blockSize);
+        }
+        this.freeBlocks = new int[totalBlocks];
+        for (int block = 0; block < totalBlocks; block++) {
+            // Se entregan en orden ascendente: el último de la pila es el bloque 0
+            freeBlocks[block] = totalBlocks - 1 - block;
+        }
+        this.freeCount = totalBlocks;
+        if (totalBlocks > 0) {
+            log.info("Caché fuera del heap: {} bloques de {} bytes reservados en {} segmento(s)", totalBlocks, blockSize, segments.length);
+        }
+        Gauge.builder("franchise.cache.off-heap.bytes", this, OffHeapFranchiseStore::usedBytes)
+                .description("Bytes de memoria directa ocupados por la caché de franquicias")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("franchise.cache.off-heap.reserved", this, OffHeapFranchiseStore::capacityBytes)
+                .description("Bytes de memoria directa reservados para la caché de franquicias")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("franchise.cache.off-heap.entries", this, OffHeapFranchiseStore::size)
+                .description("Franquicias almacenadas fuera del heap")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return freeBlocks.length > 0;
+    }
+
+    public byte[] serialize(FranchiseDocument document) {
+        try {
+            return cborMapper.writeValueAsBytes(document);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No fue posible serializar la franquicia " + document.getId(), e);
+        }
+    }
+
+    /**
+     * Documento guardado junto con el instante (según el reloj de quien lo guardó) en que se leyó
+     * de la base de datos, para que la caché aplique su vencimiento.
+     */
+    public Optional<Entry> get(String franchiseId) {
+        byte[] serialized;
+        long loadedAt;
+        synchronized (entries) {
+            Slot slot = entries.get(franchiseId);
+            if (slot == null) {
+                return Optional.empty();
+            }
+            // Se copia bajo el lock: al liberarse, los bloques pueden reutilizarse de inmediato
+            serialized = read(slot);
+            loadedAt = slot.loadedAt();
+        }
+        try {
+            return Optional.of(new Entry(afterRead.apply(cborMapper.readValue(serialized, FranchiseDocument.class)), loadedAt));
+        } catch (IOException e) {
+            log.warn("Entrada fuera del heap ilegible para franquicia {}, se descarta: {}", franchiseId, e.getMessage());
+            remove(franchiseId);
+            return Optional.empty();
+        }
+    }
+
+    public boolean contains(String franchiseId) {
+        synchronized (entries) {
+            return entries.containsKey(franchiseId);
+        }
+    }
+
+    /**
+     * Copia los bytes a bloques libres, expulsando las entradas menos usadas hasta que quepan.
+     * Las entradas más grandes que el presupuesto completo no se almacenan.
+     */
+    public void put(String franchiseId, byte[] serialized, long loadedAt) {
+        int needed = Math.max(1, (serialized.length + blockSize - 1) / blockSize);
+        if (!isEnabled() || needed > freeBlocks.length) {
+            return;
+        }
+        synchronized (entries) {
+            Slot previous = entries.remove(franchiseId);
+            if (previous != null) {
+                release(previous);
+            }
+            Iterator<Slot> eldest = entries.values().iterator();
+            while (freeCount < needed && eldest.hasNext()) {
+                release(eldest.next());
+                eldest.remove();
+            }
+            int[] blocks = new int[needed];
+            for (int i = 0; i < needed; i++) {
+                blocks[i] = freeBlocks[--freeCount];
+            }
+            Slot slot = new Slot(blocks, serialized.length, loadedAt);
+            write(slot, serialized);
+            entries.put(franchiseId, slot);
+        }
+    }
+
+    public void remove(String franchiseId) {
+        synchronized (entries) {
+            Slot removed = entries.remove(franchiseId);
+            if (removed != null) {
+                release(removed);
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.values().forEach(this::release);
+            entries.clear();
+        }
+    }
+
+    /**
+     * Bytes de los bloques ocupados, incluido el espacio sin usar del último bloque de cada entrada.
+     */
+    public long usedBytes() {
+        synchronized (entries) {
+            return (long) (freeBlocks.length - freeCount) * blockSize;
+        }
+    }
+
+    public long capacityBytes() {
+        return (long) freeBlocks.length * blockSize;
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void release(Slot slot) {
+        for (int block : slot.blocks()) {
+            freeBlocks[freeCount++] = block;
+        }
+    }
+
+    private void write(Slot slot, byte[] source) {
+        for (int i = 0, offset = 0; offset < source.length; i++, offset += blockSize) {
+            int block = slot.blocks()[i];
+            segments[block / blocksPerSegment].put((block % blocksPerSegment) * blockSize, source, offset,
+                    Math.min(blockSize, source.length - offset));
+        }
+    }
+
+    private byte[] read(Slot slot) {
+        byte[] target = new byte[slot.length()];
+        for (int i = 0, offset = 0; offset < target.length; i++, offset += blockSize) {
+            int block = slot.blocks()[i];
+            segments[block / blocksPerSegment].get((block % blocksPerSegment) * blockSize, target, offset,
+                    Math.min(blockSize, target.length - offset));
+        }
+        return target;
+    }
+
+    public record Entry(FranchiseDocument document, long loadedAt) {
+    }
+
+    private record Slot(int[] blocks, int length, long loadedAt) {
+    }
+}
@@ -0,0 +1,118 @@
+package com.nequi.franchise.infrastructure.driven_adapters.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * Índices de prefijos de nombres de producto por franquicia ({@link ProductPrefixIndex}),
+ * acotados con LRU y estampados con la versión del documento que reflejan.
+ * <p>
+ * Se construyen de forma perezosa en la primera búsqueda y luego se mantienen de forma
+ * incremental con cada mutación local: el cambio se aplica solo si el índice estaba en la
+ * versión inmediatamente anterior; ante cualquier hueco se descarta y se reconstruye después.
+ * Las escrituras de otros nodos llegan como invalidaciones desde el change stream.
+ */
+@Component
+public class ProductNameIndex {
+
+    private final Map<String, Entry> entries;
+    private final AtomicLong epoch = new AtomicLong();
+
+    public ProductNameIndex(@Value("${franchise.product-index.max-entries:1000}") int maxEntries,
+                            MeterRegistry meterRegistry) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        Gauge.builder("franchise.product-index.franchises", this, ProductNameIndex::size)
+                .description("Franquicias con índice de prefijos de productos en memoria")
+                .register(meterRegistry);
+    }
+
+    public Optional<ProductPrefixIndex> get(String franchiseId) {
+        synchronized (entries) {
+            return Optional.ofNullable(entries.get(franchiseId)).map(Entry::index);
+        }
+    }
+
+    /**
+     * Índice de la franquicia solo si refleja al menos {@code minVersion}; uno anterior se ignora.
+     */
+    public Optional<ProductPrefixIndex> get(String franchiseId, long minVersion) {
+        synchronized (entries) {
+            return Optional.ofNullable(entries.get(franchiseId))
+                    .filter(entry -> entry.version() >= minVersion)
+                    .map(Entry::index);
+        }
+    }
+
+    /**
+     * Época actual de invalidaciones; se captura antes de leer el documento a indexar.
+     */
+    public long epoch() {
+        return epoch.get();
+    }
+
+    /**
+     * Guarda un índice recién construido si no hubo invalidaciones desde {@code expectedEpoch}
+     * y no existe uno de una versión posterior.
+     */
+    public void putIfUnchanged(String franchiseId, long version, ProductPrefixIndex index, long expectedEpoch) {
+        synchronized (entries) {
+            Entry current = entries.get(franchiseId);
+            if (epoch.get() == expectedEpoch && (current == null || current.version() <= version)) {
+                entries.put(franchiseId, new Entry(version, index));
+            }
+        }
+    }
+
+    /**
+     * Aplica el cambio de una mutación que dejó el documento en {@code newVersion}.
+     */
+    public void apply(String franchiseId, long newVersion, UnaryOperator<ProductPrefixIndex> change) {
+        synchronized (entries) {
+            Entry current = entries.get(franchiseId);
+            if (current != null && current.version() == newVersion - 1) {
+                entries.put(franchiseId, new Entry(newVersion, change.apply(current.index())));
+            } else if (current == null || current.version() < newVersion) {
+                // Sin índice o con un hueco de versiones: se descarta, y la época impide que
+                // una construcción en curso guarde un documento anterior a esta mutación
+                epoch.incrementAndGet();
+                entries.remove(franchiseId);
+            }
+        }
+    }
+
+    public void invalidate(String franchiseId) {
+        synchronized (entries) {
+            epoch.incrementAndGet();
+            entries.remove(franchiseId);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            epoch.incrementAndGet();
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private record Entry(long version, ProductPrefixIndex index) {
+    }
+}
@@ -0,0 +1,145 @@
+package com.nequi.franchise.infrastructure.driven_adapters.cache;
+
+import com.nequi.franchise.domain.model.franchise.ProductSuggestion;
+import com.nequi.franchise.infrastructure.driven_adapters.mongo_repository.FranchiseDocument;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Índice de prefijos inmutable de los nombres de producto de una franquicia: un arreglo
+ * ordenado de nombres plegados (sin distinguir mayúsculas) con sus postings
+ * {@code (branchId, productId)} en un arreglo paralelo.
+ * <p>
+ * Una búsqueda es una búsqueda binaria del prefijo seguida de un recorrido contiguo, sin
+ * asignaciones más allá del resultado. Cada cambio produce una copia con el elemento
+ * insertado o retirado en su posición, así que los lectores nunca necesitan lock.
+ */
+public final class ProductPrefixIndex {
+    private static final Comparator<Posting> ORDER = Comparator.comparing(Posting::key)
+            .thenComparing(Posting::branchId, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(Posting::productId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final String[] keys;
+    private final Posting[] postings;
+
+    private ProductPrefixIndex(Posting[] postings) {
+        this.postings = postings;
+        this.keys = new String[postings.length];
+        for (int i = 0; i < postings.length; i++) {
+            keys[i] = postings[i].key();
+        }
+    }
+
+    public static ProductPrefixIndex of(FranchiseDocument document) {
+        List<Posting> all = new ArrayList<>();
+        if (document.getBranches() != null) {
+            for (FranchiseDocument.BranchDocument branch : document.getBranches()) {
+                collect(branch, all);
+            }
+        }
+        Posting[] sorted = all.toArray(Posting[]::new);
+        Arrays.sort(sorted, ORDER);
+        return new ProductPrefixIndex(sorted);
+    }
+
+    public ProductPrefixIndex withBranch(FranchiseDocument.BranchDocument branch) {
+        List<Posting> added = new ArrayList<>();
+        collect(branch, added);
+        ProductPrefixIndex result = this;
+        for (Posting posting : added) {
+            result = result.with(posting);
+        }
+        return result;
+    }
+
+    public ProductPrefixIndex withProduct(String branchId, String productId, String name) {
+        return name == null ? this : with(new Posting(fold(name), branchId, productId, name));
+    }
+
+    public ProductPrefixIndex withoutProduct(String branchId, String productId) {
+        for (int i = 0; i < postings.length; i++) {
+            if (Objects.equals(postings[i].productId(), productId) && Objects.equals(postings[i].branchId(), branchId)) {
+                Posting[] copy = new Posting[postings.length - 1];
+                System.arraycopy(postings, 0, copy, 0, i);
+                System.arraycopy(postings, i + 1, copy, i, postings.length - i - 1);
+                return new ProductPrefixIndex(copy);
+            }
+        }
+        return this;
+    }
+
+    public ProductPrefixIndex withRenamedProduct(String branchId, String productId, String newName) {
+        return withoutProduct(branchId, productId).withProduct(branchId, productId, newName);
+    }
+
+    /**
+     * Hasta {@code limit} productos cuyo nombre empieza por {@code prefix}, en orden alfabético.
+     */
+    public List<ProductSuggestion> search(String prefix, int limit) {
+        String folded = fold(prefix);
+        List<ProductSuggestion> results = new ArrayList<>(Math.min(limit, 16));
+        for (int i = lowerBound(folded); i < keys.length && results.size() < limit && keys[i].startsWith(folded); i++) {
+            Posting posting = postings[i];
+            results.add(new ProductSuggestion(posting.branchId(), posting.productId(), posting.name()));
+        }
+        return results;
+    }
+
+    public int size() {
+        return postings.length;
+    }
+
+    private ProductPrefixIndex with(Posting posting) {
+        int position = Arrays.binarySearch(postings, posting, ORDER);
+        if (position >= 0) {
+            return this;
+        }
+        int insertion = -position - 1;
+        Posting[] copy = new Posting[postings.length + 1];
+        System.arraycopy(postings, 0, copy, 0, insertion);
+        copy[insertion] = posting;
+        System.arraycopy(postings, insertion, copy, insertion + 1, postings.length - insertion);
+        return new ProductPrefixIndex(copy);
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle].compareTo(key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static void collect(FranchiseDocument.BranchDocument branch, List<Posting> target) {
+        if (branch.getProducts() == null) {
+            return;
+        }
+        for (FranchiseDocument.ProductDocument product : branch.getProducts()) {
+            if (product.getName() != null) {
+                target.add(new Posting(fold(product.getName()), branch.getBranchId(), product.getProductId(), product.getName()));
+            }
+        }
+    }
+
+    // Misma equivalencia que String.equalsIgnoreCase, carácter a carácter
+    private static String fold(String value) {
+        StringBuilder folded = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            folded.append(Character.toLowerCase(Character.toUpperCase(value.charAt(i))));
+        }
+        return folded.toString();
+    }
+
+    private record Posting(String key, String branchId, String productId, String name) {
+    }
+}
@@ -0,0 +1,159 @@
+package com.nequi.franchise.infrastructure.driven_adapters.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom escalable (Almeida et al., 2007): cuando la capa activa alcanza su
+ * capacidad se agrega otra con el doble de capacidad y la mitad de probabilidad de falso
+ * positivo, de modo que la probabilidad compuesta se mantiene acotada por la objetivo.
+ * <p>
+ * Seguro para uso concurrente: los bits se escriben con operaciones atómicas y las capas
+ * solo se agregan, nunca se modifican ni eliminan.
+ */
+public class ScalableBloomFilter {
+    private static final int GROWTH_FACTOR = 2;
+    private static final double TIGHTENING_RATIO = 0.5;
+    private static final double LN2 = Math.log(2);
+
+    private final List<Slice> slices = new CopyOnWriteArrayList<>();
+
+    public ScalableBloomFilter(long initialCapacity, double targetFalsePositiveRate) {
+        if (initialCapacity <= 0 || targetFalsePositiveRate <= 0 || targetFalsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Capacidad o tasa de falsos positivos inválida");
+        }
+        // La serie geométrica p0 * (1 + r + r^2 + ...) converge a la tasa objetivo
+        slices.add(new Slice(initialCapacity, targetFalsePositiveRate * (1 - TIGHTENING_RATIO)));
+    }
+
+    public void add(String value) {
+        long[] hashes = hash(value);
+        if (contains(hashes)) {
+            return;
+        }
+        activeSlice().add(hashes);
+    }
+
+    /**
+     * {@code false} significa que el valor nunca fue agregado; {@code true} que pudo haberlo sido.
+     */
+    public boolean mightContain(String value) {
+        return contains(hash(value));
+    }
+
+    public long approximateElementCount() {
+        return slices.stream().mapToLong(slice -> slice.count.get()).sum();
+    }
+
+    /**
+     * Probabilidad de falso positivo estimada con la ocupación actual de cada capa.
+     */
+    public double expectedFalsePositiveRate() {
+        double allNegative = 1.0;
+        for (Slice slice : slices) {
+            allNegative *= 1.0 - slice.currentFalsePositiveRate();
+        }
+        return 1.0 - allNegative;
+    }
+
+    public long bitSize() {
+        return slices.stream().mapToLong(slice -> slice.bitCount).sum();
+    }
+
+    private boolean contains(long[] hashes) {
+        for (Slice slice : slices) {
+            if (slice.mightContain(hashes)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Slice activeSlice() {
+        Slice last = slices.get(slices.size() - 1);
+        if (last.count.get() < last.capacity) {
+            return last;
+        }
+        synchronized (slices) {
+            last = slices.get(slices.size() - 1);
+            if (last.count.get() >= last.capacity) {
+                last = new Slice(last.capacity * GROWTH_FACTOR, last.falsePositiveRate * TIGHTENING_RATIO);
+                slices.add(last);
+            }
+            return last;
+        }
+    }
+
+    /**
+     * Dos hashes de 64 bits independientes (murmur3 fmix sobre los bytes UTF-8) para
+     * derivar los k índices por doble hashing.
+     */
+    private static long[] hash(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        long h1 = 0x9E3779B97F4A7C15L;
+        long h2 = 0xC2B2AE3D27D4EB4FL;
+        for (byte b : bytes) {
+            h1 = (h1 ^ b) * 0x100000001B3L;
+            h2 = (h2 + b) * 0xFF51AFD7ED558CCDL;
+        }
+        return new long[]{fmix(h1 ^ bytes.length), fmix(h2) | 1L};
+    }
+
+    private static long fmix(long k) {
+        k ^= k >>> 33;
+        k *= 0xFF51AFD7ED558CCDL;
+        k ^= k >>> 33;
+        k *= 0xC4CEB9FE1A85EC53L;
+        k ^= k >>> 33;
+        return k;
+    }
+
+    private static final class Slice {
+        private final long capacity;
+        private final double falsePositiveRate;
+        private final long bitCount;
+        private final int hashFunctions;
+        private final AtomicLongArray bits;
+        private final AtomicLong count = new AtomicLong();
+
+        private Slice(long capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (LN2 * LN2));
+            this.bitCount = Math.max(64, (optimalBits + 63) / 64 * 64);
+            this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / capacity * LN2));
+            this.bits = new AtomicLongArray(Math.toIntExact(bitCount / 64));
+        }
+
+        private void add(long[] hashes) {
+            for (int i = 0; i < hashFunctions; i++) {
+                long index = index(hashes, i);
+                long mask = 1L << (index & 63);
+                bits.accumulateAndGet((int) (index >>> 6), mask, (current, bit) -> current | bit);
+            }
+            count.incrementAndGet();
+        }
+
+        private boolean mightContain(long[] hashes) {
+            for (int i = 0; i < hashFunctions; i++) {
+                long index = index(hashes, i);
+                if ((bits.get((int) (index >>> 6)) & (1L << (index & 63))) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private long index(long[] hashes, int i) {
+            return Math.floorMod(hashes[0] + i * hashes[1], bitCount);
+        }
+
+        private double currentFalsePositiveRate() {
+            double filled = 1.0 - Math.exp(-(double) hashFunctions * count.get() / bitCount);
+            return Math.pow(filled, hashFunctions);
+        }
+    }
+}
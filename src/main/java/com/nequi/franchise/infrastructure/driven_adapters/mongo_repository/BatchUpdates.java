@@ -0,0 +1,170 @@
+package com.nequi.franchise.infrastructure.driven_adapters.mongo_repository;
+
+import com.nequi.franchise.domain.model.franchise.BatchPlan;
+import com.nequi.franchise.domain.model.franchise.Branch;
+import com.nequi.franchise.domain.model.franchise.Product;
+import com.nequi.franchise.infrastructure.driven_adapters.cache.ProductPrefixIndex;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/**
+ * Traduce un {@link BatchPlan} a una única actualización con pipeline sobre el documento.
+ * <p>
+ * Una actualización con operadores clásicos no admite rutas en conflicto (por ejemplo
+ * {@code $set} sobre un producto y {@code $push} sobre el arreglo que lo contiene), lo que obligaba
+ * a repartir el lote en varias sentencias que podían quedar aplicadas a medias. Con un pipeline,
+ * cada sucursal afectada se reescribe con una sola expresión, en este orden:
+ * <ol>
+ *     <li>nuevo nombre de la sucursal;</li>
+ *     <li>nombres y stocks de sus productos existentes ({@code $map} con {@code $mergeObjects});</li>
+ *     <li>productos eliminados ({@code $filter});</li>
+ *     <li>productos nuevos al final ({@code $concatArrays}).</li>
+ * </ol>
+ * Las sucursales nuevas, con sus productos ya incluidos, se agregan al final del arreglo y la
+ * versión se incrementa una sola vez. Todo ocurre en una escritura de un solo documento, así que
+ * el lote se aplica completo o no se aplica. Los valores del lote van envueltos en
+ * {@code $literal}: dentro de un pipeline, un nombre que empieza por {@code $} se leería como ruta.
+ */
+final class BatchUpdates {
+    private static final String VERSION = "version";
+
+    private BatchUpdates() {
+    }
+
+    static AggregationUpdate of(BatchPlan plan, FranchiseMapper mapper, MongoConverter converter) {
+        Object branches = changedBranches(plan, mapper, converter);
+        if (!plan.newBranches().isEmpty()) {
+            branches = new Document("$concatArrays", List.of(branches, literal(plan.newBranches().stream()
+                    .map(mapper::toBranchDocument)
+                    .map(converter::convertToMongoType)
+                    .toList())));
+        }
+        Document set = new Document("branches", branches)
+                .append(VERSION, new Document("$add", List.of(ifNull("$" + VERSION, 0L), 1L)));
+        AggregationOperation stage = context -> new Document("$set", set);
+        return AggregationUpdate.from(List.of(stage));
+    }
+
+    /**
+     * Cambio equivalente sobre el índice de nombres de producto, en el mismo orden que la actualización.
+     */
+    static UnaryOperator<ProductPrefixIndex> indexChange(BatchPlan plan, FranchiseMapper mapper) {
+        return index -> {
+            ProductPrefixIndex result = index;
+            for (Map.Entry<BatchPlan.ProductRef, String> rename : plan.productRenames().entrySet()) {
+                result = result.withRenamedProduct(rename.getKey().branchId(), rename.getKey().productId(), rename.getValue());
+            }
+            for (Map.Entry<String, Set<String>> removal : plan.removals().entrySet()) {
+                for (String productId : removal.getValue()) {
+                    result = result.withoutProduct(removal.getKey(), productId);
+                }
+            }
+            for (Map.Entry<String, List<Product>> added : plan.newProducts().entrySet()) {
+                for (Product product : added.getValue()) {
+                    result = result.withProduct(added.getKey(), product.getProductId(), product.getName());
+                }
+            }
+            for (Branch branch : plan.newBranches()) {
+                result = result.withBranch(mapper.toBranchDocument(branch));
+            }
+            return result;
+        };
+    }
+
+    // Las sucursales que el lote no toca se conservan tal cual
+    private static Object changedBranches(BatchPlan plan, FranchiseMapper mapper, MongoConverter converter) {
+        Set<String> branchIds = new LinkedHashSet<>(plan.branchRenames().keySet());
+        plan.productRenames().keySet().forEach(ref -> branchIds.add(ref.branchId()));
+        plan.stockUpdates().keySet().forEach(ref -> branchIds.add(ref.branchId()));
+        plan.removals().keySet().forEach(branchIds::add);
+        plan.newProducts().keySet().forEach(branchIds::add);
+        if (branchIds.isEmpty()) {
+            return ifNull("$branches", List.of());
+        }
+        List<Document> cases = new ArrayList<>(branchIds.size());
+        for (String branchId : branchIds) {
+            cases.add(new Document("case", equalsLiteral("$$branch.branchId", branchId))
+                    .append("then", changedBranch(plan, branchId, mapper, converter)));
+        }
+        return new Document("$map", new Document("input", ifNull("$branches", List.of()))
+                .append("as", "branch")
+                .append("in", new Document("$switch", new Document("branches", cases).append("default", "$$branch"))));
+    }
+
+    private static Document changedBranch(BatchPlan plan, String branchId, FranchiseMapper mapper, MongoConverter converter) {
+        Document fields = new Document();
+        String name = plan.branchRenames().get(branchId);
+        if (name != null) {
+            fields.append("name", literal(name));
+        }
+        Map<String, Document> productChanges = productChanges(plan, branchId);
+        Set<String> removed = plan.removals().getOrDefault(branchId, Set.of());
+        List<Product> added = plan.newProducts().getOrDefault(branchId, List.of());
+        if (!productChanges.isEmpty() || !removed.isEmpty() || !added.isEmpty()) {
+            Object products = ifNull("$$branch.products", List.of());
+            if (!productChanges.isEmpty()) {
+                products = changedProducts(products, productChanges);
+            }
+            if (!removed.isEmpty()) {
+                products = new Document("$filter", new Document("input", products)
+                        .append("as", "product")
+                        .append("cond", new Document("$not", List.of(
+                                new Document("$in", List.of("$$product.productId", literal(List.copyOf(removed))))))));
+            }
+            if (!added.isEmpty()) {
+                products = new Document("$concatArrays", List.of(products, literal(added.stream()
+                        .map(mapper::toProductDocument)
+                        .map(converter::convertToMongoType)
+                        .toList())));
+            }
+            fields.append("products", products);
+        }
+        return new Document("$mergeObjects", List.of("$$branch", fields));
+    }
+
+    private static Map<String, Document> productChanges(BatchPlan plan, String branchId) {
+        Map<String, Document> changes = new LinkedHashMap<>();
+        plan.productRenames().forEach((ref, name) -> {
+            if (ref.branchId().equals(branchId)) {
+                changes.computeIfAbsent(ref.productId(), id -> new Document()).append("name", literal(name));
+            }
+        });
+        plan.stockUpdates().forEach((ref, stock) -> {
+            if (ref.branchId().equals(branchId)) {
+                changes.computeIfAbsent(ref.productId(), id -> new Document()).append("stock", literal(stock));
+            }
+        });
+        return changes;
+    }
+
+    private static Document changedProducts(Object products, Map<String, Document> changes) {
+        List<Document> cases = new ArrayList<>(changes.size());
+        changes.forEach((productId, fields) -> cases.add(new Document("case", equalsLiteral("$$product.productId", productId))
+                .append("then", new Document("$mergeObjects", List.of("$$product", fields)))));
+        return new Document("$map", new Document("input", products)
+                .append("as", "product")
+                .append("in", new Document("$switch", new Document("branches", cases).append("default", "$$product"))));
+    }
+
+    private static Document equalsLiteral(String path, Object value) {
+        return new Document("$eq", List.of(path, literal(value)));
+    }
+
+    private static Document ifNull(String path, Object fallback) {
+        return new Document("$ifNull", List.of(path, fallback));
+    }
+
+    private static Document literal(Object value) {
+        return new Document("$literal", value);
+    }
+}
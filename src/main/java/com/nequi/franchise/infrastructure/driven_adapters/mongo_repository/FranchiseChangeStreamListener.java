@@ -0,0 +1,233 @@
+package com.nequi.franchise.infrastructure.driven_adapters.mongo_repository;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import com.nequi.franchise.infrastructure.driven_adapters.cache.FranchiseLocalCache;
+import com.nequi.franchise.infrastructure.driven_adapters.cache.MaxStockResultCache;
+import com.nequi.franchise.infrastructure.driven_adapters.cache.NameBloomFilter;
+import com.nequi.franchise.infrastructure.driven_adapters.cache.ProductNameIndex;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonTimestamp;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Escucha el change stream de la colección {@code franchises} y publica invalidaciones
+ * en la caché local, de modo que cada nodo se entere de las escrituras hechas en otros.
+ * También registra en el filtro de nombres los nombres creados o renombrados en otros nodos.
+ * Requiere que MongoDB corra como replica set (basta un replica set de un solo nodo).
+ * <p>
+ * Si el stream se interrumpe se vacía la caché completa y se reanuda desde el último
+ * resume token; si el token ya no existe en el oplog se reinicia el stream sin él. Un stream sin
+ * token arranca en el tiempo de operación actual del servidor y recién después se vacía la caché:
+ * lo escrito antes de ese instante lo cubre el vaciado y lo escrito después llega por el stream,
+ * así que ninguna entrada cargada durante el corte queda sin invalidar.
+ * <p>
+ * Del mismo modo, el filtro de nombres deja de ser confiable con cada corte o pérdida del token
+ * y se reconstruye cada vez que el stream se abre, una vez fijada su posición de inicio.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "franchise.cache.change-stream.enabled", havingValue = "true")
+public class FranchiseChangeStreamListener {
+    static final String COLLECTION = "franchises";
+
+    // Códigos del servidor que indican que el resume token ya no es utilizable
+    private static final Set<Integer> NON_RESUMABLE_CODES = Set.of(260, 280, 286);
+    private static final Set<OperationType> FLUSH_OPERATIONS = Set.of(
+            OperationType.INVALIDATE, OperationType.DROP, OperationType.DROP_DATABASE, OperationType.RENAME);
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final FranchiseLocalCache cache;
+    private final MaxStockResultCache maxStockCache;
+    private final NameBloomFilter nameFilter;
+    private final FranchiseNameFilterInitializer nameFilterInitializer;
+    private final ProductNameIndex productIndex;
+    private final Duration minBackoff;
+    private final Duration maxBackoff;
+    private final AtomicReference<BsonValue> resumeToken = new AtomicReference<>();
+    private Disposable subscription;
+
+    public FranchiseChangeStreamListener(ReactiveMongoTemplate mongoTemplate,
+                                         FranchiseLocalCache cache,
+                                         MaxStockResultCache maxStockCache,
+                                         NameBloomFilter nameFilter,
+                                         FranchiseNameFilterInitializer nameFilterInitializer,
+                                         ProductNameIndex productIndex,
+                                         @Value("${franchise.cache.change-stream.retry-min-backoff:1s}") Duration minBackoff,
+                                         @Value("${franchise.cache.change-stream.retry-max-backoff:30s}") Duration maxBackoff) {
+        this.mongoTemplate = mongoTemplate;
+        this.cache = cache;
+        this.maxStockCache = maxStockCache;
+        this.nameFilter = nameFilter;
+        this.nameFilterInitializer = nameFilterInitializer;
+        this.productIndex = productIndex;
+        this.minBackoff = minBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (subscription != null && !subscription.isDisposed()) {
+            return;
+        }
+        log.info("Iniciando change stream sobre la colección '{}'", COLLECTION);
+        subscription = Flux.defer(this::watch)
+                .doOnError(this::onStreamError)
+                .doOnComplete(this::onStreamCompleted)
+                // transientErrors: el backoff vuelve al mínimo cuando el stream entrega eventos otra vez
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, minBackoff).maxBackoff(maxBackoff).transientErrors(true))
+                .repeatWhen(completions -> completions.delayElements(minBackoff))
+                .subscribe(this::onEvent,
+                        error -> log.error("Change stream de franquicias terminado: {}", error.getMessage(), error));
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+            subscription = null;
+        }
+    }
+
+    BsonValue currentResumeToken() {
+        return resumeToken.get();
+    }
+
+    private Flux<ChangeStreamEvent<Document>> watch() {
+        BsonValue token = resumeToken.get();
+        if (token != null) {
+            log.debug("Reanudando change stream, resumeToken={}", token);
+            ChangeStreamOptions.ChangeStreamOptionsBuilder options = options().resumeAfter(token);
+            nameFilterInitializer.rebuild();
+            return changeStream(options);
+        }
+        return currentOperationTime()
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMapMany(operationTime -> {
+                    log.debug("Abriendo change stream sin resume token, desde operationTime={}", operationTime.orElse(null));
+                    ChangeStreamOptions.ChangeStreamOptionsBuilder options = options();
+                    operationTime.ifPresent(options::resumeAt);
+                    invalidateAll();
+                    nameFilterInitializer.rebuild();
+                    return changeStream(options);
+                });
+    }
+
+    private ChangeStreamOptions.ChangeStreamOptionsBuilder options() {
+        ChangeStreamOptions.ChangeStreamOptionsBuilder options = ChangeStreamOptions.builder();
+        if (nameFilter.isEnabled()) {
+            // El filtro de nombres necesita el documento completo para registrar nombres nuevos
+            options.fullDocumentLookup(FullDocument.UPDATE_LOOKUP);
+        }
+        return options;
+    }
+
+    private Flux<ChangeStreamEvent<Document>> changeStream(ChangeStreamOptions.ChangeStreamOptionsBuilder options) {
+        return mongoTemplate.changeStream(COLLECTION, options.build(), Document.class);
+    }
+
+    /**
+     * Tiempo de operación del servidor según la respuesta de {@code hello}; vacío si no lo informa.
+     */
+    private Mono<BsonTimestamp> currentOperationTime() {
+        return mongoTemplate.executeCommand(new Document("hello", 1))
+                .mapNotNull(reply -> reply.get("operationTime", BsonTimestamp.class));
+    }
+
+    void onEvent(ChangeStreamEvent<Document> event) {
+        OperationType operationType = event.getOperationType();
+        if (operationType != null && FLUSH_OPERATIONS.contains(operationType)) {
+            log.info("Change stream recibió '{}', se vacía la caché local", operationType);
+            invalidateAll();
+            nameFilter.markNotReady();
+            // Tras un invalidate el token no sirve para resumeAfter: se reinicia el stream
+            resumeToken.set(null);
+            return;
+        }
+
+        documentId(event).ifPresentOrElse(
+                this::invalidate,
+                this::invalidateAll
+        );
+        Optional.ofNullable(event.getBody())
+                .map(body -> mongoTemplate.getConverter().read(FranchiseDocument.class, body))
+                .ifPresent(nameFilter::addNamesOf);
+        Optional.ofNullable(event.getResumeToken()).ifPresent(resumeToken::set);
+    }
+
+    private void onStreamError(Throwable error) {
+        log.warn("Change stream interrumpido, se vacía la caché local: {}", error.getMessage());
+        invalidateAll();
+        // Durante el backoff pueden crearse nombres en otros nodos que el filtro no verá a tiempo
+        nameFilter.markNotReady();
+        if (isNonResumable(error)) {
+            log.warn("El resume token ya no es válido, el change stream se reinicia desde el momento actual");
+            resumeToken.set(null);
+        }
+    }
+
+    private void onStreamCompleted() {
+        log.warn("Change stream cerrado por el servidor, se vacía la caché local y se reabre");
+        invalidateAll();
+        nameFilter.markNotReady();
+    }
+
+    private void invalidate(String franchiseId) {
+        cache.invalidate(franchiseId);
+        maxStockCache.invalidate(franchiseId);
+        productIndex.invalidate(franchiseId);
+    }
+
+    private void invalidateAll() {
+        cache.invalidateAll();
+        maxStockCache.invalidateAll();
+        productIndex.invalidateAll();
+    }
+
+    private static Optional<String> documentId(ChangeStreamEvent<Document> event) {
+        return Optional.ofNullable(event.getRaw())
+                .map(raw -> raw.getDocumentKey())
+                .map(key -> key.get("_id"))
+                .map(FranchiseChangeStreamListener::idAsString);
+    }
+
+    private static String idAsString(BsonValue id) {
+        return switch (id.getBsonType()) {
+            case OBJECT_ID -> id.asObjectId().getValue().toHexString();
+            case STRING -> id.asString().getValue();
+            // Un _id de otro tipo no coincide con las claves de la caché: se vacía completa
+            default -> null;
+        };
+    }
+
+    private static boolean isNonResumable(Throwable error) {
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (current instanceof MongoException mongoException
+                    && NON_RESUMABLE_CODES.contains(mongoException.getCode())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -3,6 +3,7 @@ package com.nequi.franchise.infrastructure.driven_adapters.mongo_repository;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -11,11 +12,16 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @Document(collection = "franchises")
+// Rango de stock entre franquicias: recorre _id en orden (sin $sort en memoria) filtrando el stock en el índice
+@CompoundIndex(name = FranchiseDocument.ID_STOCK_INDEX, def = "{'_id': 1, 'branches.products.stock': 1}")
 public class FranchiseDocument {
+    public static final String ID_STOCK_INDEX = "id_stock";
+
     @Id
     private String id;
     private String name;
     private List<BranchDocument> branches;
+    private Long version;  // Se incrementa en cada mutación; soporta ETag y cachés por versión
 
     @Data
     @NoArgsConstructor
@@ -32,6 +38,7 @@ public class FranchiseDocument {
         @Indexed
         private String productId;  // ID único para búsquedas eficientes
         private String name;
-        private Integer stock;
+        @Indexed
+        private Integer stock;  // null si no fue informado; índice multikey para consultas por rango
     }
 }
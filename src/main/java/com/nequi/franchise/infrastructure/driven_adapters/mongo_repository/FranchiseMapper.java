@@ -4,11 +4,37 @@ import com.nequi.franchise.domain.model.franchise.Branch;
 import com.nequi.franchise.domain.model.franchise.Franchise;
 import com.nequi.franchise.domain.model.franchise.Product;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Named;
 
+/**
+ * El stock desconocido es {@link Product#UNKNOWN_STOCK} en el dominio y un campo ausente en
+ * MongoDB: el centinela nunca se persiste.
+ */
 @Mapper(componentModel = "spring")
 public interface FranchiseMapper {
+    @Mapping(target = "version", ignore = true)
     FranchiseDocument toDocument(Franchise franchise);
+
     Franchise toEntity(FranchiseDocument franchiseDocument);
+
+    Branch toBranch(FranchiseDocument.BranchDocument branchDocument);
+
+    @Mapping(target = "stock", qualifiedByName = "toStock")
+    Product toProduct(FranchiseDocument.ProductDocument productDocument);
+
     FranchiseDocument.BranchDocument toBranchDocument(Branch branch);
+
+    @Mapping(target = "stock", qualifiedByName = "toStoredStock")
     FranchiseDocument.ProductDocument toProductDocument(Product product);
+
+    @Named("toStock")
+    default int toStock(Integer storedStock) {
+        return storedStock == null ? Product.UNKNOWN_STOCK : storedStock;
+    }
+
+    @Named("toStoredStock")
+    default Integer toStoredStock(int stock) {
+        return stock == Product.UNKNOWN_STOCK ? null : stock;
+    }
 }
@@ -0,0 +1,50 @@
+package com.nequi.franchise.infrastructure.driven_adapters.mongo_repository;
+
+import com.nequi.franchise.infrastructure.driven_adapters.cache.NameBloomFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+
+/**
+ * Reconstruye el filtro de nombres recorriendo la colección en streaming y proyectando solo
+ * los nombres. Hasta que termina, el filtro delega siempre en MongoDB.
+ * <p>
+ * Lo invoca {@link FranchiseChangeStreamListener} cada vez que abre el stream, ya fijada su
+ * posición de inicio: un nombre escrito antes de ese punto lo ve el recorrido y uno escrito
+ * después llega por el stream, así que no queda hueco entre ambos.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FranchiseNameFilterInitializer {
+    private static final int SCAN_BATCH_SIZE = 1000;
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final NameBloomFilter nameFilter;
+    private Disposable scan;
+
+    public synchronized void rebuild() {
+        if (!nameFilter.isEnabled()) {
+            return;
+        }
+        if (scan != null) {
+            scan.dispose();
+        }
+        long rebuild = nameFilter.startRebuild();
+        Query query = new Query().cursorBatchSize(SCAN_BATCH_SIZE);
+        query.fields().include("name").include("branches.name");
+
+        scan = mongoTemplate.find(query, FranchiseDocument.class)
+                .doOnNext(nameFilter::addNamesOf)
+                .count()
+                .subscribe(total -> {
+                            log.info("Filtro de nombres reconstruido a partir de {} franquicias", total);
+                            nameFilter.markReady(rebuild);
+                        },
+                        error -> log.warn("No fue posible reconstruir el filtro de nombres, se consultará la base de datos hasta el próximo intento: {}",
+                                error.getMessage()));
+    }
+}
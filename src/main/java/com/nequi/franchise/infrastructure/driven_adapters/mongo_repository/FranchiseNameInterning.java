@@ -0,0 +1,25 @@
+package com.nequi.franchise.infrastructure.driven_adapters.mongo_repository;
+
+import com.nequi.franchise.infrastructure.driven_adapters.cache.NameInterner;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.reactivestreams.Publisher;
+import org.springframework.data.mongodb.core.mapping.event.ReactiveAfterConvertCallback;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Deduplica los nombres de cada documento de franquicia apenas se decodifica desde MongoDB,
+ * de modo que la caché local y los resultados mapeados comparten una sola instancia por nombre.
+ */
+@Component
+@RequiredArgsConstructor
+public class FranchiseNameInterning implements ReactiveAfterConvertCallback<FranchiseDocument> {
+
+    private final NameInterner interner;
+
+    @Override
+    public Publisher<FranchiseDocument> onAfterConvert(FranchiseDocument entity, Document document, String collection) {
+        return Mono.just(interner.internNames(entity));
+    }
+}
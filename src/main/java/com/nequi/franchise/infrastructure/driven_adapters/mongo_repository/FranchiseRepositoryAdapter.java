@@ -1,15 +1,44 @@
 package com.nequi.franchise.infrastructure.driven_adapters.mongo_repository;
 
 import com.nequi.franchise.domain.exception.ResourceNotFoundException;
+import com.nequi.franchise.domain.exception.VersionConflictException;
+import com.nequi.franchise.domain.model.franchise.BatchPlan;
 import com.nequi.franchise.domain.model.franchise.Branch;
 import com.nequi.franchise.domain.model.franchise.BranchProductResult;
+import com.nequi.franchise.domain.model.franchise.FieldSelection;
 import com.nequi.franchise.domain.model.franchise.Franchise;
+import com.nequi.franchise.domain.model.franchise.FranchiseSummary;
 import com.nequi.franchise.domain.model.franchise.Product;
+import com.nequi.franchise.domain.model.franchise.ProductStockEntry;
+import com.nequi.franchise.domain.model.franchise.ProductSuggestion;
+import com.nequi.franchise.domain.model.franchise.StockRangeCursor;
+import com.nequi.franchise.domain.model.franchise.StockSnapshot;
+import com.nequi.franchise.domain.model.franchise.StockRanking;
+import com.nequi.franchise.domain.model.franchise.StockRankingScope;
+import com.nequi.franchise.domain.model.franchise.TopStockSelector;
 import com.nequi.franchise.domain.model.gateway.FranchiseGateway;
+import com.nequi.franchise.domain.util.StockKernels;
+import com.nequi.franchise.infrastructure.driven_adapters.cache.FranchiseDocumentIndex;
+import com.nequi.franchise.infrastructure.driven_adapters.cache.FranchiseLocalCache;
+import com.nequi.franchise.infrastructure.driven_adapters.cache.MaxStockResultCache;
+import com.nequi.franchise.infrastructure.driven_adapters.cache.NameBloomFilter;
+import com.nequi.franchise.infrastructure.driven_adapters.cache.ProductNameIndex;
+import com.nequi.franchise.infrastructure.driven_adapters.cache.ProductPrefixIndex;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.Fields;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
@@ -17,7 +46,11 @@ import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
 
 /**
  * Adaptador agnóstico a la tecnología de persistencia.
@@ -29,10 +62,29 @@ import java.util.Comparator;
 public class FranchiseRepositoryAdapter implements FranchiseGateway {
     private static final String FRANQUICIA_NO_ENCONTRADA = "Franquicia o sucursal no encontrada";
     private static final String SERVICE_OPERATION_MONGODB = "mongodb";
+    private static final String VERSION = "version";
+    private static final String BRANCH_ID = "branches.branchId";
+    private static final String PRODUCT_ID = "branches.products.productId";
+    private static final int STOCK_RANGE_BATCH_SIZE = 500;
+
+    /**
+     * Ordena dentro de cada documento las sucursales por ID y los productos de cada sucursal por
+     * ID. Al desenrollar, las filas salen en el orden del cursor documento a documento, sin un
+     * {@code $sort} que tenga que leer todo el resultado antes de entregar la primera fila.
+     */
+    private static final AggregationOperation SORT_BRANCHES_AND_PRODUCTS_BY_ID = context -> new Document("$set",
+            new Document("branches", new Document("$map", new Document("input", sortArray("$branches", "branchId"))
+                    .append("as", "branch")
+                    .append("in", new Document("$mergeObjects", List.of("$$branch",
+                            new Document("products", sortArray("$$branch.products", "productId"))))))));
 
     private final FranchiseDataRepository repository;
     private final ReactiveMongoTemplate mongoTemplate;
     private final FranchiseMapper mapper;
+    private final FranchiseLocalCache cache;
+    private final MaxStockResultCache maxStockCache;
+    private final NameBloomFilter nameFilter;
+    private final ProductNameIndex productIndex;
 
     @Override
     @CircuitBreaker(name = SERVICE_OPERATION_MONGODB)
@@ -40,6 +92,9 @@ public class FranchiseRepositoryAdapter implements FranchiseGateway {
         log.debug("Guardando franquicia: {}", franchise.getName());
         return Mono.just(franchise)
                 .map(mapper::toDocument)
+                .doOnNext(document -> document.setVersion(0L))
+                // Se registra antes de escribir para que ningún chequeo concurrente lo vea ausente
+                .doOnNext(nameFilter::addNamesOf)
                 .flatMap(repository::save)
                 .map(mapper::toEntity);
     }
@@ -48,29 +103,100 @@ public class FranchiseRepositoryAdapter implements FranchiseGateway {
     @CircuitBreaker(name = SERVICE_OPERATION_MONGODB)
     public Mono<Franchise> findByName(String name) {
         log.debug("Buscando franquicia por nombre: {}", name);
-        return repository.findByName(name)
-                .map(mapper::toEntity);
+        return Mono.defer(() -> {
+            if (!nameFilter.mightContainFranchiseName(name)) {
+                log.debug("Filtro de nombres: franquicia '{}' definitivamente ausente, se omite la consulta", name);
+                return Mono.<Franchise>empty();
+            }
+            return repository.findByName(name)
+                    .map(mapper::toEntity)
+                    .switchIfEmpty(Mono.fromRunnable(nameFilter::recordFalsePositive));
+        });
     }
 
     @Override
     @CircuitBreaker(name = SERVICE_OPERATION_MONGODB)
     public Mono<Franchise> findById(String id) {
         log.debug("Buscando franquicia por ID: {}", id);
-        return repository.findById(id)
+        return findDocumentById(id)
                 .map(mapper::toEntity);
     }
 
+    @Override
+    @CircuitBreaker(name = SERVICE_OPERATION_MONGODB)
+    public Mono<Franchise> findCurrentById(String id) {
+        log.debug("Buscando franquicia por ID: {} en su versión vigente", id);
+        return findCurrentDocument(id)
+                .map(mapper::toEntity);
+    }
+
+    @Override
+    @CircuitBreaker(name = SERVICE_OPERATION_MONGODB)
+    public Mono<Franchise> findById(String id, FieldSelection fields) {
+        if (fields.isAll()) {
+            return findCurrentById(id);
+        }
+        log.debug("Buscando franquicia por ID: {} con campos {}", id, fields.paths());
+        // Si el documento completo está en caché y al día no se consulta; si no, Mongo solo envía los campos pedidos.
+        // El documento parcial no se guarda en caché
+        return fetchVersion(id)
+                .flatMap(version -> cache.get(id)
+                        .filter(document -> versionOf(document) >= version)
+                        .map(Mono::just)
+                        .orElseGet(() -> {
+                            Query query = Query.query(Criteria.where("id").is(id));
+                            fields.paths().forEach(query.fields()::include);
+                            return mongoTemplate.findOne(query, FranchiseDocument.class);
+                        }))
+                .map(mapper::toEntity);
+    }
+
+    @Override
+    @CircuitBreaker(name = SERVICE_OPERATION_MONGODB)
+    public Flux<FranchiseSummary> findFranchises(String namePrefix, String afterId, int limit) {
+        log.debug("Listando hasta {} franquicias después de ID: {}, prefijo: {}", limit, afterId, namePrefix);
+        return mongoTemplate.aggregate(franchiseListingAggregation(namePrefix, afterId, limit), FranchiseSummaryRow.class)
+                .map(row -> new FranchiseSummary(row.id(), row.name(), row.branchCount()));
+    }
+
+    @Override
+    @CircuitBreaker(name = SERVICE_OPERATION_MONGODB)
+    public Mono<Boolean> existsBranchByName(String franchiseId, String branchName) {
+        log.debug("Verificando existencia de sucursal nombre='{}' en franquicia ID: {}", branchName, franchiseId);
+        return Mono.defer(() -> {
+            if (!nameFilter.mightContainBranchName(franchiseId, branchName)) {
+                log.debug("Filtro de nombres: sucursal '{}' definitivamente ausente, se omite la consulta", branchName);
+                return Mono.just(false);
+            }
+            return findIndexById(franchiseId)
+                    .map(index -> index.findBranchByName(branchName).isPresent())
+                    .defaultIfEmpty(false)
+                    .doOnNext(exists -> {
+                        if (!exists) {
+                            nameFilter.recordFalsePositive();
+                        }
+                    });
+        });
+    }
+
+    @Override
+    @CircuitBreaker(name = SERVICE_OPERATION_MONGODB)
+    public Mono<Long> findVersionById(String id) {
+        log.debug("Consultando versión de franquicia ID: {}", id);
+        return fetchVersion(id);
+    }
+
     @Override
     @CircuitBreaker(name = SERVICE_OPERATION_MONGODB)
     public Mono<Franchise> addBranch(String franchiseId, Branch branch) {
         log.debug("Agregando sucursal branchId='{}' nombre='{}' a franquicia ID: {}",
                 branch.getBranchId(), branch.getName(), franchiseId);
         Query query = Query.query(Criteria.where("id").is(franchiseId));
-        Update update = new Update().push("branches", mapper.toBranchDocument(branch));
+        FranchiseDocument.BranchDocument branchDocument = mapper.toBranchDocument(branch);
+        Update update = new Update().push("branches", branchDocument);
+        nameFilter.addBranchName(franchiseId, branch.getName());
 
-        return mongoTemplate.findAndModify(query, update,
-                        new org.springframework.data.mongodb.core.FindAndModifyOptions().returnNew(true),
-                        FranchiseDocument.class)
+        return modifyAndEvict(franchiseId, query, update, index -> index.withBranch(branchDocument))
                 .switchIfEmpty(Mono.error(new ResourceNotFoundException("Franquicia no encontrada con ID: " + franchiseId)))
                 .map(mapper::toEntity);
     }
@@ -88,9 +214,8 @@ public class FranchiseRepositoryAdapter implements FranchiseGateway {
         Update update = new Update().push("branches.$[elem].products", mapper.toProductDocument(product));
         update.filterArray(Criteria.where("elem.branchId").is(branchId));
 
-        return mongoTemplate.findAndModify(query, update,
-                        new org.springframework.data.mongodb.core.FindAndModifyOptions().returnNew(true),
-                        FranchiseDocument.class)
+        return modifyAndEvict(franchiseId, query, update,
+                index -> index.withProduct(branchId, product.getProductId(), product.getName()))
                 .switchIfEmpty(Mono.error(new ResourceNotFoundException(FRANQUICIA_NO_ENCONTRADA)))
                 .map(mapper::toEntity);
     }
@@ -110,16 +235,14 @@ public class FranchiseRepositoryAdapter implements FranchiseGateway {
                 Query.query(Criteria.where("productId").is(productId)));
         update.filterArray(Criteria.where("elem.branchId").is(branchId));
 
-        return mongoTemplate.findAndModify(query, update,
-                        new org.springframework.data.mongodb.core.FindAndModifyOptions().returnNew(true),
-                        FranchiseDocument.class)
+        return modifyAndEvict(franchiseId, query, update, index -> index.withoutProduct(branchId, productId))
                 .switchIfEmpty(Mono.error(new ResourceNotFoundException(FRANQUICIA_NO_ENCONTRADA)))
                 .map(mapper::toEntity);
     }
 
     @Override
     @CircuitBreaker(name = SERVICE_OPERATION_MONGODB)
-    public Mono<Franchise> updateStock(String franchiseId, String branchId, String productId, Integer newStock) {
+    public Mono<Franchise> updateStock(String franchiseId, String branchId, String productId, int newStock) {
         log.debug("Actualizando stock de producto productId='{}' a {} en sucursal branchId='{}', franquicia ID: {}",
                 productId, newStock, branchId, franchiseId);
 
@@ -132,28 +255,104 @@ public class FranchiseRepositoryAdapter implements FranchiseGateway {
         update.filterArray(Criteria.where("b.branchId").is(branchId));
         update.filterArray(Criteria.where("p.productId").is(productId));
 
-        return mongoTemplate.findAndModify(query, update,
-                        new org.springframework.data.mongodb.core.FindAndModifyOptions().returnNew(true),
-                        FranchiseDocument.class)
+        return modifyAndEvict(franchiseId, query, update)
                 .switchIfEmpty(Mono.error(new ResourceNotFoundException("Producto no encontrado")))
                 .map(mapper::toEntity);
     }
 
+    @Override
+    @CircuitBreaker(name = SERVICE_OPERATION_MONGODB)
+    public Mono<Long> applyBatch(String franchiseId, long expectedVersion, BatchPlan plan) {
+        AggregationUpdate update = BatchUpdates.of(plan, mapper, mongoTemplate.getConverter());
+        long newVersion = expectedVersion + 1;
+        log.debug("Aplicando lote en franquicia ID: {} sobre la versión {}", franchiseId, expectedVersion);
+        plan.newBranches().forEach(branch -> nameFilter.addBranchName(franchiseId, branch.getName()));
+        plan.branchRenames().values().forEach(name -> nameFilter.addBranchName(franchiseId, name));
+
+        // Una sola actualización de un documento: el lote se escribe completo o no se escribe, y solo
+        // si la versión vigente sigue siendo la leída
+        return mongoTemplate.updateFirst(atVersion(franchiseId, expectedVersion), update, FranchiseDocument.class)
+                .flatMap(result -> result.getMatchedCount() > 0
+                        ? Mono.just(newVersion)
+                        // Sin coincidencias: la franquicia no existe (vacío) o cambió de versión
+                        : fetchVersion(franchiseId).flatMap(current -> Mono.<Long>error(new VersionConflictException(
+                                "La franquicia " + franchiseId + " cambió durante el lote: versión leída " + expectedVersion + ", vigente " + current))))
+                .doOnNext(version -> {
+                    cache.invalidate(franchiseId);
+                    maxStockCache.invalidate(franchiseId);
+                    productIndex.apply(franchiseId, version, BatchUpdates.indexChange(plan, mapper));
+                });
+    }
+
+    // Documentos anteriores al campo version están en la versión 0 aunque no lo tengan
+    private static Query atVersion(String franchiseId, long version) {
+        Criteria criteria = Criteria.where("id").is(franchiseId).and(VERSION);
+        return Query.query(version == 0 ? criteria.in(0L, null) : criteria.is(version));
+    }
+
     @Override
     @CircuitBreaker(name = SERVICE_OPERATION_MONGODB)
     public Flux<BranchProductResult> findMaxStockByBranch(String franchiseId) {
         log.debug("Buscando productos con mayor stock por sucursal en franquicia ID: {}", franchiseId);
-        return repository.findById(franchiseId)
+        // La versión se consulta con una proyección mínima; si no cambió se responde desde caché
+        return fetchVersion(franchiseId)
+                .flatMapMany(version -> maxStockCache.get(franchiseId, version)
+                        .map(Flux::fromIterable)
+                        .orElseGet(() -> findDocumentAtVersion(franchiseId, version)
+                                .map(document -> {
+                                    List<BranchProductResult> results = computeMaxStock(document);
+                                    maxStockCache.put(franchiseId, versionOf(document), results);
+                                    return results;
+                                })
+                                .flatMapMany(Flux::fromIterable)));
+    }
+
+    @Override
+    @CircuitBreaker(name = SERVICE_OPERATION_MONGODB)
+    public Flux<BranchProductResult> findTopStock(String franchiseId, int limit, StockRanking ranking, StockRankingScope scope) {
+        log.debug("Buscando top {} productos ({}, {}) en franquicia ID: {}", limit, ranking, scope, franchiseId);
+        // Selección en memoria sobre el documento cacheado (si está al día) con heaps acotados a limit;
+        // por sucursal, cada ranking se calcula a medida que el suscriptor lo pide
+        return findCurrentDocument(franchiseId)
+                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Franquicia no encontrada con ID: " + franchiseId)))
                 .map(mapper::toEntity)
-                .flatMapMany(franchise -> Flux.fromIterable(franchise.getBranches()))
-                .map(branch -> {
-                    Product maxProduct = branch.getProducts().stream()
-                            .max(Comparator.comparingInt(Product::getStock))
-                            .orElse(null);
+                .flatMapMany(franchise -> scope == StockRankingScope.FRANCHISE
+                        ? Flux.defer(() -> Flux.fromIterable(TopStockSelector.select(franchise.getBranches(), limit, ranking)))
+                        : Flux.fromIterable(franchise.getBranches())
+                                .concatMapIterable(branch -> TopStockSelector.select(List.of(branch), limit, ranking)));
+    }
+
+    @Override
+    @CircuitBreaker(name = SERVICE_OPERATION_MONGODB)
+    public Flux<ProductStockEntry> findProductsByStockRange(String franchiseId, int minStock, int maxStock,
+                                                            StockRangeCursor after, int limit) {
+        log.debug("Buscando productos con stock en [{}, {}) en franquicia ID: {}, después de: {}",
+                minStock, maxStock, franchiseId != null ? franchiseId : "*", after);
+        return mongoTemplate.aggregate(
+                        stockRangeAggregation(franchiseId, minStock, maxStock, Optional.ofNullable(after), limit), StockRangeRow.class)
+                .map(FranchiseRepositoryAdapter::toStockEntry);
+    }
 
-                    return new BranchProductResult(branch.getName(), maxProduct);
-                })
-                .filter(result -> result.getProduct() != null);
+    @Override
+    @CircuitBreaker(name = SERVICE_OPERATION_MONGODB)
+    public Flux<ProductSuggestion> suggestProducts(String franchiseId, String prefix, int limit) {
+        log.debug("Buscando productos con prefijo '{}' en franquicia ID: {}", prefix, franchiseId);
+        // Igual que las lecturas con ETag: ni el índice ni el documento con el que se construye
+        // pueden ser anteriores a la versión vigente
+        return fetchVersion(franchiseId)
+                .flatMap(version -> productIndex.get(franchiseId, version)
+                        .map(Mono::just)
+                        .orElseGet(() -> {
+                            long epoch = productIndex.epoch();
+                            return findDocumentAtVersion(franchiseId, version)
+                                    .map(document -> {
+                                        ProductPrefixIndex index = ProductPrefixIndex.of(document);
+                                        productIndex.putIfUnchanged(franchiseId, versionOf(document), index, epoch);
+                                        return index;
+                                    });
+                        }))
+                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Franquicia no encontrada con ID: " + franchiseId)))
+                .flatMapIterable(index -> index.search(prefix, limit));
     }
 
     @Override
@@ -162,10 +361,9 @@ public class FranchiseRepositoryAdapter implements FranchiseGateway {
         log.debug("Actualizando nombre de franquicia ID: {} a '{}'", franchiseId, newName);
         Query query = Query.query(Criteria.where("id").is(franchiseId));
         Update update = new Update().set("name", newName);
+        nameFilter.addFranchiseName(newName);
 
-        return mongoTemplate.findAndModify(query, update,
-                        new org.springframework.data.mongodb.core.FindAndModifyOptions().returnNew(true),
-                        FranchiseDocument.class)
+        return modifyAndEvict(franchiseId, query, update)
                 .switchIfEmpty(Mono.error(new ResourceNotFoundException("Franquicia no encontrada con ID: " + franchiseId)))
                 .map(mapper::toEntity);
     }
@@ -180,10 +378,9 @@ public class FranchiseRepositoryAdapter implements FranchiseGateway {
         Query query = Query.query(Criteria.where("id").is(franchiseId)
                 .and("branches.branchId").is(branchId));
         Update update = new Update().set("branches.$.name", newName);
+        nameFilter.addBranchName(franchiseId, newName);
 
-        return mongoTemplate.findAndModify(query, update,
-                        new org.springframework.data.mongodb.core.FindAndModifyOptions().returnNew(true),
-                        FranchiseDocument.class)
+        return modifyAndEvict(franchiseId, query, update)
                 .switchIfEmpty(Mono.error(new ResourceNotFoundException(FRANQUICIA_NO_ENCONTRADA)))
                 .map(mapper::toEntity);
     }
@@ -203,9 +400,8 @@ public class FranchiseRepositoryAdapter implements FranchiseGateway {
         update.filterArray(Criteria.where("b.branchId").is(branchId));
         update.filterArray(Criteria.where("p.productId").is(productId));
 
-        return mongoTemplate.findAndModify(query, update,
-                        new org.springframework.data.mongodb.core.FindAndModifyOptions().returnNew(true),
-                        FranchiseDocument.class)
+        return modifyAndEvict(franchiseId, query, update,
+                index -> index.withRenamedProduct(branchId, productId, newName))
                 .switchIfEmpty(Mono.error(new ResourceNotFoundException("Producto no encontrado")))
                 .map(mapper::toEntity);
     }
@@ -214,11 +410,9 @@ public class FranchiseRepositoryAdapter implements FranchiseGateway {
     @CircuitBreaker(name = SERVICE_OPERATION_MONGODB)
     public Mono<Branch> findBranchById(String franchiseId, String branchId) {
         log.debug("Buscando sucursal branchId='{}' en franquicia ID: {}", branchId, franchiseId);
-        return repository.findById(franchiseId)
-                .map(mapper::toEntity)
-                .flatMap(franchise -> franchise.getBranches().stream()
-                        .filter(b -> b.getBranchId().equals(branchId))
-                        .findFirst()
+        return findIndexById(franchiseId)
+                .flatMap(index -> index.findBranchById(branchId)
+                        .map(mapper::toBranch)
                         .map(Mono::just)
                         .orElse(Mono.error(new ResourceNotFoundException("Sucursal no encontrada con branchId: " + branchId)))
                 );
@@ -229,13 +423,241 @@ public class FranchiseRepositoryAdapter implements FranchiseGateway {
     public Mono<Product> findProductById(String franchiseId, String branchId, String productId) {
         log.debug("Buscando producto productId='{}' en sucursal branchId='{}', franquicia ID: {}",
                 productId, branchId, franchiseId);
-        return findBranchById(franchiseId, branchId)
-                .flatMap(branch -> branch.getProducts().stream()
-                        .filter(p -> p.getProductId().equals(productId))
-                        .findFirst()
+        return findIndexById(franchiseId)
+                .flatMap(index -> requireBranch(index, branchId)
+                        .then(Mono.defer(() -> index.findProductById(branchId, productId)
+                                .map(mapper::toProduct)
+                                .map(Mono::just)
+                                .orElse(Mono.error(new ResourceNotFoundException("Producto no encontrado con productId: " + productId)))))
+                );
+    }
+
+    @Override
+    @CircuitBreaker(name = SERVICE_OPERATION_MONGODB)
+    public Mono<Branch> findBranchByName(String franchiseId, String branchName) {
+        log.debug("Buscando sucursal nombre='{}' en franquicia ID: {}", branchName, franchiseId);
+        return findIndexById(franchiseId)
+                .flatMap(index -> index.findBranchByName(branchName)
+                        .map(mapper::toBranch)
                         .map(Mono::just)
-                        .orElse(Mono.error(new ResourceNotFoundException("Producto no encontrado con productId: " + productId)))
+                        .orElse(Mono.error(new ResourceNotFoundException("Sucursal no encontrada con nombre: " + branchName)))
                 );
     }
-}
 
+    @Override
+    @CircuitBreaker(name = SERVICE_OPERATION_MONGODB)
+    public Mono<Product> findProductByName(String franchiseId, String branchId, String productName) {
+        log.debug("Buscando producto nombre='{}' en sucursal branchId='{}', franquicia ID: {}",
+                productName, branchId, franchiseId);
+        return findIndexById(franchiseId)
+                .flatMap(index -> requireBranch(index, branchId)
+                        .then(Mono.defer(() -> index.findProductByName(branchId, productName)
+                                .map(mapper::toProduct)
+                                .map(Mono::just)
+                                .orElse(Mono.error(new ResourceNotFoundException("Producto no encontrado con nombre: " + productName)))))
+                );
+    }
+
+    private static Mono<Void> requireBranch(FranchiseDocumentIndex index, String branchId) {
+        return index.findBranchById(branchId).isPresent()
+                ? Mono.empty()
+                : Mono.error(new ResourceNotFoundException("Sucursal no encontrada con branchId: " + branchId));
+    }
+
+    /**
+     * Lee el índice de sucursales y productos del documento en caché, compartido entre peticiones.
+     * Si el documento no estaba en caché se indexa solo para esta lectura; la siguiente ya lo encuentra.
+     */
+    private Mono<FranchiseDocumentIndex> findIndexById(String franchiseId) {
+        return Mono.defer(() -> cache.getIndex(franchiseId)
+                .map(Mono::just)
+                .orElseGet(() -> findDocumentById(franchiseId).map(FranchiseDocumentIndex::new)));
+    }
+
+    /**
+     * Lee el documento pasando primero por la caché local.
+     */
+    private Mono<FranchiseDocument> findDocumentById(String franchiseId) {
+        return Mono.defer(() -> cache.get(franchiseId)
+                .map(Mono::just)
+                .orElseGet(() -> {
+                    long epoch = cache.epoch();
+                    return repository.findById(franchiseId)
+                            .doOnNext(document -> cache.putIfUnchanged(document, epoch));
+                }));
+    }
+
+    /**
+     * Lee el documento garantizando que no sea anterior a la versión indicada:
+     * si la copia en caché quedó atrás se descarta y se lee de la base de datos.
+     */
+    private Mono<FranchiseDocument> findDocumentAtVersion(String franchiseId, long version) {
+        return findDocumentById(franchiseId)
+                .flatMap(document -> versionOf(document) >= version
+                        ? Mono.just(document)
+                        : Mono.defer(() -> {
+                            cache.invalidate(franchiseId);
+                            return findDocumentById(franchiseId);
+                        }));
+    }
+
+    /**
+     * Lee el documento en una versión no anterior a la vigente al momento de la llamada. El
+     * handler calcula el ETag antes de pedir el cuerpo, así que el cuerpo nunca es más viejo que
+     * la versión del ETag.
+     */
+    private Mono<FranchiseDocument> findCurrentDocument(String franchiseId) {
+        return fetchVersion(franchiseId)
+                .flatMap(version -> findDocumentAtVersion(franchiseId, version));
+    }
+
+    private Mono<Long> fetchVersion(String franchiseId) {
+        Query query = Query.query(Criteria.where("id").is(franchiseId));
+        query.fields().include(VERSION);
+
+        return mongoTemplate.findOne(query, FranchiseDocument.class)
+                .map(FranchiseRepositoryAdapter::versionOf);
+    }
+
+    // Documentos anteriores al campo version se consideran en la versión 0
+    private static long versionOf(FranchiseDocument document) {
+        return Optional.ofNullable(document.getVersion()).orElse(0L);
+    }
+
+    /**
+     * Calcula sobre una foto columnar de los stocks del documento; solo se mapean al dominio
+     * los productos ganadores. Los productos con stock desconocido no compiten y ante
+     * empates se conserva el primero, igual que {@code Stream.max}.
+     */
+    private List<BranchProductResult> computeMaxStock(FranchiseDocument document) {
+        List<FranchiseDocument.BranchDocument> branches = Optional.ofNullable(document.getBranches()).orElse(List.of());
+        StockSnapshot snapshot = StockSnapshot.of(branches, FranchiseDocument.BranchDocument::getProducts,
+                product -> mapper.toStock(product.getStock()), StockKernels.preferred());
+        List<BranchProductResult> results = new ArrayList<>(branches.size());
+        for (int b = 0; b < snapshot.branchCount(); b++) {
+            int position = snapshot.argMaxInBranch(b);
+            if (position >= 0) {
+                FranchiseDocument.BranchDocument branch = branches.get(b);
+                results.add(new BranchProductResult(branch.getName(), mapper.toProduct(branch.getProducts().get(position))));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Recorre los productos en orden (ID de franquicia, ID de sucursal, ID de producto).
+     * Con una franquicia, el primer {@code $match} va por {@code _id}. Entre franquicias, usa el
+     * índice compuesto {@code {_id, branches.products.stock}}: entrega los documentos en orden de
+     * {@code _id} desde el cursor y descarta en el índice los que no tienen stock en el rango, así
+     * que el {@code $sort} por {@code _id} no bloquea. Cada documento ordena sus arreglos por ID
+     * antes de desenrollarse; luego se filtran los productos individuales y se aplica el cursor.
+     * Mongo entrega el resultado por lotes, sin acumular la página completa.
+     */
+    private static TypedAggregation<FranchiseDocument> stockRangeAggregation(String franchiseId, int minStock, int maxStock,
+                                                                             Optional<StockRangeCursor> cursor, int limit) {
+        Criteria documentCriteria = Criteria.where("branches.products")
+                .elemMatch(Criteria.where("stock").gte(minStock).lt(maxStock));
+        if (franchiseId != null) {
+            documentCriteria.and(Fields.UNDERSCORE_ID).is(franchiseId);
+        } else {
+            cursor.ifPresent(position -> documentCriteria.and(Fields.UNDERSCORE_ID).gte(position.franchiseId()));
+        }
+
+        Criteria productCriteria = Criteria.where("branches.products.stock").gte(minStock).lt(maxStock);
+        cursor.ifPresent(position -> productCriteria.orOperator(
+                Criteria.where(Fields.UNDERSCORE_ID).gt(position.franchiseId()),
+                Criteria.where(Fields.UNDERSCORE_ID).is(position.franchiseId())
+                        .and(BRANCH_ID).gt(position.branchId()),
+                Criteria.where(Fields.UNDERSCORE_ID).is(position.franchiseId())
+                        .and(BRANCH_ID).is(position.branchId())
+                        .and(PRODUCT_ID).gt(position.productId())));
+
+        AggregationOptions.Builder options = AggregationOptions.builder()
+                .cursorBatchSize(Math.min(limit, STOCK_RANGE_BATCH_SIZE));
+        if (franchiseId == null) {
+            options.hint(FranchiseDocument.ID_STOCK_INDEX);
+        }
+
+        return Aggregation.newAggregation(FranchiseDocument.class,
+                        Aggregation.match(documentCriteria),
+                        Aggregation.sort(Sort.Direction.ASC, Fields.UNDERSCORE_ID),
+                        SORT_BRANCHES_AND_PRODUCTS_BY_ID,
+                        Aggregation.unwind("branches"),
+                        Aggregation.unwind("branches.products"),
+                        Aggregation.match(productCriteria),
+                        Aggregation.limit(limit),
+                        Aggregation.project()
+                                .and(Fields.UNDERSCORE_ID).as("franchiseId")
+                                .and(BRANCH_ID).as("branchId")
+                                .and("branches.name").as("branchName")
+                                .and(PRODUCT_ID).as("productId")
+                                .and("branches.products.name").as("productName")
+                                .and("branches.products.stock").as("stock")
+                                .andExclude(Fields.UNDERSCORE_ID))
+                .withOptions(options.build());
+    }
+
+    private static Document sortArray(String input, String field) {
+        return new Document("$sortArray", new Document("input", new Document("$ifNull", List.of(input, List.of())))
+                .append("sortBy", new Document(field, 1)));
+    }
+
+    /**
+     * Recorre el índice de {@code _id} desde el cursor ({@code _id > afterId}) y corta en
+     * {@code limit}, sin {@code skip}: cualquier página cuesta lo mismo. El filtro por prefijo se
+     * evalúa sobre los documentos recorridos, y solo se proyectan el nombre y la cantidad de
+     * sucursales. El cursor compara dentro del mismo tipo BSON del ID, como lo genera la
+     * estrategia configurada.
+     */
+    private static TypedAggregation<FranchiseDocument> franchiseListingAggregation(String namePrefix, String afterId, int limit) {
+        List<Criteria> filters = new ArrayList<>();
+        Optional.ofNullable(afterId).ifPresent(id -> filters.add(Criteria.where(Fields.UNDERSCORE_ID).gt(id)));
+        Optional.ofNullable(namePrefix).ifPresent(prefix -> filters.add(Criteria.where("name").regex("^" + Pattern.quote(prefix), "i")));
+        Criteria criteria = filters.isEmpty() ? new Criteria() : new Criteria().andOperator(filters);
+
+        return Aggregation.newAggregation(FranchiseDocument.class,
+                Aggregation.match(criteria),
+                Aggregation.sort(Sort.Direction.ASC, Fields.UNDERSCORE_ID),
+                Aggregation.limit(limit),
+                Aggregation.project("name")
+                        .and(ArrayOperators.Size.lengthOfArray(ConditionalOperators.ifNull("branches").then(List.of())))
+                        .as("branchCount"));
+    }
+
+    private static ProductStockEntry toStockEntry(StockRangeRow row) {
+        return ProductStockEntry.builder()
+                .franchiseId(row.franchiseId())
+                .branchId(row.branchId())
+                .branchName(row.branchName())
+                .productId(row.productId())
+                .productName(row.productName())
+                .stock(row.stock())
+                .cursor(new StockRangeCursor(row.franchiseId(), row.branchId(), row.productId()).encode())
+                .build();
+    }
+
+    /**
+     * Aplica la actualización incrementando la versión del documento y retorna el documento
+     * nuevo, invalidando la entrada en caché.
+     */
+    private Mono<FranchiseDocument> modifyAndEvict(String franchiseId, Query query, Update update) {
+        return modifyAndEvict(franchiseId, query, update, UnaryOperator.identity());
+    }
+
+    /**
+     * Igual que {@link #modifyAndEvict(String, Query, Update)}, aplicando además
+     * {@code indexChange} al índice de nombres de producto de la franquicia.
+     */
+    private Mono<FranchiseDocument> modifyAndEvict(String franchiseId, Query query, Update update,
+                                                   UnaryOperator<ProductPrefixIndex> indexChange) {
+        update.inc(VERSION, 1);
+        return mongoTemplate.findAndModify(query, update,
+                        new FindAndModifyOptions().returnNew(true),
+                        FranchiseDocument.class)
+                .doOnNext(document -> {
+                    cache.invalidate(franchiseId);
+                    maxStockCache.invalidate(franchiseId);
+                    productIndex.apply(franchiseId, versionOf(document), indexChange);
+                });
+    }
+}
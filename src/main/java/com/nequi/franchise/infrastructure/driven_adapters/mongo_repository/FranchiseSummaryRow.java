@@ -0,0 +1,7 @@
+package com.nequi.franchise.infrastructure.driven_adapters.mongo_repository;
+
+/**
+ * Fila producida por la agregación del listado de franquicias.
+ */
+record FranchiseSummaryRow(String id, String name, int branchCount) {
+}
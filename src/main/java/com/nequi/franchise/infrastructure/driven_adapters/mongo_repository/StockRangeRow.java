@@ -0,0 +1,8 @@
+package com.nequi.franchise.infrastructure.driven_adapters.mongo_repository;
+
+/**
+ * Fila plana producida por la agregación de rango de stock (un producto por fila).
+ */
+record StockRangeRow(String franchiseId, String branchId, String branchName,
+                     String productId, String productName, int stock) {
+}
@@ -1,11 +1,23 @@
 package com.nequi.franchise.infrastructure.entrypoints.reactiveweb;
 
+import com.nequi.franchise.domain.exception.ValidationException;
+import com.nequi.franchise.domain.model.franchise.BranchProductResult;
+import com.nequi.franchise.domain.model.franchise.FieldSelection;
+import com.nequi.franchise.domain.model.franchise.ProductStockEntry;
+import com.nequi.franchise.domain.model.franchise.ProductSuggestion;
+import com.nequi.franchise.domain.model.franchise.StockRangeCursor;
+import com.nequi.franchise.domain.model.franchise.StockRanking;
+import com.nequi.franchise.domain.model.franchise.StockRankingScope;
 import com.nequi.franchise.domain.usecase.franchise.*;
 import com.nequi.franchise.infrastructure.entrypoints.reactiveweb.dto.*;
+import com.nequi.franchise.infrastructure.entrypoints.reactiveweb.helper.EntityTags;
 import com.nequi.franchise.infrastructure.entrypoints.reactiveweb.helper.FranchiseIdResolver;
+import com.nequi.franchise.infrastructure.entrypoints.reactiveweb.helper.StreamingResponses;
 import com.nequi.franchise.infrastructure.entrypoints.reactiveweb.mapper.FranchiseDtoMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.server.ServerRequest;
@@ -13,6 +25,7 @@ import org.springframework.web.reactive.function.server.ServerResponse;
 import reactor.core.publisher.Mono;
 
 import java.net.URI;
+import java.util.Locale;
 import java.util.Optional;
 
 @Slf4j
@@ -23,16 +36,30 @@ public class FranchiseHandler {
     private static final String FRANCHISE_ID = "franchiseId";
     private static final String BRANCH_NAME = "branchName";
     private static final String PRODUCT_NAME = "productName";
+    private static final String BRANCH_ID = "branchId";
+    private static final String PRODUCT_ID = "productId";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int DEFAULT_TOP_LIMIT = 10;
+    private static final int DEFAULT_STOCK_RANGE_LIMIT = 100;
+    private static final int DEFAULT_SUGGEST_LIMIT = 10;
 
     private final CreateFranchiseUseCase createFranchiseUseCase;
+    private final FindFranchiseUseCase findFranchiseUseCase;
+    private final ListFranchisesUseCase listFranchisesUseCase;
     private final AddBranchUseCase addBranchUseCase;
     private final AddProductUseCase addProductUseCase;
     private final RemoveProductUseCase removeProductUseCase;
     private final UpdateStockUseCase updateStockUseCase;
     private final FindMaxStockUseCase findMaxStockUseCase;
+    private final FindTopStockUseCase findTopStockUseCase;
+    private final FindProductsByStockRangeUseCase findProductsByStockRangeUseCase;
+    private final SuggestProductsUseCase suggestProductsUseCase;
+    private final FranchiseStatsUseCase franchiseStatsUseCase;
+    private final FindFranchiseVersionUseCase findFranchiseVersionUseCase;
     private final UpdateFranchiseNameUseCase updateFranchiseNameUseCase;
     private final UpdateBranchNameUseCase updateBranchNameUseCase;
     private final UpdateProductNameUseCase updateProductNameUseCase;
+    private final ExecuteBatchUseCase executeBatchUseCase;
     private final GlobalErrorHandler errorHandler;
     private final FranchiseDtoMapper mapper;
     private final FranchiseIdResolver idResolver;
@@ -45,7 +72,6 @@ public class FranchiseHandler {
                 .flatMap(createFranchiseUseCase::apply)
                 .flatMap(savedFranchise -> ServerResponse
                         .created(URI.create(BASE_PATH + savedFranchise.getId()))
-                        .contentType(MediaType.APPLICATION_JSON)
                         .bodyValue(savedFranchise)
                 )
                 .doOnSuccess(response -> log.info("Method: createFranchise - Output: status=201"))
@@ -53,6 +79,45 @@ public class FranchiseHandler {
                 .onErrorResume(error -> errorHandler.handleError(error, request));
     }
 
+    public Mono<ServerResponse> getFranchise(ServerRequest request) {
+        String franchiseId = request.pathVariable(FRANCHISE_ID);
+
+        log.info("Method: getFranchise - Input: franchiseId={}, fields={}, path={}", franchiseId, request.queryParam("fields").orElse(null), request.path());
+
+        return Mono.fromCallable(() -> FieldSelection.parse(request.queryParam("fields").orElse(null)))
+                .flatMap(fields -> currentETag(franchiseId)
+                        .flatMap(etag -> etag.filter(tag -> EntityTags.matches(request, tag))
+                                .map(this::notModified)
+                                .orElseGet(() -> etag.isEmpty()
+                                        ? ServerResponse.notFound().build()
+                                        : findFranchiseUseCase.apply(franchiseId, fields)
+                                                .flatMap(franchise -> withETag(ServerResponse.ok(), etag)
+                                                        .bodyValue(fields.isAll() ? franchise : mapper.toSparseView(franchise, fields))))))
+                .doOnSuccess(response -> log.info("Method: getFranchise - Output: status={}, franchiseId={}", response != null ? response.statusCode() : "404", franchiseId))
+                .doOnError(error -> log.error("Method: getFranchise - Error: franchiseId={}, message={}", franchiseId, error.getMessage(), error))
+                .onErrorResume(error -> errorHandler.handleError(error, request));
+    }
+
+    /**
+     * Página del listado de franquicias; el cursor de la siguiente viaja en {@value #NEXT_CURSOR_HEADER}
+     * y se envía de vuelta en {@code after}. La última página no lleva el encabezado.
+     */
+    public Mono<ServerResponse> listFranchises(ServerRequest request) {
+        log.info("Method: listFranchises - Input: params={}, path={}", request.queryParams(), request.path());
+
+        return Mono.fromCallable(() -> optionalIntParam(request, "limit"))
+                .flatMap(limit -> listFranchisesUseCase.apply(
+                        request.queryParam("namePrefix").orElse(null), request.queryParam("after").orElse(null), limit.orElse(null)))
+                .flatMap(page -> {
+                    ServerResponse.BodyBuilder builder = ServerResponse.ok();
+                    Optional.ofNullable(page.nextCursor()).ifPresent(cursor -> builder.header(NEXT_CURSOR_HEADER, cursor));
+                    return builder.bodyValue(page.items());
+                })
+                .doOnSuccess(response -> log.info("Method: listFranchises - Output: status=200, nextCursor={}", response.headers().getFirst(NEXT_CURSOR_HEADER)))
+                .doOnError(error -> log.error("Method: listFranchises - Error: {}", error.getMessage(), error))
+                .onErrorResume(error -> errorHandler.handleError(error, request));
+    }
+
     public Mono<ServerResponse> addBranch(ServerRequest request) {
         String franchiseId = request.pathVariable(FRANCHISE_ID);
 
@@ -121,23 +186,132 @@ public class FranchiseHandler {
                 .onErrorResume(error -> errorHandler.handleError(error, request));
     }
 
+    /**
+     * Con Accept {@code application/x-ndjson} o {@code text/event-stream} cada resultado se escribe
+     * apenas se produce; con JSON se responde el arreglo completo. En ambos casos, sin resultados es 404.
+     */
     public Mono<ServerResponse> getMaxStockProducts(ServerRequest request) {
         String franchiseId = request.pathVariable(FRANCHISE_ID);
+        Optional<MediaType> streaming = StreamingResponses.negotiate(request);
 
-        log.info("Method: getMaxStockProducts - Input: franchiseId={}, path={}", franchiseId, request.path());
+        log.info("Method: getMaxStockProducts - Input: franchiseId={}, streaming={}, path={}", franchiseId, streaming.orElse(null), request.path());
 
-        return findMaxStockUseCase.apply(franchiseId)
-                .collectList()
-                .flatMap(list -> Optional.of(list)
-                        .filter(l -> !l.isEmpty())
-                        .map(l -> ServerResponse.ok().bodyValue(l))
-                        .orElseGet(() -> ServerResponse.notFound().build())
+        return currentETag(franchiseId)
+                .flatMap(etag -> etag.filter(tag -> EntityTags.matches(request, tag))
+                        .map(this::notModified)
+                        .orElseGet(() -> streaming
+                                .map(mediaType -> StreamingResponses.streamOrNotFound(withETag(ServerResponse.ok(), etag), mediaType,
+                                        findMaxStockUseCase.apply(franchiseId), BranchProductResult.class))
+                                .orElseGet(() -> findMaxStockUseCase.apply(franchiseId)
+                                        .collectList()
+                                        .flatMap(list -> Optional.of(list)
+                                                .filter(l -> !l.isEmpty())
+                                                .map(l -> withETag(ServerResponse.ok(), etag).bodyValue(l))
+                                                .orElseGet(() -> ServerResponse.notFound().build())
+                                        )))
                 )
                 .doOnSuccess(response -> log.info("Method: getMaxStockProducts - Output: status={}, franchiseId={}", response != null ? response.statusCode() : "404", franchiseId))
                 .doOnError(error -> log.error("Method: getMaxStockProducts - Error: franchiseId={}, message={}", franchiseId, error.getMessage(), error))
                 .onErrorResume(error -> errorHandler.handleError(error, request));
     }
 
+    public Mono<ServerResponse> getTopStockProducts(ServerRequest request) {
+        String franchiseId = request.pathVariable(FRANCHISE_ID);
+
+        log.info("Method: getTopStockProducts - Input: franchiseId={}, params={}, path={}", franchiseId, request.queryParams(), request.path());
+
+        return Mono.fromCallable(() -> {
+                    TopStockParams params = new TopStockParams(
+                            intParam(request, "limit", DEFAULT_TOP_LIMIT),
+                            enumParam(request, "order", StockRanking.class, StockRanking.HIGHEST),
+                            enumParam(request, "scope", StockRankingScope.class, StockRankingScope.BRANCH));
+                    // Se valida antes de responder: una vez iniciado el streaming ya no se puede devolver 400
+                    FindTopStockUseCase.validate(params.limit(), params.ranking(), params.scope());
+                    return params;
+                })
+                .flatMap(params -> currentETag(franchiseId)
+                        .flatMap(etag -> etag.filter(tag -> EntityTags.matches(request, tag))
+                                .map(this::notModified)
+                                // El ranking se escribe a medida que se produce, sin acumularlo en una lista
+                                .orElseGet(() -> etag.isEmpty()
+                                        ? ServerResponse.notFound().build()
+                                        : StreamingResponses.stream(withETag(ServerResponse.ok(), etag), streamingOrJson(request),
+                                                findTopStockUseCase.apply(franchiseId, params.limit(), params.ranking(), params.scope()),
+                                                BranchProductResult.class))))
+                .doOnSuccess(response -> log.info("Method: getTopStockProducts - Output: status={}, franchiseId={}", response != null ? response.statusCode() : "404", franchiseId))
+                .doOnError(error -> log.error("Method: getTopStockProducts - Error: franchiseId={}, message={}", franchiseId, error.getMessage(), error))
+                .onErrorResume(error -> errorHandler.handleError(error, request));
+    }
+
+    /**
+     * Atiende tanto la ruta de una franquicia como la global (sin {@code franchiseId}).
+     */
+    public Mono<ServerResponse> getProductsByStockRange(ServerRequest request) {
+        String franchiseId = request.pathVariables().get(FRANCHISE_ID);
+
+        log.info("Method: getProductsByStockRange - Input: franchiseId={}, params={}, path={}", franchiseId, request.queryParams(), request.path());
+
+        return Mono.fromCallable(() -> {
+                    StockRangeParams params = new StockRangeParams(
+                            intParam(request, "min", 0),
+                            intParam(request, "max", Integer.MAX_VALUE),
+                            request.queryParam("after").filter(after -> !after.isBlank()).map(StockRangeCursor::decode).orElse(null),
+                            intParam(request, "limit", DEFAULT_STOCK_RANGE_LIMIT));
+                    // Se valida antes de responder: una vez iniciado el streaming ya no se puede devolver 400
+                    FindProductsByStockRangeUseCase.validate(params.minStock(), params.maxStock(), params.limit());
+                    return params;
+                })
+                .flatMap(params -> StreamingResponses.stream(ServerResponse.ok(), streamingOrJson(request),
+                        findProductsByStockRangeUseCase.apply(franchiseId, params.minStock(), params.maxStock(), params.after(), params.limit()),
+                        ProductStockEntry.class))
+                .doOnSuccess(response -> log.info("Method: getProductsByStockRange - Output: status={}, franchiseId={}", response.statusCode(), franchiseId))
+                .doOnError(error -> log.error("Method: getProductsByStockRange - Error: franchiseId={}, message={}", franchiseId, error.getMessage(), error))
+                .onErrorResume(error -> errorHandler.handleError(error, request));
+    }
+
+    public Mono<ServerResponse> suggestProducts(ServerRequest request) {
+        String franchiseId = request.pathVariable(FRANCHISE_ID);
+        String prefix = request.queryParam("q").orElse(null);
+
+        log.info("Method: suggestProducts - Input: franchiseId={}, q={}, path={}", franchiseId, prefix, request.path());
+
+        return Mono.fromCallable(() -> {
+                    int limit = intParam(request, "limit", DEFAULT_SUGGEST_LIMIT);
+                    // Se valida antes de responder: una vez iniciado el streaming ya no se puede devolver 400
+                    SuggestProductsUseCase.validate(prefix, limit);
+                    return limit;
+                })
+                .flatMap(limit -> currentETag(franchiseId)
+                        .flatMap(etag -> etag.isEmpty()
+                                ? ServerResponse.notFound().build()
+                                : StreamingResponses.negotiate(request)
+                                        .map(mediaType -> StreamingResponses.stream(ServerResponse.ok(), mediaType,
+                                                suggestProductsUseCase.apply(franchiseId, prefix, limit), ProductSuggestion.class))
+                                        .orElseGet(() -> suggestProductsUseCase.apply(franchiseId, prefix, limit)
+                                                .collectList()
+                                                .flatMap(suggestions -> ServerResponse.ok().bodyValue(suggestions)))))
+                .doOnSuccess(response -> log.info("Method: suggestProducts - Output: status={}, franchiseId={}", response.statusCode(), franchiseId))
+                .doOnError(error -> log.error("Method: suggestProducts - Error: franchiseId={}, message={}", franchiseId, error.getMessage(), error))
+                .onErrorResume(error -> errorHandler.handleError(error, request));
+    }
+
+    public Mono<ServerResponse> getFranchiseStats(ServerRequest request) {
+        String franchiseId = request.pathVariable(FRANCHISE_ID);
+
+        log.info("Method: getFranchiseStats - Input: franchiseId={}, path={}", franchiseId, request.path());
+
+        return currentETag(franchiseId)
+                .flatMap(etag -> etag.filter(tag -> EntityTags.matches(request, tag))
+                        .map(this::notModified)
+                        .orElseGet(() -> etag.isEmpty()
+                                ? ServerResponse.notFound().build()
+                                : franchiseStatsUseCase.apply(franchiseId)
+                                        .flatMap(stats -> withETag(ServerResponse.ok(), etag).bodyValue(stats))))
+                .doOnSuccess(response -> log.info("Method: getFranchiseStats - Output: status={}, franchiseId={}", response != null ? response.statusCode() : "404", franchiseId))
+                .doOnError(error -> log.error("Method: getFranchiseStats - Error: franchiseId={}, message={}", franchiseId, error.getMessage(), error))
+                .onErrorResume(error -> errorHandler.handleError(error, request));
+    }
+
     public Mono<ServerResponse> updateFranchiseName(ServerRequest request) {
         String id = request.pathVariable(FRANCHISE_ID);
         return request.bodyToMono(UpdateNameRequest.class)
@@ -184,4 +358,161 @@ public class FranchiseHandler {
                 .doOnError(error -> log.error("Method: updateProductName - Error: franchiseId={}, branchName={}, productName={}, message={}", id, branchName, productName, error.getMessage(), error))
                 .onErrorResume(error -> errorHandler.handleError(error, request));
     }
+
+    // --- Variantes direccionadas por ID: llaman a los casos de uso sin resolver nombres ---
+
+    public Mono<ServerResponse> addProductById(ServerRequest request) {
+        String franchiseId = request.pathVariable(FRANCHISE_ID);
+        String branchId = request.pathVariable(BRANCH_ID);
+
+        return request.bodyToMono(AddProductRequest.class)
+                .doOnSubscribe(s -> log.info("Method: addProductById - Input: franchiseId={}, branchId={}, path={}", franchiseId, branchId, request.path()))
+                .doOnNext(dto -> log.info("Method: addProductById - Request body: {}", dto))
+                .map(mapper::toProduct)
+                .flatMap(product -> addProductUseCase.apply(franchiseId, branchId, product))
+                .flatMap(saved -> ServerResponse.ok().bodyValue(saved))
+                .doOnSuccess(response -> log.info("Method: addProductById - Output: status=200, franchiseId={}, branchId={}", franchiseId, branchId))
+                .doOnError(error -> log.error("Method: addProductById - Error: franchiseId={}, branchId={}, message={}", franchiseId, branchId, error.getMessage(), error))
+                .onErrorResume(error -> errorHandler.handleError(error, request));
+    }
+
+    public Mono<ServerResponse> removeProductById(ServerRequest request) {
+        String franchiseId = request.pathVariable(FRANCHISE_ID);
+        String branchId = request.pathVariable(BRANCH_ID);
+        String productId = request.pathVariable(PRODUCT_ID);
+
+        return removeProductUseCase.apply(franchiseId, branchId, productId)
+                .doOnSubscribe(s -> log.info("Method: removeProductById - Input: franchiseId={}, branchId={}, productId={}, path={}", franchiseId, branchId, productId, request.path()))
+                .flatMap(updatedFranchise -> ServerResponse.ok().bodyValue(updatedFranchise))
+                .doOnSuccess(response -> log.info("Method: removeProductById - Output: status=200, franchiseId={}, branchId={}, productId={}", franchiseId, branchId, productId))
+                .doOnError(error -> log.error("Method: removeProductById - Error: franchiseId={}, branchId={}, productId={}, message={}", franchiseId, branchId, productId, error.getMessage(), error))
+                .onErrorResume(error -> errorHandler.handleError(error, request));
+    }
+
+    public Mono<ServerResponse> updateStockById(ServerRequest request) {
+        String franchiseId = request.pathVariable(FRANCHISE_ID);
+        String branchId = request.pathVariable(BRANCH_ID);
+        String productId = request.pathVariable(PRODUCT_ID);
+
+        return request.bodyToMono(UpdateStockRequest.class)
+                .doOnSubscribe(s -> log.info("Method: updateStockById - Input: franchiseId={}, branchId={}, productId={}, path={}", franchiseId, branchId, productId, request.path()))
+                .doOnNext(dto -> log.info("Method: updateStockById - Request body: {}", dto))
+                .flatMap(dto -> updateStockUseCase.apply(franchiseId, branchId, productId, dto.getStock()))
+                .flatMap(updatedFranchise -> ServerResponse.ok().bodyValue(updatedFranchise))
+                .doOnSuccess(response -> log.info("Method: updateStockById - Output: status=200, franchiseId={}, branchId={}, productId={}", franchiseId, branchId, productId))
+                .doOnError(error -> log.error("Method: updateStockById - Error: franchiseId={}, branchId={}, productId={}, message={}", franchiseId, branchId, productId, error.getMessage(), error))
+                .onErrorResume(error -> errorHandler.handleError(error, request));
+    }
+
+    public Mono<ServerResponse> updateBranchNameById(ServerRequest request) {
+        String id = request.pathVariable(FRANCHISE_ID);
+        String branchId = request.pathVariable(BRANCH_ID);
+
+        return request.bodyToMono(UpdateNameRequest.class)
+                .doOnSubscribe(s -> log.info("Method: updateBranchNameById - Input: franchiseId={}, branchId={}, path={}", id, branchId, request.path()))
+                .doOnNext(dto -> log.info("Method: updateBranchNameById - Request body: {}", dto))
+                .flatMap(dto -> updateBranchNameUseCase.apply(id, branchId, dto.getName()))
+                .flatMap(f -> ServerResponse.ok().bodyValue(f))
+                .doOnSuccess(response -> log.info("Method: updateBranchNameById - Output: status=200, franchiseId={}, branchId={}", id, branchId))
+                .doOnError(error -> log.error("Method: updateBranchNameById - Error: franchiseId={}, branchId={}, message={}", id, branchId, error.getMessage(), error))
+                .onErrorResume(error -> errorHandler.handleError(error, request));
+    }
+
+    public Mono<ServerResponse> updateProductNameById(ServerRequest request) {
+        String id = request.pathVariable(FRANCHISE_ID);
+        String branchId = request.pathVariable(BRANCH_ID);
+        String productId = request.pathVariable(PRODUCT_ID);
+
+        return request.bodyToMono(UpdateNameRequest.class)
+                .doOnSubscribe(s -> log.info("Method: updateProductNameById - Input: franchiseId={}, branchId={}, productId={}, path={}", id, branchId, productId, request.path()))
+                .doOnNext(dto -> log.info("Method: updateProductNameById - Request body: {}", dto))
+                .flatMap(dto -> updateProductNameUseCase.apply(id, branchId, productId, dto.getName()))
+                .flatMap(f -> ServerResponse.ok().bodyValue(f))
+                .doOnSuccess(response -> log.info("Method: updateProductNameById - Output: status=200, franchiseId={}, branchId={}, productId={}", id, branchId, productId))
+                .doOnError(error -> log.error("Method: updateProductNameById - Error: franchiseId={}, branchId={}, productId={}, message={}", id, branchId, productId, error.getMessage(), error))
+                .onErrorResume(error -> errorHandler.handleError(error, request));
+    }
+
+    /**
+     * Aplica todas las operaciones con una lectura y una escritura. Responde 200 con el resultado
+     * de cada operación y, si alguna se aplicó, el ETag de la nueva versión.
+     */
+    public Mono<ServerResponse> executeBatch(ServerRequest request) {
+        String franchiseId = request.pathVariable(FRANCHISE_ID);
+
+        return request.bodyToMono(BatchRequest.class)
+                .doOnSubscribe(s -> log.info("Method: executeBatch - Input: franchiseId={}, path={}", franchiseId, request.path()))
+                .switchIfEmpty(Mono.error(new ValidationException("El cuerpo de la petición es obligatorio")))
+                .map(mapper::toBatchOperations)
+                .flatMap(operations -> executeBatchUseCase.apply(franchiseId, operations))
+                .flatMap(result -> withETag(ServerResponse.ok(), Optional.ofNullable(result.getVersion()).map(EntityTags::forVersion))
+                        .bodyValue(result))
+                .doOnSuccess(response -> log.info("Method: executeBatch - Output: status=200, franchiseId={}", franchiseId))
+                .doOnError(error -> log.error("Method: executeBatch - Error: franchiseId={}, message={}", franchiseId, error.getMessage(), error))
+                .onErrorResume(error -> errorHandler.handleError(error, request));
+    }
+
+    /**
+     * ETag de la versión actual de la franquicia (vacío si la franquicia no existe),
+     * obtenido con una consulta que solo proyecta el campo de versión.
+     */
+    private Mono<Optional<String>> currentETag(String franchiseId) {
+        return findFranchiseVersionUseCase.apply(franchiseId)
+                .map(EntityTags::forVersion)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty());
+    }
+
+    private static int intParam(ServerRequest request, String name, int defaultValue) {
+        return optionalIntParam(request, name).orElse(defaultValue);
+    }
+
+    private static Optional<Integer> optionalIntParam(ServerRequest request, String name) {
+        return request.queryParam(name)
+                .map(value -> {
+                    try {
+                        return Integer.parseInt(value.trim());
+                    } catch (NumberFormatException e) {
+                        throw new ValidationException("El parámetro '" + name + "' debe ser un número entero");
+                    }
+                });
+    }
+
+    private static <E extends Enum<E>> E enumParam(ServerRequest request, String name, Class<E> type, E defaultValue) {
+        return request.queryParam(name)
+                .map(value -> {
+                    try {
+                        return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+                    } catch (IllegalArgumentException e) {
+                        throw new ValidationException("Valor inválido para '" + name + "': " + value);
+                    }
+                })
+                .orElse(defaultValue);
+    }
+
+    /**
+     * Tipo de streaming negociado, o JSON (arreglo, también escrito a medida que llegan los elementos).
+     */
+    private static MediaType streamingOrJson(ServerRequest request) {
+        return StreamingResponses.negotiate(request).orElse(MediaType.APPLICATION_JSON);
+    }
+
+    private Mono<ServerResponse> notModified(String etag) {
+        return ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+    }
+
+    /**
+     * El cuerpo se negocia por {@code Accept} (JSON, CBOR, Smile, NDJSON, SSE) con el mismo ETag
+     * de versión, así que las cachés compartidas deben distinguir las representaciones por ese header.
+     */
+    private static ServerResponse.BodyBuilder withETag(ServerResponse.BodyBuilder builder, Optional<String> etag) {
+        builder.varyBy(HttpHeaders.ACCEPT);
+        return etag.map(builder::eTag).orElse(builder);
+    }
+
+    private record TopStockParams(int limit, StockRanking ranking, StockRankingScope scope) {
+    }
+
+    private record StockRangeParams(int minStock, int maxStock, StockRangeCursor after, int limit) {
+    }
 }
@@ -1,6 +1,11 @@
 package com.nequi.franchise.infrastructure.entrypoints.reactiveweb;
 
+import com.nequi.franchise.domain.model.franchise.BatchResult;
+import com.nequi.franchise.domain.model.franchise.FranchiseStats;
+import com.nequi.franchise.domain.model.franchise.FranchiseSummary;
 import com.nequi.franchise.infrastructure.entrypoints.reactiveweb.dto.*;
+import com.nequi.franchise.infrastructure.entrypoints.reactiveweb.helper.RouteMetrics;
+import com.nequi.franchise.infrastructure.entrypoints.reactiveweb.helper.RouteMetrics.Addressing;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.core.fn.builders.operation.Builder;
@@ -21,7 +26,10 @@ import static org.springdoc.webflux.core.fn.SpringdocRouteBuilder.route;
 public class FranchiseRouter {
 
     private final FranchiseHandler handler;
+    private final RouteMetrics metrics;
     private static final String TAG_FRANCHISE = "Franquicias";
+    private static final String BY_ID_PATH = "/api/franchises/{franchiseId}/branches/by-id/{branchId}";
+    private static final String STREAMING_NOTE = " Con Accept application/x-ndjson o text/event-stream cada elemento se escribe apenas se produce.";
 
     @Bean
     public RouterFunction<ServerResponse> franchiseRoutes() {
@@ -29,29 +37,58 @@ public class FranchiseRouter {
                 // 1. Crear Franquicia
                 .POST("/api/franchises", handler::createFranchise, docCreateFranchise())
 
+                // 1.1 Listar Franquicias (paginación por keyset)
+                .GET("/api/franchises", handler::listFranchises, docListFranchises())
+
+                // 1.2 Consultar Franquicia (con selección de campos)
+                .GET("/api/franchises/{franchiseId}", handler::getFranchise, docGetFranchise())
+
                 // 2. Agregar Sucursal
                 .POST("/api/franchises/{franchiseId}/branches", handler::addBranch, docAddBranch())
 
                 // 3. Agregar Producto
-                .POST("/api/franchises/{franchiseId}/branches/{branchName}/products", handler::addProduct, docAddProduct())
+                .POST("/api/franchises/{franchiseId}/branches/{branchName}/products", metrics.timed("addProduct", Addressing.NAME, handler::addProduct), docAddProduct())
 
                 // 4. Eliminar Producto
-                .DELETE("/api/franchises/{franchiseId}/branches/{branchName}/products/{productName}", handler::removeProduct, docRemoveProduct())
+                .DELETE("/api/franchises/{franchiseId}/branches/{branchName}/products/{productName}", metrics.timed("removeProduct", Addressing.NAME, handler::removeProduct), docRemoveProduct())
 
                 // 5. Actualizar Stock
-                .PATCH("/api/franchises/{franchiseId}/branches/{branchName}/products/{productName}", handler::updateStock, docUpdateStock())
+                .PATCH("/api/franchises/{franchiseId}/branches/{branchName}/products/{productName}", metrics.timed("updateStock", Addressing.NAME, handler::updateStock), docUpdateStock())
 
                 // 6. Consultar Mayor Stock
                 .GET("/api/franchises/{franchiseId}/products/max-stock", handler::getMaxStockProducts, docGetMaxStock())
 
+                // 6.1 Ranking de productos por stock (top/bottom N)
+                .GET("/api/franchises/{franchiseId}/products/top-stock", handler::getTopStockProducts, docGetTopStock())
+
+                // 6.2 Productos por rango de stock (una franquicia o todas)
+                .GET("/api/franchises/{franchiseId}/products/stock-range", handler::getProductsByStockRange, docGetStockRange())
+                .GET("/api/products/stock-range", handler::getProductsByStockRange, docGetStockRangeAll())
+
+                // 6.3 Autocompletado de nombres de producto
+                .GET("/api/franchises/{franchiseId}/products/suggest", handler::suggestProducts, docSuggestProducts())
+
+                // 6.4 Estadísticas de inventario
+                .GET("/api/franchises/{franchiseId}/stats", handler::getFranchiseStats, docGetFranchiseStats())
+
                 // 7. Actualizar Nombre Franquicia
                 .PATCH("/api/franchises/{franchiseId}", handler::updateFranchiseName, docUpdateFranchiseName())
 
                 // 8. Actualizar Nombre Sucursal
-                .PATCH("/api/franchises/{franchiseId}/branches/{branchName}", handler::updateBranchName, docUpdateBranchName())
+                .PATCH("/api/franchises/{franchiseId}/branches/{branchName}", metrics.timed("updateBranchName", Addressing.NAME, handler::updateBranchName), docUpdateBranchName())
 
                 // 9. Actualizar Nombre Producto
-                .PATCH("/api/franchises/{franchiseId}/branches/{branchName}/products/{productName}/rename", handler::updateProductName, docUpdateProductName())
+                .PATCH("/api/franchises/{franchiseId}/branches/{branchName}/products/{productName}/rename", metrics.timed("updateProductName", Addressing.NAME, handler::updateProductName), docUpdateProductName())
+
+                // 3-5, 8-9 por ID: mismas operaciones sin resolver nombres de sucursal ni de producto
+                .POST(BY_ID_PATH + "/products", metrics.timed("addProduct", Addressing.ID, handler::addProductById), docAddProductById())
+                .DELETE(BY_ID_PATH + "/products/{productId}", metrics.timed("removeProduct", Addressing.ID, handler::removeProductById), docRemoveProductById())
+                .PATCH(BY_ID_PATH + "/products/{productId}", metrics.timed("updateStock", Addressing.ID, handler::updateStockById), docUpdateStockById())
+                .PATCH(BY_ID_PATH, metrics.timed("updateBranchName", Addressing.ID, handler::updateBranchNameById), docUpdateBranchNameById())
+                .PATCH(BY_ID_PATH + "/products/{productId}/rename", metrics.timed("updateProductName", Addressing.ID, handler::updateProductNameById), docUpdateProductNameById())
+
+                // 10. Operaciones en lote
+                .POST("/api/franchises/{franchiseId}/batch", handler::executeBatch, docExecuteBatch())
 
                 .build();
     }
@@ -68,6 +105,37 @@ public class FranchiseRouter {
                 .response(responseBuilder().responseCode("409").description("Ya existe una franquicia con ese nombre"));
     }
 
+    private Consumer<Builder> docListFranchises() {
+        return ops -> ops.tag(TAG_FRANCHISE)
+                .operationId("listFranchises")
+                .summary("Listar franquicias")
+                .description("Resúmenes en orden de ID, paginados por keyset sobre el índice de _id: cada página cuesta lo mismo "
+                        + "sin importar cuántas se hayan recorrido. Si hay más resultados, el encabezado X-Next-Cursor trae el valor "
+                        + "a enviar en 'after' para pedir la página siguiente.")
+                .parameter(parameterBuilder().in(ParameterIn.QUERY).name("limit").description("Tamaño de página (1-500, por defecto 50)").example("50"))
+                .parameter(parameterBuilder().in(ParameterIn.QUERY).name("after").description("Valor de X-Next-Cursor de la página anterior"))
+                .parameter(parameterBuilder().in(ParameterIn.QUERY).name("namePrefix").description("Prefijo del nombre, sin distinguir mayúsculas").example("Franq"))
+                .response(responseBuilder().responseCode("200").description("Página de franquicias").implementationArray(FranchiseSummary.class))
+                .response(responseBuilder().responseCode("400").description("Tamaño de página inválido"));
+    }
+
+    private Consumer<Builder> docGetFranchise() {
+        return ops -> ops.tag(TAG_FRANCHISE)
+                .operationId("getFranchise")
+                .summary("Consultar franquicia por ID")
+                .description("Con 'fields' solo se leen y devuelven los campos indicados (proyección en MongoDB); "
+                        + "elegir un campo compuesto incluye todos sus hijos. El ID siempre se devuelve. Soporta If-None-Match.")
+                .parameter(parameterBuilder().in(ParameterIn.PATH).name("franchiseId").description("ID de la franquicia").example("507f1f77bcf86cd799439011"))
+                .parameter(parameterBuilder().in(ParameterIn.QUERY).name("fields")
+                        .description("Campos separados por coma: name, branches, branches.branchId, branches.name, branches.products, "
+                                + "branches.products.productId, branches.products.name, branches.products.stock")
+                        .example("name,branches.name"))
+                .response(responseBuilder().responseCode("200").description("Franquicia encontrada"))
+                .response(responseBuilder().responseCode("304").description("Sin cambios desde el ETag indicado"))
+                .response(responseBuilder().responseCode("400").description("Campo no soportado en 'fields'"))
+                .response(responseBuilder().responseCode("404").description("Franquicia no encontrada"));
+    }
+
     private Consumer<Builder> docAddBranch() {
         return ops -> ops.tag(TAG_FRANCHISE)
                 .operationId("addBranch")
@@ -115,11 +183,76 @@ public class FranchiseRouter {
         return ops -> ops.tag(TAG_FRANCHISE)
                 .operationId("getMaxStockProducts")
                 .summary("Obtener productos con mayor stock por sucursal")
+                .description("Responde 404 si ninguna sucursal tiene productos con stock conocido." + STREAMING_NOTE)
                 .parameter(parameterBuilder().in(ParameterIn.PATH).name("franchiseId").description("ID de la franquicia").example("507f1f77bcf86cd799439011"))
                 .response(responseBuilder().responseCode("200").description("Lista generada exitosamente"))
                 .response(responseBuilder().responseCode("404").description("Franquicia no encontrada"));
     }
 
+    private Consumer<Builder> docGetTopStock() {
+        return ops -> ops.tag(TAG_FRANCHISE)
+                .operationId("getTopStockProducts")
+                .summary("Obtener los N productos con mayor o menor stock")
+                .description("Ranking por sucursal o de toda la franquicia. Los productos sin stock conocido se excluyen." + STREAMING_NOTE)
+                .parameter(parameterBuilder().in(ParameterIn.PATH).name("franchiseId").description("ID de la franquicia").example("507f1f77bcf86cd799439011"))
+                .parameter(parameterBuilder().in(ParameterIn.QUERY).name("limit").description("Cantidad de productos (1-100, por defecto 10)").example("5"))
+                .parameter(parameterBuilder().in(ParameterIn.QUERY).name("order").description("highest (por defecto) o lowest").example("highest"))
+                .parameter(parameterBuilder().in(ParameterIn.QUERY).name("scope").description("branch (por defecto) o franchise").example("branch"))
+                .response(responseBuilder().responseCode("200").description("Ranking generado exitosamente"))
+                .response(responseBuilder().responseCode("400").description("Parámetros inválidos"))
+                .response(responseBuilder().responseCode("404").description("Franquicia no encontrada"));
+    }
+
+    private Consumer<Builder> docGetStockRange() {
+        return ops -> stockRangeParameters(ops.tag(TAG_FRANCHISE)
+                .operationId("getProductsByStockRange")
+                .summary("Obtener productos de una franquicia con stock en un rango")
+                .parameter(parameterBuilder().in(ParameterIn.PATH).name("franchiseId").description("ID de la franquicia").example("507f1f77bcf86cd799439011")));
+    }
+
+    private Consumer<Builder> docGetStockRangeAll() {
+        return ops -> stockRangeParameters(ops.tag(TAG_FRANCHISE)
+                .operationId("getAllProductsByStockRange")
+                .summary("Obtener productos de todas las franquicias con stock en un rango"));
+    }
+
+    private static void stockRangeParameters(Builder ops) {
+        ops.description("Rango [min, max). Los resultados se transmiten en orden estable; para la página siguiente "
+                        + "se envía en 'after' el cursor del último elemento recibido." + STREAMING_NOTE)
+                .parameter(parameterBuilder().in(ParameterIn.QUERY).name("min").description("Stock mínimo, inclusivo (por defecto 0)").example("0"))
+                .parameter(parameterBuilder().in(ParameterIn.QUERY).name("max").description("Stock máximo, exclusivo (por defecto sin límite)").example("10"))
+                .parameter(parameterBuilder().in(ParameterIn.QUERY).name("limit").description("Tamaño de página (1-1000, por defecto 100)").example("100"))
+                .parameter(parameterBuilder().in(ParameterIn.QUERY).name("after").description("Cursor del último elemento de la página anterior"))
+                .response(responseBuilder().responseCode("200").description("Productos en el rango"))
+                .response(responseBuilder().responseCode("400").description("Rango, límite o cursor inválido"));
+    }
+
+    private Consumer<Builder> docSuggestProducts() {
+        return ops -> ops.tag(TAG_FRANCHISE)
+                .operationId("suggestProducts")
+                .summary("Autocompletar nombres de producto por prefijo")
+                .description("Busca sin distinguir mayúsculas en un índice de prefijos en memoria, mantenido con cada alta, renombre y baja de productos."
+                        + STREAMING_NOTE)
+                .parameter(parameterBuilder().in(ParameterIn.PATH).name("franchiseId").description("ID de la franquicia").example("507f1f77bcf86cd799439011"))
+                .parameter(parameterBuilder().in(ParameterIn.QUERY).name("q").description("Prefijo del nombre").required(true).example("lap"))
+                .parameter(parameterBuilder().in(ParameterIn.QUERY).name("limit").description("Cantidad máxima de sugerencias (1-50, por defecto 10)").example("10"))
+                .response(responseBuilder().responseCode("200").description("Sugerencias en orden alfabético"))
+                .response(responseBuilder().responseCode("400").description("Prefijo o límite inválido"))
+                .response(responseBuilder().responseCode("404").description("Franquicia no encontrada"));
+    }
+
+    private Consumer<Builder> docGetFranchiseStats() {
+        return ops -> ops.tag(TAG_FRANCHISE)
+                .operationId("getFranchiseStats")
+                .summary("Obtener estadísticas de inventario de la franquicia")
+                .description("Totales, promedios, cantidad de productos, productos en cero y percentiles (p50, p90, p99) de stock, "
+                        + "por sucursal y de toda la franquicia, calculados en un solo recorrido. Soporta If-None-Match.")
+                .parameter(parameterBuilder().in(ParameterIn.PATH).name("franchiseId").description("ID de la franquicia").example("507f1f77bcf86cd799439011"))
+                .response(responseBuilder().responseCode("200").description("Estadísticas calculadas").implementation(FranchiseStats.class))
+                .response(responseBuilder().responseCode("304").description("Sin cambios desde el ETag indicado"))
+                .response(responseBuilder().responseCode("404").description("Franquicia no encontrada"));
+    }
+
     private Consumer<Builder> docUpdateFranchiseName() {
         return ops -> ops.tag(TAG_FRANCHISE)
                 .operationId("updateFranchiseName")
@@ -149,5 +282,74 @@ public class FranchiseRouter {
                 .requestBody(requestBodyBuilder().implementation(UpdateNameRequest.class).required(true))
                 .response(responseBuilder().responseCode("200").description("Nombre actualizado"));
     }
-}
 
+    private Consumer<Builder> docAddProductById() {
+        return ops -> ops.tag(TAG_FRANCHISE)
+                .operationId("addProductById")
+                .summary("Agregar producto a sucursal (por ID)")
+                .parameter(parameterBuilder().in(ParameterIn.PATH).name("franchiseId").description("ID de la franquicia").example("507f1f77bcf86cd799439011"))
+                .parameter(parameterBuilder().in(ParameterIn.PATH).name("branchId").description("ID de la sucursal").example("01JA2XQ5S8K3M9V7T4R6P0N1BD"))
+                .requestBody(requestBodyBuilder().implementation(AddProductRequest.class).required(true))
+                .response(responseBuilder().responseCode("200").description("Producto agregado exitosamente"))
+                .response(responseBuilder().responseCode("404").description("Franquicia o sucursal no encontrada"));
+    }
+
+    private Consumer<Builder> docRemoveProductById() {
+        return ops -> ops.tag(TAG_FRANCHISE)
+                .operationId("removeProductById")
+                .summary("Eliminar producto de sucursal (por ID)")
+                .parameter(parameterBuilder().in(ParameterIn.PATH).name("franchiseId").description("ID de la franquicia").example("507f1f77bcf86cd799439011"))
+                .parameter(parameterBuilder().in(ParameterIn.PATH).name("branchId").description("ID de la sucursal").example("01JA2XQ5S8K3M9V7T4R6P0N1BD"))
+                .parameter(parameterBuilder().in(ParameterIn.PATH).name("productId").description("ID del producto a eliminar").example("01JA2XQ5S8K3M9V7T4R6P0N1BE"))
+                .response(responseBuilder().responseCode("200").description("Producto eliminado exitosamente"))
+                .response(responseBuilder().responseCode("404").description("Recurso no encontrado"));
+    }
+
+    private Consumer<Builder> docUpdateStockById() {
+        return ops -> ops.tag(TAG_FRANCHISE)
+                .operationId("updateStockById")
+                .summary("Actualizar stock de producto (por ID)")
+                .parameter(parameterBuilder().in(ParameterIn.PATH).name("franchiseId").description("ID de la franquicia").example("507f1f77bcf86cd799439011"))
+                .parameter(parameterBuilder().in(ParameterIn.PATH).name("branchId").description("ID de la sucursal").example("01JA2XQ5S8K3M9V7T4R6P0N1BD"))
+                .parameter(parameterBuilder().in(ParameterIn.PATH).name("productId").description("ID del producto").example("01JA2XQ5S8K3M9V7T4R6P0N1BE"))
+                .requestBody(requestBodyBuilder().implementation(UpdateStockRequest.class).required(true))
+                .response(responseBuilder().responseCode("200").description("Stock actualizado"))
+                .response(responseBuilder().responseCode("400").description("Stock inválido"))
+                .response(responseBuilder().responseCode("404").description("Producto no encontrado"));
+    }
+
+    private Consumer<Builder> docUpdateBranchNameById() {
+        return ops -> ops.tag(TAG_FRANCHISE)
+                .operationId("updateBranchNameById")
+                .summary("Actualizar nombre de sucursal (por ID)")
+                .parameter(parameterBuilder().in(ParameterIn.PATH).name("franchiseId").description("ID de la franquicia").example("507f1f77bcf86cd799439011"))
+                .parameter(parameterBuilder().in(ParameterIn.PATH).name("branchId").description("ID de la sucursal").example("01JA2XQ5S8K3M9V7T4R6P0N1BD"))
+                .requestBody(requestBodyBuilder().implementation(UpdateNameRequest.class).required(true))
+                .response(responseBuilder().responseCode("200").description("Nombre actualizado"));
+    }
+
+    private Consumer<Builder> docUpdateProductNameById() {
+        return ops -> ops.tag(TAG_FRANCHISE)
+                .operationId("updateProductNameById")
+                .summary("Actualizar nombre de producto (por ID)")
+                .parameter(parameterBuilder().in(ParameterIn.PATH).name("franchiseId").description("ID de la franquicia").example("507f1f77bcf86cd799439011"))
+                .parameter(parameterBuilder().in(ParameterIn.PATH).name("branchId").description("ID de la sucursal").example("01JA2XQ5S8K3M9V7T4R6P0N1BD"))
+                .parameter(parameterBuilder().in(ParameterIn.PATH).name("productId").description("ID del producto").example("01JA2XQ5S8K3M9V7T4R6P0N1BE"))
+                .requestBody(requestBodyBuilder().implementation(UpdateNameRequest.class).required(true))
+                .response(responseBuilder().responseCode("200").description("Nombre actualizado"));
+    }
+
+    private Consumer<Builder> docExecuteBatch() {
+        return ops -> ops.tag(TAG_FRANCHISE)
+                .operationId("executeBatch")
+                .summary("Aplicar un lote de operaciones")
+                .description("Aplica en orden hasta 100 operaciones (ADD_BRANCH, RENAME_BRANCH, ADD_PRODUCT, REMOVE_PRODUCT, "
+                        + "UPDATE_STOCK, RENAME_PRODUCT) con una lectura y una escritura de la franquicia. Cada operación ve el "
+                        + "efecto de las anteriores; las inválidas se reportan como FAILED sin afectar al resto.")
+                .parameter(parameterBuilder().in(ParameterIn.PATH).name("franchiseId").description("ID de la franquicia").example("507f1f77bcf86cd799439011"))
+                .requestBody(requestBodyBuilder().implementation(BatchRequest.class).required(true))
+                .response(responseBuilder().responseCode("200").description("Resultado de cada operación").implementation(BatchResult.class))
+                .response(responseBuilder().responseCode("400").description("Lote vacío o con más de 100 operaciones"))
+                .response(responseBuilder().responseCode("404").description("Franquicia no encontrada"));
+    }
+}
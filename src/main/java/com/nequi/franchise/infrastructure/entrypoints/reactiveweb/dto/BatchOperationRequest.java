@@ -0,0 +1,32 @@
+package com.nequi.franchise.infrastructure.entrypoints.reactiveweb.dto;
+
+import com.nequi.franchise.domain.model.franchise.BatchOperationType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@Schema(description = "Operación de un lote. La sucursal y el producto se indican por ID o por nombre")
+public class BatchOperationRequest {
+    @Schema(description = "Tipo de operación", example = "UPDATE_STOCK", requiredMode = Schema.RequiredMode.REQUIRED)
+    private BatchOperationType op;
+
+    @Schema(description = "ID de la sucursal", example = "01JA2XQ5S8K3M9V7T4R6P0N1BD")
+    private String branchId;
+
+    @Schema(description = "Nombre de la sucursal (si no se envía branchId)", example = "Sucursal Centro")
+    private String branchName;
+
+    @Schema(description = "ID del producto", example = "01JA2XQ5S8K3M9V7T4R6P0N1BE")
+    private String productId;
+
+    @Schema(description = "Nombre del producto (si no se envía productId)", example = "Laptop Dell XPS 15")
+    private String productName;
+
+    @Schema(description = "Nombre de la sucursal o producto a agregar, o nuevo nombre al renombrar", example = "Sucursal Norte")
+    private String name;
+
+    @Schema(description = "Stock para ADD_PRODUCT (opcional) o UPDATE_STOCK", example = "75", minimum = "0")
+    private Integer stock;
+}
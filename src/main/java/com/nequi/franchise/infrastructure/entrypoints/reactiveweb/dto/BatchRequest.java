@@ -0,0 +1,16 @@
+package com.nequi.franchise.infrastructure.entrypoints.reactiveweb.dto;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@Schema(description = "Lote de operaciones sobre una franquicia, aplicadas en orden")
+public class BatchRequest {
+    @ArraySchema(schema = @Schema(implementation = BatchOperationRequest.class), maxItems = 100)
+    private List<BatchOperationRequest> operations;
+}
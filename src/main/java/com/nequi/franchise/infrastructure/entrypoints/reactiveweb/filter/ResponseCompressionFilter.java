@@ -0,0 +1,304 @@
+package com.nequi.franchise.infrastructure.entrypoints.reactiveweb.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Comprime con gzip las respuestas cuyo tipo está en la lista permitida y cuyo tamaño alcanza el
+ * umbral, si el cliente envía {@code Accept-Encoding: gzip}.
+ * <p>
+ * Se hace aquí y no con {@code server.compression} de Netty para medir cada compresión:
+ * bytes originales, bytes ahorrados y tiempo de CPU del hilo que comprime. Las respuestas con
+ * {@code Content-Length} menor al umbral (como los cuerpos de error) pasan sin acumularse; las
+ * que lo declaran hasta {@code max-buffered-size} se comprimen completas, y las demás (los
+ * arreglos JSON transmitidos de {@code top-stock} y {@code stock-range}) se comprimen tramo a
+ * tramo, acumulando solo hasta alcanzar el umbral. NDJSON y SSE, con flush por elemento, no se
+ * tocan. El ETag de una respuesta comprimida pasa a ser débil: sus bytes no son los de la
+ * representación sin comprimir con la misma versión.
+ */
+@Component
+public class ResponseCompressionFilter implements WebFilter {
+    private static final String GZIP = "gzip";
+    private static final String WEAK_PREFIX = "W/";
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final boolean enabled;
+    private final int minResponseSize;
+    private final int maxBufferedSize;
+    private final int level;
+    private final List<MediaType> mimeTypes;
+    private final Counter originalBytes;
+    private final Counter savedBytes;
+    private final Counter skipped;
+    private final Timer cpuTime;
+
+    public ResponseCompressionFilter(@Value("${franchise.compression.enabled:true}") boolean enabled,
+                                     @Value("${franchise.compression.min-response-size:1024}") int minResponseSize,
+                                     @Value("${franchise.compression.max-buffered-size:1048576}") int maxBufferedSize,
+                                     @Value("${franchise.compression.level:6}") int level,
+                                     @Value("${franchise.compression.mime-types:application/json,application/problem+json,text/plain}") String mimeTypes,
+                                     MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.minResponseSize = Math.max(0, minResponseSize);
+        this.maxBufferedSize = Math.max(this.minResponseSize, maxBufferedSize);
+        this.level = level;
+        this.mimeTypes = MediaType.parseMediaTypes(mimeTypes);
+        this.originalBytes = Counter.builder("franchise.http.compression.original")
+                .description("Bytes de las respuestas comprimidas antes de comprimir")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.savedBytes = Counter.builder("franchise.http.compression.saved")
+                .description("Bytes ahorrados por la compresión de respuestas")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.skipped = Counter.builder("franchise.http.compression.skipped")
+                .description("Respuestas de tipo comprimible que no alcanzaron el umbral")
+                .register(meterRegistry);
+        this.cpuTime = Timer.builder("franchise.http.compression.cpu")
+                .description("Tiempo de CPU del hilo que comprime cada respuesta")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!enabled || !acceptsGzip(exchange.getRequest())) {
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange.mutate().response(new CompressingResponse(exchange.getResponse())).build());
+    }
+
+    private static boolean acceptsGzip(ServerHttpRequest request) {
+        return request.getHeaders().getOrEmpty(HttpHeaders.ACCEPT_ENCODING).stream()
+                .flatMap(value -> List.of(value.split(",")).stream())
+                .map(coding -> coding.trim().toLowerCase(Locale.ROOT))
+                .anyMatch(coding -> coding.equals(GZIP) || (coding.startsWith(GZIP + ";") && !coding.matches("gzip;\\s*q=0(\\.0*)?")));
+    }
+
+    private final class CompressingResponse extends ServerHttpResponseDecorator {
+
+        private CompressingResponse(ServerHttpResponse delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpHeaders headers = getHeaders();
+            MediaType contentType = headers.getContentType();
+            if (contentType == null || headers.containsKey(HttpHeaders.CONTENT_ENCODING)
+                    || mimeTypes.stream().noneMatch(type -> type.isCompatibleWith(contentType))) {
+                return super.writeWith(body);
+            }
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            long declaredLength = headers.getContentLength();
+            if (declaredLength >= 0 && declaredLength < minResponseSize) {
+                skipped.increment();
+                return super.writeWith(body);
+            }
+            if (declaredLength >= 0 && declaredLength <= maxBufferedSize) {
+                return DataBufferUtils.join(body, maxBufferedSize).flatMap(joined -> {
+                    int size = joined.readableByteCount();
+                    byte[] compressed = gzip(joined, size);
+                    originalBytes.increment(size);
+                    savedBytes.increment(Math.max(0, size - compressed.length));
+                    markCompressed(headers);
+                    headers.setContentLength(compressed.length);
+                    return super.writeWith(Mono.just(bufferFactory().wrap(compressed)));
+                });
+            }
+            // Sin Content-Length (o mayor al tope): se acumula solo hasta el umbral para decidir
+            return super.writeWith(Flux.<DataBuffer>from(body)
+                    .bufferUntil(new ThresholdReached())
+                    .switchOnFirst((first, chunks) -> {
+                        Flux<DataBuffer> buffers = chunks.flatMapIterable(Function.identity());
+                        if (first.hasValue() && sizeOf(first.get()) < minResponseSize) {
+                            // El primer tramo solo queda bajo el umbral si el cuerpo ya terminó
+                            skipped.increment();
+                            return buffers;
+                        }
+                        if (!first.hasValue()) {
+                            return buffers;
+                        }
+                        markCompressed(headers);
+                        headers.remove(HttpHeaders.CONTENT_LENGTH);
+                        return Flux.using(GzipChunks::new,
+                                gzip -> buffers.map(gzip::compress)
+                                        .concatWith(Mono.fromSupplier(gzip::finish))
+                                        .filter(bytes -> bytes.length > 0)
+                                        .map(bytes -> bufferFactory().wrap(bytes)),
+                                GzipChunks::end);
+                    })
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release));
+        }
+
+        /**
+         * Un 304 a un cliente que acepta gzip valida una respuesta que pudo llegar comprimida, con
+         * el ETag débil; se responde con el mismo para que la caché lo reconozca.
+         */
+        @Override
+        public Mono<Void> setComplete() {
+            if (HttpStatus.NOT_MODIFIED.equals(getStatusCode())) {
+                weakenETag(getHeaders());
+            }
+            return super.setComplete();
+        }
+
+        private void markCompressed(HttpHeaders headers) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, GZIP);
+            weakenETag(headers);
+        }
+
+        private byte[] gzip(DataBuffer buffer, int size) {
+            boolean cpuTimeSupported = THREADS.isCurrentThreadCpuTimeSupported();
+            long start = cpuTimeSupported ? THREADS.getCurrentThreadCpuTime() : System.nanoTime();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, size / 4));
+            try (InputStream in = buffer.asInputStream(true);
+                 GZIPOutputStream gzip = new LeveledGzipOutputStream(out, level)) {
+                in.transferTo(gzip);
+            } catch (IOException e) {
+                throw new UncheckedIOException("No fue posible comprimir la respuesta", e);
+            }
+            long end = cpuTimeSupported ? THREADS.getCurrentThreadCpuTime() : System.nanoTime();
+            cpuTime.record(end - start, TimeUnit.NANOSECONDS);
+            return out.toByteArray();
+        }
+    }
+
+    private static void weakenETag(HttpHeaders headers) {
+        String etag = headers.getETag();
+        if (etag != null && !etag.startsWith(WEAK_PREFIX)) {
+            headers.setETag(WEAK_PREFIX + etag);
+        }
+    }
+
+    private static int sizeOf(List<DataBuffer> buffers) {
+        return buffers.stream().mapToInt(DataBuffer::readableByteCount).sum();
+    }
+
+    /**
+     * Cierra el primer tramo al acumular el umbral; después cada buffer es su propio tramo.
+     */
+    private final class ThresholdReached implements Predicate<DataBuffer> {
+        private long seen;
+
+        @Override
+        public boolean test(DataBuffer buffer) {
+            seen += buffer.readableByteCount();
+            return seen >= minResponseSize;
+        }
+    }
+
+    /**
+     * Formato gzip emitido por tramos: cabecera con el primero, cada tramo comprimido con
+     * {@code SYNC_FLUSH} para que el cliente lo reciba sin esperar al resto, y CRC y tamaño al final.
+     */
+    private final class GzipChunks {
+        private final Deflater deflater = new Deflater(level, true);
+        private final CRC32 crc = new CRC32();
+        private final byte[] window = new byte[8192];
+        private boolean headerWritten;
+        private long written;
+        private long cpuNanos;
+
+        private byte[] compress(DataBuffer buffer) {
+            byte[] input = new byte[buffer.readableByteCount()];
+            buffer.read(input);
+            DataBufferUtils.release(buffer);
+            long start = cpuNow();
+            crc.update(input);
+            deflater.setInput(input);
+            ByteArrayOutputStream out = start();
+            int count;
+            do {
+                count = deflater.deflate(window, 0, window.length, Deflater.SYNC_FLUSH);
+                out.write(window, 0, count);
+            } while (count == window.length);
+            return done(out, start);
+        }
+
+        private byte[] finish() {
+            long start = cpuNow();
+            ByteArrayOutputStream out = start();
+            deflater.finish();
+            while (!deflater.finished()) {
+                out.write(window, 0, deflater.deflate(window));
+            }
+            writeIntLe(out, (int) crc.getValue());
+            writeIntLe(out, (int) deflater.getBytesRead());
+            byte[] tail = done(out, start);
+            originalBytes.increment(deflater.getBytesRead());
+            savedBytes.increment(Math.max(0, deflater.getBytesRead() - written));
+            cpuTime.record(cpuNanos, TimeUnit.NANOSECONDS);
+            return tail;
+        }
+
+        private void end() {
+            deflater.end();
+        }
+
+        private ByteArrayOutputStream start() {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            if (!headerWritten) {
+                out.writeBytes(GZIP_HEADER);
+                headerWritten = true;
+            }
+            return out;
+        }
+
+        private byte[] done(ByteArrayOutputStream out, long start) {
+            cpuNanos += cpuNow() - start;
+            written += out.size();
+            return out.toByteArray();
+        }
+
+        private long cpuNow() {
+            return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : System.nanoTime();
+        }
+
+        private void writeIntLe(ByteArrayOutputStream out, int value) {
+            out.write(value);
+            out.write(value >>> 8);
+            out.write(value >>> 16);
+            out.write(value >>> 24);
+        }
+    }
+
+    private static final class LeveledGzipOutputStream extends GZIPOutputStream {
+        private LeveledGzipOutputStream(ByteArrayOutputStream out, int level) throws IOException {
+            super(out);
+            def.setLevel(level);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.nequi.franchise.infrastructure.entrypoints.reactiveweb.helper;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.server.ServerRequest;
+
+import java.util.Arrays;
+
+/**
+ * Utilidad para peticiones condicionales (ETag / If-None-Match) basadas en la
+ * versión del documento de la franquicia.
+ */
+public final class EntityTags {
+    private static final String WEAK_PREFIX = "W/";
+    private static final String ANY = "*";
+
+    private EntityTags() {
+    }
+
+    /**
+     * Construye el ETag fuerte asociado a una versión.
+     */
+    public static String forVersion(long version) {
+        return "\"v" + version + "\"";
+    }
+
+    /**
+     * Indica si alguno de los valores de If-None-Match coincide con el ETag
+     * (comparación débil, como exige RFC 9110 para If-None-Match).
+     */
+    public static boolean matches(ServerRequest request, String etag) {
+        return request.headers().header(HttpHeaders.IF_NONE_MATCH).stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(String::trim)
+                .map(tag -> tag.startsWith(WEAK_PREFIX) ? tag.substring(WEAK_PREFIX.length()) : tag)
+                .anyMatch(tag -> tag.equals(ANY) || tag.equals(etag));
+    }
+}
@@ -1,6 +1,5 @@
 package com.nequi.franchise.infrastructure.entrypoints.reactiveweb.helper;
 
-import com.nequi.franchise.domain.exception.ResourceNotFoundException;
 import com.nequi.franchise.domain.model.franchise.Branch;
 import com.nequi.franchise.domain.model.franchise.Product;
 import com.nequi.franchise.domain.model.gateway.FranchiseGateway;
@@ -26,14 +25,8 @@ public class FranchiseIdResolver {
     public Mono<String> resolveBranchId(String franchiseId, String branchName) {
         log.debug("Resolviendo branchName='{}' a branchId en franchiseId={}", branchName, franchiseId);
 
-        return franchiseGateway.findById(franchiseId)
-                .flatMap(franchise -> franchise.getBranches().stream()
-                        .filter(b -> b.getName().equalsIgnoreCase(branchName))
-                        .findFirst()
-                        .map(Branch::getBranchId)
-                        .map(Mono::just)
-                        .orElse(Mono.error(new ResourceNotFoundException("Sucursal no encontrada con nombre: " + branchName)))
-                );
+        return franchiseGateway.findBranchByName(franchiseId, branchName)
+                .map(Branch::getBranchId);
     }
 
     /**
@@ -43,14 +36,8 @@ public class FranchiseIdResolver {
         log.debug("Resolviendo productName='{}' a productId en branchId={}, franchiseId={}",
                 productName, branchId, franchiseId);
 
-        return franchiseGateway.findBranchById(franchiseId, branchId)
-                .flatMap(branch -> branch.getProducts().stream()
-                        .filter(p -> p.getName().equalsIgnoreCase(productName))
-                        .findFirst()
-                        .map(Product::getProductId)
-                        .map(Mono::just)
-                        .orElse(Mono.error(new ResourceNotFoundException("Producto no encontrado con nombre: " + productName)))
-                );
+        return franchiseGateway.findProductByName(franchiseId, branchId, productName)
+                .map(Product::getProductId);
     }
 }
 
@@ -0,0 +1,50 @@
+package com.nequi.franchise.infrastructure.entrypoints.reactiveweb.helper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.Locale;
+
+/**
+ * Latencia de las rutas de sucursales y productos por operación y por forma de direccionarlas
+ * (por nombre, que pasa por {@link FranchiseIdResolver}, o por ID), para seguir la migración de
+ * los clientes a las rutas por ID. Se mide hasta que el handler produce la respuesta.
+ */
+@Component
+@RequiredArgsConstructor
+public class RouteMetrics {
+    public static final String LATENCY_METRIC = "franchise.api.latency";
+
+    public enum Addressing {
+        NAME,
+        ID
+    }
+
+    private final MeterRegistry meterRegistry;
+
+    public HandlerFunction<ServerResponse> timed(String operation, Addressing addressing, HandlerFunction<ServerResponse> handler) {
+        return request -> Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return handler.handle(request)
+                    .doOnSuccess(response -> sample.stop(timer(operation, addressing,
+                            response != null ? Outcome.forStatus(response.statusCode().value()) : Outcome.UNKNOWN)))
+                    .doOnError(error -> sample.stop(timer(operation, addressing, Outcome.SERVER_ERROR)));
+        });
+    }
+
+    private Timer timer(String operation, Addressing addressing, Outcome outcome) {
+        return Timer.builder(LATENCY_METRIC)
+                .description("Latencia de las rutas de sucursales y productos")
+                .tag("operation", operation)
+                .tag("addressing", addressing.name().toLowerCase(Locale.ROOT))
+                .tag("outcome", outcome.name())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,73 @@
+package com.nequi.franchise.infrastructure.entrypoints.reactiveweb.helper;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Respuestas que escriben cada elemento apenas sale del {@link Flux} del caso de uso, en
+ * NDJSON ({@code application/x-ndjson}) o Server-Sent Events ({@code text/event-stream}).
+ * El códec escribe y vacía elemento por elemento y solo pide más al {@link Flux} a medida
+ * que la conexión los acepta.
+ */
+public final class StreamingResponses {
+
+    private StreamingResponses() {
+    }
+
+    /**
+     * Tipo de streaming preferido en el encabezado Accept, respetando la calidad {@code q}.
+     * Vacío si el cliente prefiere JSON, acepta cualquier tipo o no envía Accept.
+     */
+    public static Optional<MediaType> negotiate(ServerRequest request) {
+        List<MediaType> accepted = new ArrayList<>(request.headers().accept());
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType mediaType : accepted) {
+            if (mediaType.equalsTypeAndSubtype(MediaType.APPLICATION_NDJSON)) {
+                return Optional.of(MediaType.APPLICATION_NDJSON);
+            }
+            if (mediaType.equalsTypeAndSubtype(MediaType.TEXT_EVENT_STREAM)) {
+                return Optional.of(MediaType.TEXT_EVENT_STREAM);
+            }
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return Optional.empty();
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Transmite los elementos; un resultado vacío también es una respuesta 200.
+     */
+    public static <T> Mono<ServerResponse> stream(ServerResponse.BodyBuilder builder, MediaType mediaType,
+                                                  Flux<T> items, Class<T> elementType) {
+        return builder.contentType(mediaType).body(items, elementType);
+    }
+
+    /**
+     * Transmite los elementos, o responde 404 si el {@link Flux} termina sin emitir ninguno.
+     * Solo se espera al primer elemento para decidir el estado; ese elemento se reenvía con el resto
+     * sin volver a suscribirse a la fuente.
+     */
+    public static <T> Mono<ServerResponse> streamOrNotFound(ServerResponse.BodyBuilder builder, MediaType mediaType,
+                                                            Flux<T> items, Class<T> elementType) {
+        // La fuente no se cancela al completar la decisión: el cuerpo la consume después
+        return items.switchOnFirst((first, all) -> {
+                    if (first.isOnError()) {
+                        return Mono.<ServerResponse>error(first.getThrowable());
+                    }
+                    if (!first.hasValue()) {
+                        return ServerResponse.notFound().build();
+                    }
+                    return stream(builder, mediaType, all, elementType);
+                }, false)
+                .singleOrEmpty();
+    }
+}
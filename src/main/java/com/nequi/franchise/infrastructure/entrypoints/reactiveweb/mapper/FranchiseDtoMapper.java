@@ -1,13 +1,22 @@
 package com.nequi.franchise.infrastructure.entrypoints.reactiveweb.mapper;
 
+import com.nequi.franchise.domain.model.franchise.BatchOperation;
 import com.nequi.franchise.domain.model.franchise.Branch;
+import com.nequi.franchise.domain.model.franchise.FieldSelection;
 import com.nequi.franchise.domain.model.franchise.Franchise;
 import com.nequi.franchise.domain.model.franchise.Product;
 import com.nequi.franchise.infrastructure.entrypoints.reactiveweb.dto.AddBranchRequest;
 import com.nequi.franchise.infrastructure.entrypoints.reactiveweb.dto.AddProductRequest;
+import com.nequi.franchise.infrastructure.entrypoints.reactiveweb.dto.BatchRequest;
 import com.nequi.franchise.infrastructure.entrypoints.reactiveweb.dto.FranchiseRequest;
 import org.springframework.stereotype.Component;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
 @Component
 public class FranchiseDtoMapper {
 
@@ -26,8 +35,56 @@ public class FranchiseDtoMapper {
     public Product toProduct(AddProductRequest request) {
         return Product.builder()
                 .name(request.getName())
-                .stock(request.getStock())
+                .stock(Optional.ofNullable(request.getStock()).orElse(Product.UNKNOWN_STOCK))
                 .build();
     }
-}
 
+    public List<BatchOperation> toBatchOperations(BatchRequest request) {
+        return Optional.ofNullable(request.getOperations()).orElse(List.of()).stream()
+                .map(operation -> new BatchOperation(operation.getOp(), operation.getBranchId(), operation.getBranchName(),
+                        operation.getProductId(), operation.getProductName(), operation.getName(), operation.getStock()))
+                .toList();
+    }
+
+    /**
+     * Representación de la franquicia con solo los campos elegidos, con los mismos nombres
+     * y formato que {@link Franchise}; los campos no elegidos se omiten en lugar de viajar nulos.
+     */
+    public Map<String, Object> toSparseView(Franchise franchise, FieldSelection fields) {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("id", franchise.getId());
+        putIf(view, fields, "name", franchise.getName());
+        if (fields.includesAny("branches")) {
+            view.put("branches", mapList(franchise.getBranches(), branch -> toSparseView(branch, fields)));
+        }
+        return view;
+    }
+
+    private Map<String, Object> toSparseView(Branch branch, FieldSelection fields) {
+        Map<String, Object> view = new LinkedHashMap<>();
+        putIf(view, fields, "branches.branchId", branch.getBranchId());
+        putIf(view, fields, "branches.name", branch.getName());
+        if (fields.includesAny("branches.products")) {
+            view.put("products", mapList(branch.getProducts(), product -> toSparseView(product, fields)));
+        }
+        return view;
+    }
+
+    private Map<String, Object> toSparseView(Product product, FieldSelection fields) {
+        Map<String, Object> view = new LinkedHashMap<>();
+        putIf(view, fields, "branches.products.productId", product.getProductId());
+        putIf(view, fields, "branches.products.name", product.getName());
+        putIf(view, fields, "branches.products.stock", product.hasKnownStock() ? product.getStock() : null);
+        return view;
+    }
+
+    private static void putIf(Map<String, Object> view, FieldSelection fields, String path, Object value) {
+        if (fields.includes(path)) {
+            view.put(path.substring(path.lastIndexOf('.') + 1), value);
+        }
+    }
+
+    private static <T> List<Map<String, Object>> mapList(List<T> items, Function<T, Map<String, Object>> toView) {
+        return Optional.ofNullable(items).orElse(List.of()).stream().map(toView).toList();
+    }
+}
@@ -0,0 +1,112 @@
+package com.nequi.franchise.infrastructure.entrypoints.rsocket;
+
+import com.nequi.franchise.domain.exception.DomainException;
+import com.nequi.franchise.domain.model.franchise.BatchOperation;
+import com.nequi.franchise.domain.model.franchise.BatchOperationResult;
+import com.nequi.franchise.domain.model.franchise.BatchOperationType;
+import com.nequi.franchise.domain.usecase.franchise.ExecuteBatchUseCase;
+import com.nequi.franchise.infrastructure.entrypoints.rsocket.dto.StockUpdateAck;
+import com.nequi.franchise.infrastructure.entrypoints.rsocket.dto.StockUpdateMessage;
+import com.nequi.franchise.infrastructure.entrypoints.rsocket.dto.StockUpdateRejection;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Canal RSocket {@code stock.updates} (request-channel) para terminales que envían cambios de
+ * stock de forma continua.
+ * <p>
+ * Los mensajes se agrupan en tramos de hasta {@code batch-size} o lo recibido en
+ * {@code batch-window}, y cada tramo se aplica con {@link ExecuteBatchUseCase}: una lectura y una
+ * escritura por franquicia, con las mismas validaciones que la API REST. Por cada tramo se emite
+ * una confirmación con la última secuencia procesada y los mensajes rechazados.
+ * <p>
+ * Los tramos se procesan de a uno y se piden al cliente solo a medida que se confirman, así que
+ * la demanda de RSocket ({@code REQUEST_N}) frena al terminal si MongoDB se atrasa. Los errores de
+ * dominio rechazan los mensajes afectados sin cerrar el canal; cualquier otro error lo termina y
+ * el cliente debe reenviar desde la última secuencia confirmada.
+ */
+@Slf4j
+@Controller
+public class StockStreamController {
+    private final ExecuteBatchUseCase executeBatchUseCase;
+    private final int batchSize;
+    private final Duration batchWindow;
+
+    public StockStreamController(ExecuteBatchUseCase executeBatchUseCase,
+                                 @Value("${franchise.rsocket.stock.batch-size:100}") int batchSize,
+                                 @Value("${franchise.rsocket.stock.batch-window:50ms}") Duration batchWindow) {
+        this.executeBatchUseCase = executeBatchUseCase;
+        // Un tramo de una sola franquicia no puede superar el máximo de operaciones del lote
+        this.batchSize = Math.min(Math.max(1, batchSize), ExecuteBatchUseCase.MAX_OPERATIONS);
+        this.batchWindow = batchWindow;
+    }
+
+    @MessageMapping("stock.updates")
+    public Flux<StockUpdateAck> updates(Flux<StockUpdateMessage> updates) {
+        return updates
+                .bufferTimeout(batchSize, batchWindow, true)
+                .concatMap(this::applyChunk, 1)
+                .doOnSubscribe(s -> log.info("Method: StockStreamController.updates - Input: canal abierto, batchSize={}, batchWindow={}", batchSize, batchWindow))
+                .doOnComplete(() -> log.info("Method: StockStreamController.updates - Output: canal cerrado por el cliente"))
+                .doOnError(error -> log.error("Method: StockStreamController.updates - Error: {}", error.getMessage(), error));
+    }
+
+    private Mono<StockUpdateAck> applyChunk(List<StockUpdateMessage> chunk) {
+        Map<String, List<StockUpdateMessage>> byFranchise = new LinkedHashMap<>();
+        List<StockUpdateRejection> rejections = new ArrayList<>();
+        for (StockUpdateMessage message : chunk) {
+            if (message.getFranchiseId() == null || message.getFranchiseId().isBlank()) {
+                rejections.add(new StockUpdateRejection(message.getSequence(), "El franchiseId es obligatorio"));
+            } else {
+                byFranchise.computeIfAbsent(message.getFranchiseId(), id -> new ArrayList<>()).add(message);
+            }
+        }
+        long lastSequence = chunk.stream().mapToLong(StockUpdateMessage::getSequence).max().orElse(0L);
+
+        return Flux.fromIterable(byFranchise.entrySet())
+                .concatMap(group -> applyToFranchise(group.getKey(), group.getValue()))
+                .doOnNext(rejections::addAll)
+                .then(Mono.fromSupplier(() -> {
+                    rejections.sort(Comparator.comparingLong(StockUpdateRejection::getSequence));
+                    return StockUpdateAck.builder()
+                            .lastSequence(lastSequence)
+                            .applied(chunk.size() - rejections.size())
+                            .failed(rejections.size())
+                            .rejections(rejections)
+                            .build();
+                }))
+                .doOnSuccess(ack -> log.debug("Method: StockStreamController.applyChunk - Output: lastSequence={}, applied={}, failed={}",
+                        ack.getLastSequence(), ack.getApplied(), ack.getFailed()));
+    }
+
+    private Mono<List<StockUpdateRejection>> applyToFranchise(String franchiseId, List<StockUpdateMessage> messages) {
+        List<BatchOperation> operations = messages.stream()
+                .map(StockStreamController::toOperation)
+                .toList();
+        return executeBatchUseCase.apply(franchiseId, operations)
+                .map(result -> result.getResults().stream()
+                        .filter(operation -> operation.getStatus() == BatchOperationResult.Status.FAILED)
+                        .map(operation -> new StockUpdateRejection(messages.get(operation.getIndex()).getSequence(), operation.getMessage()))
+                        .toList())
+                // Franquicia inexistente u otra regla de dominio: se rechaza todo el grupo y el canal sigue abierto
+                .onErrorResume(DomainException.class, error -> Mono.just(messages.stream()
+                        .map(message -> new StockUpdateRejection(message.getSequence(), error.getMessage()))
+                        .toList()));
+    }
+
+    private static BatchOperation toOperation(StockUpdateMessage message) {
+        return new BatchOperation(BatchOperationType.UPDATE_STOCK, message.getBranchId(), null,
+                message.getProductId(), null, null, message.getStock());
+    }
+}
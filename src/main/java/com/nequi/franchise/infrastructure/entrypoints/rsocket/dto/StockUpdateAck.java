@@ -0,0 +1,23 @@
+package com.nequi.franchise.infrastructure.entrypoints.rsocket.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Confirmación de un tramo de cambios de stock: todos los mensajes hasta {@code lastSequence}
+ * quedaron procesados, aplicados salvo los listados en {@code rejections}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockUpdateAck {
+    private long lastSequence;
+    private int applied;
+    private int failed;
+    private List<StockUpdateRejection> rejections;
+}
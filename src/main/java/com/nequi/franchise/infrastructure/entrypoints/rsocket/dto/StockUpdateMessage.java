@@ -0,0 +1,20 @@
+package com.nequi.franchise.infrastructure.entrypoints.rsocket.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Cambio de stock enviado por un terminal en el canal {@code stock.updates}.
+ * El número de secuencia lo asigna el cliente y debe crecer dentro del canal.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockUpdateMessage {
+    private long sequence;
+    private String franchiseId;
+    private String branchId;
+    private String productId;
+    private Integer stock;
+}
@@ -0,0 +1,16 @@
+package com.nequi.franchise.infrastructure.entrypoints.rsocket.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Cambio de stock descartado, con el motivo del rechazo.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockUpdateRejection {
+    private long sequence;
+    private String message;
+}
@@ -169,5 +169,22 @@ class BranchTest {
         assertTrue(branch.getProducts().isEmpty());
         assertEquals(0, branch.getProducts().size());
     }
-}
 
+    @Test
+    @DisplayName("Debe encontrar productos por ID y por nombre, también tras renombrarlos")
+    void shouldFindProductsByIdAndName() {
+        // Arrange
+        Product product = Product.builder().productId("p-1").name("Laptop").stock(5).build();
+        Branch branch = Branch.builder().name("Sucursal Centro").products(new ArrayList<>(List.of(product))).build();
+        assertSame(product, branch.findProductByName("LAPTOP").orElseThrow());
+        assertSame(product, branch.findProductByName("laptop").orElseThrow());
+
+        // Act
+        branch.renameProduct(product, "Tablet");
+
+        // Assert
+        assertSame(product, branch.findProductById("p-1").orElseThrow());
+        assertSame(product, branch.findProductByName("tablet").orElseThrow());
+        assertTrue(branch.findProductByName("Laptop").isEmpty());
+    }
+}
@@ -0,0 +1,57 @@
+package com.nequi.franchise.domain.model.franchise;
+
+import com.nequi.franchise.domain.exception.ValidationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitarios para FieldSelection")
+class FieldSelectionTest {
+
+    @Test
+    @DisplayName("Debe incluir los campos elegidos y los hijos de un campo compuesto")
+    void shouldIncludeSelectedPathsAndChildren() {
+        // Act
+        FieldSelection fields = FieldSelection.parse(" name , branches.products ");
+
+        // Assert
+        assertEquals(Set.of("name", "branches.products"), fields.paths());
+        assertTrue(fields.includes("name"));
+        assertTrue(fields.includes("branches.products.stock"));
+        assertFalse(fields.includes("branches.name"));
+        assertTrue(fields.includesAny("branches"));
+        assertFalse(fields.includes("branches"));
+    }
+
+    @Test
+    @DisplayName("Debe descartar los campos cuyo ancestro ya fue elegido")
+    void shouldDropPathsCoveredByAncestor() {
+        // Act
+        FieldSelection fields = FieldSelection.parse("branches.products.stock,branches,branches.name,name,branches.products");
+
+        // Assert
+        assertEquals(Set.of("branches", "name"), fields.paths());
+        assertTrue(fields.includes("branches.products.stock"));
+        assertEquals(Set.of("branches.products"), FieldSelection.parse("branches.products,branches.products.name").paths());
+    }
+
+    @Test
+    @DisplayName("Debe tratar un selector vacío como todos los campos")
+    void shouldTreatBlankAsAll() {
+        // Act & Assert
+        assertTrue(FieldSelection.parse(null).isAll());
+        assertTrue(FieldSelection.parse(" , ").isAll());
+        assertTrue(FieldSelection.ALL.includes("branches.products.name"));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar campos que no existen en el modelo")
+    void shouldRejectUnsupportedPath() {
+        // Act & Assert
+        ValidationException error = assertThrows(ValidationException.class, () -> FieldSelection.parse("name,branches.secret"));
+        assertTrue(error.getMessage().contains("branches.secret"));
+    }
+}
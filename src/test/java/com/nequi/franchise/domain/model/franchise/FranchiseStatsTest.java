@@ -0,0 +1,101 @@
+package com.nequi.franchise.domain.model.franchise;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitarios para FranchiseStats")
+class FranchiseStatsTest {
+
+    private static Branch branch(String id, Product... products) {
+        return Branch.builder().branchId(id).name("Sucursal " + id).products(List.of(products)).build();
+    }
+
+    private static Product product(int stock) {
+        return Product.builder().stock(stock).build();
+    }
+
+    private static Product unknown() {
+        return Product.builder().build();
+    }
+
+    @Test
+    @DisplayName("Debe calcular totales, promedios, ceros y percentiles por sucursal y de la franquicia")
+    void shouldComputeBranchAndFranchiseStats() {
+        // Arrange
+        Franchise franchise = new Franchise("f-1", "Franquicia", List.of(
+                branch("b-1", product(10), product(0), unknown(), product(30)),
+                branch("b-2", product(0), product(60))));
+
+        // Act
+        FranchiseStats stats = FranchiseStats.of(franchise);
+
+        // Assert
+        assertEquals("f-1", stats.getFranchiseId());
+        assertEquals(2, stats.getBranchCount());
+
+        StockStats first = stats.getBranches().get(0).getStock();
+        assertEquals("b-1", stats.getBranches().get(0).getBranchId());
+        assertEquals(4, first.getProductCount());
+        assertEquals(1, first.getUnknownStockCount());
+        assertEquals(1, first.getZeroStockCount());
+        assertEquals(40, first.getTotalStock());
+        assertEquals(40.0 / 3, first.getAverageStock(), 1e-9);
+        assertEquals(0, first.getMinStock());
+        assertEquals(30, first.getMaxStock());
+        assertEquals(10, first.getP50Stock());
+
+        StockStats total = stats.getStock();
+        assertEquals(6, total.getProductCount());
+        assertEquals(2, total.getZeroStockCount());
+        assertEquals(100, total.getTotalStock());
+        assertEquals(20.0, total.getAverageStock(), 1e-9);
+        assertEquals(10, total.getP50Stock());
+        assertEquals(60, total.getP90Stock());
+        assertEquals(60, total.getP99Stock());
+    }
+
+    @Test
+    @DisplayName("Debe usar el método de rango más cercano para los percentiles")
+    void shouldUseNearestRankPercentiles() {
+        // Arrange
+        List<Product> products = new ArrayList<>();
+        for (int stock = 100; stock >= 1; stock--) {
+            products.add(product(stock));
+        }
+        Franchise franchise = new Franchise("f-1", "Franquicia", List.of(Branch.builder().products(products).build()));
+
+        // Act
+        StockStats stats = FranchiseStats.of(franchise).getStock();
+
+        // Assert
+        assertEquals(50, stats.getP50Stock());
+        assertEquals(90, stats.getP90Stock());
+        assertEquals(99, stats.getP99Stock());
+        assertEquals(5050, stats.getTotalStock());
+    }
+
+    @Test
+    @DisplayName("Debe dejar nulos el mínimo, máximo y percentiles cuando no hay stocks conocidos")
+    void shouldLeaveNullsWithoutKnownStock() {
+        // Arrange
+        Franchise franchise = new Franchise("f-1", "Franquicia", List.of(branch("b-1", unknown()), branch("b-2")));
+
+        // Act
+        FranchiseStats stats = FranchiseStats.of(franchise);
+
+        // Assert
+        StockStats total = stats.getStock();
+        assertEquals(1, total.getProductCount());
+        assertEquals(1, total.getUnknownStockCount());
+        assertEquals(0, total.getTotalStock());
+        assertEquals(0.0, total.getAverageStock());
+        assertNull(total.getMinStock());
+        assertNull(total.getP50Stock());
+        assertEquals(0, stats.getBranches().get(1).getStock().getProductCount());
+    }
+}
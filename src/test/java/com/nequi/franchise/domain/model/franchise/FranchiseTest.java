@@ -166,5 +166,47 @@ class FranchiseTest {
         assertEquals(1, franchise.getBranches().size());
         assertEquals("Nueva Sucursal", franchise.getBranches().get(0).getName());
     }
-}
 
+    @Test
+    @DisplayName("Debe encontrar sucursales por ID y por nombre sin distinguir mayúsculas")
+    void shouldFindBranchesByIdAndName() {
+        // Arrange
+        Branch centro = Branch.builder().branchId("b-1").name("Sucursal Centro").build();
+        Branch norte = Branch.builder().branchId("b-2").name("Sucursal Norte").build();
+        Franchise franchise = new Franchise("1", "Franquicia Test", List.of(centro, norte));
+
+        // Act & Assert
+        assertSame(norte, franchise.findBranchById("b-2").orElseThrow());
+        assertSame(centro, franchise.findBranchByName("SUCURSAL centro").orElseThrow());
+        assertTrue(franchise.findBranchById("b-3").isEmpty());
+        assertTrue(franchise.findBranchByName(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debe mantener el índice consistente al modificar la lista y los nombres")
+    void shouldKeepIndexConsistentThroughMutations() {
+        // Arrange
+        Franchise franchise = Franchise.builder().id("1").name("Franquicia Test").build();
+        Branch centro = Branch.builder().branchId("b-1").name("Sucursal Centro").build();
+        franchise.getBranches().add(centro);
+        // La primera búsqueda recorre la lista; la segunda construye el índice
+        assertTrue(franchise.findBranchByName("Sucursal Centro").isPresent());
+        assertTrue(franchise.findBranchByName("Sucursal Centro").isPresent());
+
+        // Act
+        franchise.renameBranch(centro, "Sucursal Sur");
+        franchise.getBranches().add(Branch.builder().branchId("b-2").name("Sucursal Centro").build());
+
+        // Assert
+        assertSame(centro, franchise.findBranchByName("sucursal sur").orElseThrow());
+        assertEquals("b-2", franchise.findBranchByName("Sucursal Centro").orElseThrow().getBranchId());
+        assertSame(centro, franchise.findBranchById("b-1").orElseThrow());
+
+        // Act
+        franchise.getBranches().remove(centro);
+
+        // Assert
+        assertTrue(franchise.findBranchById("b-1").isEmpty());
+        assertTrue(franchise.findBranchById("b-1").isEmpty());
+    }
+}
@@ -39,18 +39,18 @@ class ProductTest {
     }
 
     @Test
-    @DisplayName("Debe crear un producto con stock nulo")
-    void shouldCreateProductWithNullStock() {
+    @DisplayName("Debe crear un producto con stock desconocido")
+    void shouldCreateProductWithUnknownStock() {
         // Arrange & Act
         Product product = Product.builder()
                 .name("Producto Sin Stock Definido")
-                .stock(null)
+                .stock(Product.UNKNOWN_STOCK)
                 .build();
 
         // Assert
         assertNotNull(product);
         assertEquals("Producto Sin Stock Definido", product.getName());
-        assertNull(product.getStock());
+        assertFalse(product.hasKnownStock());
     }
 
     @Test
@@ -62,7 +62,7 @@ class ProductTest {
         // Assert
         assertNotNull(product);
         assertNull(product.getName());
-        assertNull(product.getStock());
+        assertEquals(Product.UNKNOWN_STOCK, product.getStock());
     }
 
     @Test
@@ -180,7 +180,8 @@ class ProductTest {
         // Assert
         assertNotNull(product);
         assertEquals("Solo Nombre", product.getName());
-        assertNull(product.getStock());
+        assertEquals(Product.UNKNOWN_STOCK, product.getStock());
+        assertFalse(product.hasKnownStock());
     }
 }
 
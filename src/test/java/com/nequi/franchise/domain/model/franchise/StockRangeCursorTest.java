@@ -0,0 +1,33 @@
+package com.nequi.franchise.domain.model.franchise;
+
+import com.nequi.franchise.domain.exception.ValidationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitarios para StockRangeCursor")
+class StockRangeCursorTest {
+
+    @Test
+    @DisplayName("Debe recuperar la misma posición a partir del token")
+    void shouldRoundTripCursor() {
+        // Arrange
+        StockRangeCursor cursor = new StockRangeCursor("01JA2XQ5S8K3M9V7T4R6P0N1BC", "01JA2XR0B4Q8Y2N6C1W5M3K7HZ", "01JA2XS9D2F6G0J4L8P1T5V9XA");
+
+        // Act
+        StockRangeCursor decoded = StockRangeCursor.decode(cursor.encode());
+
+        // Assert
+        assertEquals(cursor, decoded);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un token con formato inválido")
+    void shouldRejectMalformedCursor() {
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> StockRangeCursor.decode("no-es-un-cursor"));
+        assertThrows(ValidationException.class, () -> StockRangeCursor.decode("%%%"));
+        assertThrows(ValidationException.class, () -> StockRangeCursor.decode(new StockRangeCursor("franchise-1", "", "p-1").encode()));
+    }
+}
@@ -0,0 +1,92 @@
+package com.nequi.franchise.domain.model.franchise;
+
+import com.nequi.franchise.domain.util.StockKernels;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitarios para StockSnapshot")
+class StockSnapshotTest {
+
+    private static Branch branch(Product... products) {
+        return Branch.builder().products(List.of(products)).build();
+    }
+
+    private static Product product(int stock) {
+        return Product.builder().stock(stock).build();
+    }
+
+    private static Product unknown() {
+        return Product.builder().build();
+    }
+
+    @Test
+    @DisplayName("Debe ubicar el primer producto de mayor stock de cada sucursal, ignorando stocks desconocidos")
+    void shouldFindFirstMaxPerBranch() {
+        // Arrange
+        List<Branch> branches = List.of(
+                branch(product(5), unknown(), product(30), product(30)),
+                branch(unknown(), unknown()),
+                branch());
+
+        // Act
+        StockSnapshot snapshot = StockSnapshot.of(branches);
+
+        // Assert
+        assertEquals(3, snapshot.branchCount());
+        assertEquals(6, snapshot.productCount());
+        assertEquals(2, snapshot.argMaxInBranch(0));
+        assertEquals(30, snapshot.maxInBranch(0));
+        assertEquals(-1, snapshot.argMaxInBranch(1));
+        assertEquals(Product.UNKNOWN_STOCK, snapshot.maxInBranch(1));
+        assertEquals(-1, snapshot.argMaxInBranch(2));
+    }
+
+    @Test
+    @DisplayName("Debe sumar y contar solo los stocks conocidos")
+    void shouldAggregateKnownStocks() {
+        // Arrange
+        List<Branch> branches = List.of(
+                branch(product(Integer.MAX_VALUE), unknown(), product(3)),
+                branch(product(0), product(12)));
+
+        // Act
+        StockSnapshot snapshot = StockSnapshot.of(branches);
+
+        // Assert
+        assertEquals(Integer.MAX_VALUE + 15L, snapshot.totalStock());
+        assertEquals(Integer.MAX_VALUE + 3L, snapshot.totalStockInBranch(0));
+        assertEquals(2, snapshot.countBelow(10));
+    }
+
+    @Test
+    @DisplayName("Los kernels preferidos deben coincidir con los escalares en cualquier tamaño")
+    void preferredKernelsShouldMatchScalar() {
+        // Arrange
+        SplittableRandom random = new SplittableRandom(42);
+        List<Branch> branches = new ArrayList<>();
+        for (int b = 0; b < 40; b++) {
+            List<Product> products = new ArrayList<>();
+            for (int p = 0; p < b * 3; p++) {
+                products.add(random.nextInt(10) == 0 ? unknown() : product(random.nextInt(1_000)));
+            }
+            branches.add(Branch.builder().products(products).build());
+        }
+
+        // Act
+        StockSnapshot scalar = StockSnapshot.of(branches, Branch::getProducts, Product::getStock, StockKernels.scalar());
+        StockSnapshot preferred = StockSnapshot.of(branches, Branch::getProducts, Product::getStock, StockKernels.preferred());
+
+        // Assert
+        assertEquals(scalar.totalStock(), preferred.totalStock());
+        assertEquals(scalar.countBelow(100), preferred.countBelow(100));
+        for (int b = 0; b < branches.size(); b++) {
+            assertEquals(scalar.argMaxInBranch(b), preferred.argMaxInBranch(b));
+        }
+    }
+}
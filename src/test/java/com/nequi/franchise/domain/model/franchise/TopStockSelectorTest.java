@@ -0,0 +1,69 @@
+package com.nequi.franchise.domain.model.franchise;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitarios para TopStockSelector")
+class TopStockSelectorTest {
+
+    private static Branch branch(String name, Product... products) {
+        return Branch.builder().name(name).products(List.of(products)).build();
+    }
+
+    private static Product product(String name, int stock) {
+        return Product.builder().name(name).stock(stock).build();
+    }
+
+    private static List<String> names(List<BranchProductResult> results) {
+        return results.stream().map(result -> result.getProduct().getName()).toList();
+    }
+
+    @Test
+    @DisplayName("Debe retornar los N productos con mayor stock de todas las sucursales, ordenados")
+    void shouldSelectHighestAcrossBranches() {
+        // Arrange
+        List<Branch> branches = List.of(
+                branch("Centro", product("A", 5), product("B", 50), product("C", 20)),
+                branch("Norte", product("D", 40), product("E", 1)));
+
+        // Act
+        List<BranchProductResult> results = TopStockSelector.select(branches, 3, StockRanking.HIGHEST);
+
+        // Assert
+        assertEquals(List.of("B", "D", "C"), names(results));
+        assertEquals("Norte", results.get(1).getBranchName());
+    }
+
+    @Test
+    @DisplayName("Debe retornar los N productos con menor stock conservando el primero ante empates")
+    void shouldSelectLowestKeepingFirstOnTies() {
+        // Arrange
+        List<Branch> branches = List.of(
+                branch("Centro", product("A", 3), product("B", 9), product("C", 3)),
+                branch("Norte", product("D", 3)));
+
+        // Act
+        List<BranchProductResult> results = TopStockSelector.select(branches, 2, StockRanking.LOWEST);
+
+        // Assert
+        assertEquals(List.of("A", "C"), names(results));
+    }
+
+    @Test
+    @DisplayName("Debe excluir productos con stock desconocido")
+    void shouldSkipUnknownStock() {
+        // Arrange
+        Product unknown = Product.builder().name("X").build();
+        List<Branch> branches = List.of(branch("Centro", unknown, product("A", 0)));
+
+        // Act
+        List<BranchProductResult> results = TopStockSelector.select(branches, 5, StockRanking.LOWEST);
+
+        // Assert
+        assertEquals(List.of("A"), names(results));
+    }
+}
@@ -53,8 +53,8 @@ class AddBranchUseCaseTest {
     @DisplayName("Debe agregar una sucursal exitosamente cuando el nombre es valido")
     void shouldAddBranchSuccessfully() {
         // Arrange
-        when(gateway.findById(eq(franchiseId)))
-                .thenReturn(Mono.just(franchise));
+        when(gateway.existsBranchByName(eq(franchiseId), eq("Sucursal Centro")))
+                .thenReturn(Mono.just(false));
         when(gateway.addBranch(eq(franchiseId), any(Branch.class)))
                 .thenReturn(Mono.just(franchise));
 
@@ -66,7 +66,7 @@ class AddBranchUseCaseTest {
                 .expectNext(franchise)
                 .verifyComplete();
 
-        verify(gateway, times(1)).findById(franchiseId);
+        verify(gateway, times(1)).existsBranchByName(franchiseId, "Sucursal Centro");
         verify(gateway, times(1)).addBranch(franchiseId, branch);
     }
 
@@ -74,7 +74,7 @@ class AddBranchUseCaseTest {
     @DisplayName("Debe lanzar error cuando el nombre de la sucursal es nulo")
     void shouldThrowErrorWhenBranchNameIsNull() {
         // Arrange
-        branch.setName(null);
+        branch = branch.toBuilder().name(null).build();
 
         // Act
         Mono<Franchise> result = addBranchUseCase.apply(franchiseId, branch);
@@ -93,7 +93,7 @@ class AddBranchUseCaseTest {
     @DisplayName("Debe lanzar error cuando el nombre de la sucursal esta vacio")
     void shouldThrowErrorWhenBranchNameIsEmpty() {
         // Arrange
-        branch.setName("");
+        branch = branch.toBuilder().name("").build();
 
         // Act
         Mono<Franchise> result = addBranchUseCase.apply(franchiseId, branch);
@@ -112,7 +112,7 @@ class AddBranchUseCaseTest {
     @DisplayName("Debe lanzar error cuando el nombre de la sucursal solo contiene espacios")
     void shouldThrowErrorWhenBranchNameIsBlank() {
         // Arrange
-        branch.setName("   ");
+        branch = branch.toBuilder().name("   ").build();
 
         // Act
         Mono<Franchise> result = addBranchUseCase.apply(franchiseId, branch);
@@ -131,11 +131,8 @@ class AddBranchUseCaseTest {
     @DisplayName("Debe lanzar error de negocio cuando ya existe una sucursal con el mismo nombre")
     void shouldThrowBusinessExceptionWhenBranchAlreadyExists() {
         // Arrange
-        Branch existingBranch = Branch.builder().name("Sucursal Centro").build();
-        franchise.getBranches().add(existingBranch);
-
-        when(gateway.findById(eq(franchiseId)))
-                .thenReturn(Mono.just(franchise));
+        when(gateway.existsBranchByName(eq(franchiseId), eq("Sucursal Centro")))
+                .thenReturn(Mono.just(true));
 
         // Act
         Mono<Franchise> result = addBranchUseCase.apply(franchiseId, branch);
@@ -147,8 +144,28 @@ class AddBranchUseCaseTest {
                                 throwable.getMessage().contains("Ya existe una sucursal con el nombre"))
                 .verify();
 
-        verify(gateway, times(1)).findById(franchiseId);
+        verify(gateway, times(1)).existsBranchByName(franchiseId, "Sucursal Centro");
         verify(gateway, never()).addBranch(any(), any());
     }
+
+    @Test
+    @DisplayName("Debe generar el branchId antes de agregar la sucursal")
+    void shouldGenerateBranchIdBeforeAdding() {
+        // Arrange
+        when(gateway.existsBranchByName(eq(franchiseId), eq("Sucursal Centro")))
+                .thenReturn(Mono.just(false));
+        when(gateway.addBranch(eq(franchiseId), any(Branch.class)))
+                .thenReturn(Mono.just(franchise));
+
+        // Act
+        Mono<Franchise> result = addBranchUseCase.apply(franchiseId, branch);
+
+        // Assert
+        StepVerifier.create(result)
+                .expectNext(franchise)
+                .verifyComplete();
+
+        verify(gateway).addBranch(eq(franchiseId), argThat(added -> added.getBranchId() != null && !added.getBranchId().isEmpty()));
+    }
 }
 
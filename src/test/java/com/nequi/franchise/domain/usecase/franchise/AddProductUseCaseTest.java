@@ -67,10 +67,10 @@ class AddProductUseCaseTest {
     }
 
     @Test
-    @DisplayName("Debe agregar un producto exitosamente con stock nulo")
-    void shouldAddProductSuccessfullyWhenStockIsNull() {
+    @DisplayName("Debe agregar un producto exitosamente con stock desconocido")
+    void shouldAddProductSuccessfullyWhenStockIsUnknown() {
         // Arrange
-        product.setStock(null);
+        product.setStock(Product.UNKNOWN_STOCK);
         when(gateway.addProduct(eq(franchiseId), eq(branchName), any(Product.class)))
                 .thenReturn(Mono.just(franchise));
 
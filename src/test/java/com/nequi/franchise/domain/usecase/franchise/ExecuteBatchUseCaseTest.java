@@ -0,0 +1,238 @@
+package com.nequi.franchise.domain.usecase.franchise;
+
+import com.nequi.franchise.domain.exception.ValidationException;
+import com.nequi.franchise.domain.exception.VersionConflictException;
+import com.nequi.franchise.domain.model.franchise.BatchOperation;
+import com.nequi.franchise.domain.model.franchise.BatchOperationResult;
+import com.nequi.franchise.domain.model.franchise.BatchOperationType;
+import com.nequi.franchise.domain.model.franchise.BatchPlan;
+import com.nequi.franchise.domain.model.franchise.BatchResult;
+import com.nequi.franchise.domain.model.franchise.Branch;
+import com.nequi.franchise.domain.model.franchise.Franchise;
+import com.nequi.franchise.domain.model.franchise.Product;
+import com.nequi.franchise.domain.model.gateway.FranchiseGateway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests unitarios para ExecuteBatchUseCase")
+class ExecuteBatchUseCaseTest {
+
+    @Mock
+    private FranchiseGateway gateway;
+
+    @InjectMocks
+    private ExecuteBatchUseCase executeBatchUseCase;
+
+    private Franchise franchise;
+
+    @BeforeEach
+    void setUp() {
+        Branch branch = Branch.builder()
+                .branchId("b-1")
+                .name("Sucursal Centro")
+                .products(new ArrayList<>(List.of(
+                        Product.builder().productId("p-1").name("Laptop").stock(5).build(),
+                        Product.builder().productId("p-2").name("Mouse").stock(20).build())))
+                .build();
+        franchise = new Franchise("franchise-1", "Franquicia", new ArrayList<>(List.of(branch)));
+    }
+
+    private static BatchOperation updateStock(String productId, int stock) {
+        return new BatchOperation(BatchOperationType.UPDATE_STOCK, "b-1", null, productId, null, null, stock);
+    }
+
+    @Test
+    @DisplayName("Debe agrupar las operaciones en un único plan y reportar cada resultado")
+    void shouldGroupOperationsIntoSinglePlan() {
+        // Arrange
+        List<BatchOperation> operations = List.of(
+                updateStock("p-1", 10),
+                updateStock("p-1", 12),
+                new BatchOperation(BatchOperationType.RENAME_PRODUCT, null, "sucursal centro", null, "Mouse", "Mouse inalámbrico", null),
+                new BatchOperation(BatchOperationType.ADD_BRANCH, null, null, null, null, "Sucursal Norte", null),
+                new BatchOperation(BatchOperationType.ADD_PRODUCT, null, "Sucursal Norte", null, null, "Teclado", 3),
+                updateStock("missing", 1));
+        when(gateway.findVersionById("franchise-1")).thenReturn(Mono.just(3L));
+        when(gateway.findCurrentById("franchise-1")).thenReturn(Mono.just(franchise));
+        when(gateway.applyBatch(eq("franchise-1"), eq(3L), any(BatchPlan.class))).thenReturn(Mono.just(4L));
+        ArgumentCaptor<BatchPlan> plan = ArgumentCaptor.forClass(BatchPlan.class);
+
+        // Act
+        Mono<BatchResult> result = executeBatchUseCase.apply("franchise-1", operations);
+
+        // Assert
+        StepVerifier.create(result)
+                .expectNextMatches(batch -> batch.getVersion() == 4L
+                        && batch.getApplied() == 5
+                        && batch.getFailed() == 1
+                        && batch.getResults().get(5).getStatus() == BatchOperationResult.Status.FAILED
+                        && batch.getResults().get(3).getBranchId().equals(batch.getResults().get(4).getBranchId()))
+                .verifyComplete();
+
+        verify(gateway, times(1)).applyBatch(eq("franchise-1"), eq(3L), plan.capture());
+        assertEquals(Map.of(new BatchPlan.ProductRef("b-1", "p-1"), 12), plan.getValue().stockUpdates());
+        assertEquals(Map.of(new BatchPlan.ProductRef("b-1", "p-2"), "Mouse inalámbrico"), plan.getValue().productRenames());
+        assertEquals(1, plan.getValue().newBranches().size());
+        assertEquals("Teclado", plan.getValue().newBranches().get(0).getProducts().get(0).getName());
+        assertTrue(plan.getValue().newProducts().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debe descartar los cambios pendientes de un producto eliminado en el mismo lote")
+    void shouldDropPendingChangesOfRemovedProduct() {
+        // Arrange
+        List<BatchOperation> operations = List.of(
+                updateStock("p-1", 10),
+                new BatchOperation(BatchOperationType.REMOVE_PRODUCT, "b-1", null, "p-1", null, null, null),
+                updateStock("p-1", 11));
+        when(gateway.findVersionById("franchise-1")).thenReturn(Mono.just(3L));
+        when(gateway.findCurrentById("franchise-1")).thenReturn(Mono.just(franchise));
+        when(gateway.applyBatch(eq("franchise-1"), eq(3L), any(BatchPlan.class))).thenReturn(Mono.just(4L));
+        ArgumentCaptor<BatchPlan> plan = ArgumentCaptor.forClass(BatchPlan.class);
+
+        // Act
+        Mono<BatchResult> result = executeBatchUseCase.apply("franchise-1", operations);
+
+        // Assert
+        StepVerifier.create(result)
+                .expectNextMatches(batch -> batch.getApplied() == 2
+                        && batch.getResults().get(2).getMessage().equals("Producto no encontrado con productId: p-1"))
+                .verifyComplete();
+
+        verify(gateway).applyBatch(eq("franchise-1"), eq(3L), plan.capture());
+        assertTrue(plan.getValue().stockUpdates().isEmpty());
+        assertEquals(Map.of("b-1", Set.of("p-1")), plan.getValue().removals());
+    }
+
+    @Test
+    @DisplayName("Debe descartar un producto agregado y eliminado en el mismo lote")
+    void shouldDropProductAddedAndRemovedInSameBatch() {
+        // Arrange
+        List<BatchOperation> operations = List.of(
+                new BatchOperation(BatchOperationType.ADD_PRODUCT, "b-1", null, null, null, "Teclado", 3),
+                new BatchOperation(BatchOperationType.REMOVE_PRODUCT, null, "Sucursal Centro", null, "Teclado", null, null),
+                new BatchOperation(BatchOperationType.REMOVE_PRODUCT, "b-1", null, "p-2", null, null, null));
+        when(gateway.findVersionById("franchise-1")).thenReturn(Mono.just(3L));
+        when(gateway.findCurrentById("franchise-1")).thenReturn(Mono.just(franchise));
+        when(gateway.applyBatch(eq("franchise-1"), eq(3L), any(BatchPlan.class))).thenReturn(Mono.just(4L));
+        ArgumentCaptor<BatchPlan> plan = ArgumentCaptor.forClass(BatchPlan.class);
+
+        // Act
+        Mono<BatchResult> result = executeBatchUseCase.apply("franchise-1", operations);
+
+        // Assert
+        StepVerifier.create(result)
+                .expectNextMatches(batch -> batch.getApplied() == 3 && batch.getFailed() == 0)
+                .verifyComplete();
+
+        verify(gateway).applyBatch(eq("franchise-1"), eq(3L), plan.capture());
+        assertTrue(plan.getValue().newProducts().isEmpty());
+        assertEquals(Map.of("b-1", Set.of("p-2")), plan.getValue().removals());
+    }
+
+    @Test
+    @DisplayName("Debe volver a leer y validar el lote cuando la versión cambió antes de escribir")
+    void shouldRetryOnVersionConflict() {
+        // Arrange
+        List<BatchOperation> operations = List.of(updateStock("p-1", 10));
+        when(gateway.findVersionById("franchise-1")).thenReturn(Mono.just(3L)).thenReturn(Mono.just(5L));
+        when(gateway.findCurrentById("franchise-1")).thenReturn(Mono.just(franchise));
+        when(gateway.applyBatch(eq("franchise-1"), eq(3L), any(BatchPlan.class)))
+                .thenReturn(Mono.error(new VersionConflictException("La franquicia cambió durante el lote")));
+        when(gateway.applyBatch(eq("franchise-1"), eq(5L), any(BatchPlan.class))).thenReturn(Mono.just(6L));
+
+        // Act
+        Mono<BatchResult> result = executeBatchUseCase.apply("franchise-1", operations);
+
+        // Assert
+        StepVerifier.create(result)
+                .expectNextMatches(batch -> batch.getVersion() == 6L && batch.getApplied() == 1)
+                .verifyComplete();
+
+        verify(gateway, times(2)).findCurrentById("franchise-1");
+    }
+
+    @Test
+    @DisplayName("Debe propagar el conflicto de versión al agotar los reintentos")
+    void shouldPropagateConflictAfterRetries() {
+        // Arrange
+        List<BatchOperation> operations = List.of(updateStock("p-1", 10));
+        when(gateway.findVersionById("franchise-1")).thenReturn(Mono.just(3L));
+        when(gateway.findCurrentById("franchise-1")).thenReturn(Mono.just(franchise));
+        when(gateway.applyBatch(eq("franchise-1"), eq(3L), any(BatchPlan.class)))
+                .thenReturn(Mono.error(new VersionConflictException("La franquicia cambió durante el lote")));
+
+        // Act
+        Mono<BatchResult> result = executeBatchUseCase.apply("franchise-1", operations);
+
+        // Assert
+        StepVerifier.create(result)
+                .expectError(VersionConflictException.class)
+                .verify();
+
+        verify(gateway, times(ExecuteBatchUseCase.MAX_CONFLICT_RETRIES + 1)).applyBatch(eq("franchise-1"), eq(3L), any(BatchPlan.class));
+    }
+
+    @Test
+    @DisplayName("No debe escribir cuando ninguna operación es válida")
+    void shouldNotWriteWhenAllOperationsFail() {
+        // Arrange
+        List<BatchOperation> operations = List.of(
+                updateStock("p-1", -1),
+                new BatchOperation(BatchOperationType.ADD_BRANCH, null, null, null, null, "sucursal centro", null));
+        when(gateway.findVersionById("franchise-1")).thenReturn(Mono.just(3L));
+        when(gateway.findCurrentById("franchise-1")).thenReturn(Mono.just(franchise));
+
+        // Act
+        Mono<BatchResult> result = executeBatchUseCase.apply("franchise-1", operations);
+
+        // Assert
+        StepVerifier.create(result)
+                .expectNextMatches(batch -> batch.getVersion() == null
+                        && batch.getFailed() == 2
+                        && batch.getResults().get(0).getMessage().equals("El stock no puede ser negativo"))
+                .verifyComplete();
+
+        verify(gateway, never()).applyBatch(anyString(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar lotes con más operaciones que el máximo permitido")
+    void shouldRejectOversizedBatch() {
+        // Arrange
+        List<BatchOperation> operations = Collections.nCopies(ExecuteBatchUseCase.MAX_OPERATIONS + 1, updateStock("p-1", 1));
+
+        // Act
+        Mono<BatchResult> result = executeBatchUseCase.apply("franchise-1", operations);
+
+        // Assert
+        StepVerifier.create(result)
+                .expectError(ValidationException.class)
+                .verify();
+
+        verifyNoInteractions(gateway);
+    }
+}
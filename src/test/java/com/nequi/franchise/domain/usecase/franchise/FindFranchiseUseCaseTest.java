@@ -0,0 +1,61 @@
+package com.nequi.franchise.domain.usecase.franchise;
+
+import com.nequi.franchise.domain.exception.ResourceNotFoundException;
+import com.nequi.franchise.domain.model.franchise.FieldSelection;
+import com.nequi.franchise.domain.model.franchise.Franchise;
+import com.nequi.franchise.domain.model.gateway.FranchiseGateway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests unitarios para FindFranchiseUseCase")
+class FindFranchiseUseCaseTest {
+
+    @Mock
+    private FranchiseGateway gateway;
+
+    @InjectMocks
+    private FindFranchiseUseCase findFranchiseUseCase;
+
+    @Test
+    @DisplayName("Debe pasar la selección de campos al gateway")
+    void shouldFindFranchiseWithSelectedFields() {
+        // Arrange
+        FieldSelection fields = FieldSelection.parse("name,branches.name");
+        Franchise franchise = Franchise.builder().id("franchise-1").name("Franquicia").build();
+        when(gateway.findById("franchise-1", fields)).thenReturn(Mono.just(franchise));
+
+        // Act
+        Mono<Franchise> result = findFranchiseUseCase.apply("franchise-1", fields);
+
+        // Assert
+        StepVerifier.create(result)
+                .expectNext(franchise)
+                .verifyComplete();
+
+        verify(gateway).findById("franchise-1", fields);
+    }
+
+    @Test
+    @DisplayName("Debe fallar con recurso no encontrado cuando la franquicia no existe")
+    void shouldFailWhenFranchiseNotFound() {
+        // Arrange
+        when(gateway.findById("missing", FieldSelection.ALL)).thenReturn(Mono.empty());
+
+        // Act
+        Mono<Franchise> result = findFranchiseUseCase.apply("missing", FieldSelection.ALL);
+
+        // Assert
+        StepVerifier.create(result)
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+    }
+}
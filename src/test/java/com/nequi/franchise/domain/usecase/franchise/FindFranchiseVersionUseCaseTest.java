@@ -0,0 +1,49 @@
+package com.nequi.franchise.domain.usecase.franchise;
+
+import com.nequi.franchise.domain.model.gateway.FranchiseGateway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests unitarios para FindFranchiseVersionUseCase")
+class FindFranchiseVersionUseCaseTest {
+
+    @Mock
+    private FranchiseGateway gateway;
+
+    @InjectMocks
+    private FindFranchiseVersionUseCase findFranchiseVersionUseCase;
+
+    @Test
+    @DisplayName("Debe retornar la versión actual de la franquicia")
+    void shouldReturnCurrentVersion() {
+        // Arrange
+        when(gateway.findVersionById("franchise-1")).thenReturn(Mono.just(7L));
+
+        // Act & Assert
+        StepVerifier.create(findFranchiseVersionUseCase.apply("franchise-1"))
+                .expectNext(7L)
+                .verifyComplete();
+
+        verify(gateway, times(1)).findVersionById("franchise-1");
+    }
+
+    @Test
+    @DisplayName("Debe retornar vacío cuando la franquicia no existe")
+    void shouldReturnEmptyWhenFranchiseDoesNotExist() {
+        // Arrange
+        when(gateway.findVersionById("missing")).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(findFranchiseVersionUseCase.apply("missing"))
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,72 @@
+package com.nequi.franchise.domain.usecase.franchise;
+
+import com.nequi.franchise.domain.exception.ValidationException;
+import com.nequi.franchise.domain.model.franchise.ProductStockEntry;
+import com.nequi.franchise.domain.model.franchise.StockRangeCursor;
+import com.nequi.franchise.domain.model.gateway.FranchiseGateway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests unitarios para FindProductsByStockRangeUseCase")
+class FindProductsByStockRangeUseCaseTest {
+
+    @Mock
+    private FranchiseGateway gateway;
+
+    @InjectMocks
+    private FindProductsByStockRangeUseCase useCase;
+
+    @Test
+    @DisplayName("Debe delegar la consulta con el cursor recibido")
+    void shouldFindProductsInRange() {
+        // Arrange
+        StockRangeCursor after = new StockRangeCursor("franchise-1", "branch-1", "product-3");
+        ProductStockEntry entry = ProductStockEntry.builder().franchiseId("franchise-1").productName("A").stock(2).build();
+        when(gateway.findProductsByStockRange("franchise-1", 0, 10, after, 50)).thenReturn(Flux.just(entry));
+
+        // Act
+        Flux<ProductStockEntry> result = useCase.apply("franchise-1", 0, 10, after, 50);
+
+        // Assert
+        StepVerifier.create(result)
+                .expectNext(entry)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un rango vacío sin consultar el gateway")
+    void shouldRejectEmptyRange() {
+        // Act
+        Flux<ProductStockEntry> result = useCase.apply(null, 10, 10, null, 50);
+
+        // Assert
+        StepVerifier.create(result)
+                .expectError(ValidationException.class)
+                .verify();
+
+        verify(gateway, never()).findProductsByStockRange(any(), anyInt(), anyInt(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un stock mínimo negativo")
+    void shouldRejectNegativeMinimum() {
+        // Act
+        Flux<ProductStockEntry> result = useCase.apply(null, -1, 10, null, 50);
+
+        // Assert
+        StepVerifier.create(result)
+                .expectError(ValidationException.class)
+                .verify();
+    }
+}
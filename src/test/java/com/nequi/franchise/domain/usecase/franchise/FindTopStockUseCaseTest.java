@@ -0,0 +1,65 @@
+package com.nequi.franchise.domain.usecase.franchise;
+
+import com.nequi.franchise.domain.exception.ValidationException;
+import com.nequi.franchise.domain.model.franchise.BranchProductResult;
+import com.nequi.franchise.domain.model.franchise.Product;
+import com.nequi.franchise.domain.model.franchise.StockRanking;
+import com.nequi.franchise.domain.model.franchise.StockRankingScope;
+import com.nequi.franchise.domain.model.gateway.FranchiseGateway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests unitarios para FindTopStockUseCase")
+class FindTopStockUseCaseTest {
+
+    @Mock
+    private FranchiseGateway gateway;
+
+    @InjectMocks
+    private FindTopStockUseCase findTopStockUseCase;
+
+    @Test
+    @DisplayName("Debe retornar el ranking calculado por el gateway")
+    void shouldFindTopStockSuccessfully() {
+        // Arrange
+        BranchProductResult first = new BranchProductResult("Sucursal Centro", Product.builder().name("A").stock(90).build());
+        BranchProductResult second = new BranchProductResult("Sucursal Norte", Product.builder().name("B").stock(70).build());
+        when(gateway.findTopStock("franchise-1", 2, StockRanking.HIGHEST, StockRankingScope.FRANCHISE))
+                .thenReturn(Flux.just(first, second));
+
+        // Act
+        Flux<BranchProductResult> result = findTopStockUseCase.apply("franchise-1", 2, StockRanking.HIGHEST, StockRankingScope.FRANCHISE);
+
+        // Assert
+        StepVerifier.create(result)
+                .expectNext(first)
+                .expectNext(second)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un límite fuera de rango sin consultar el gateway")
+    void shouldRejectLimitOutOfRange() {
+        // Act
+        Flux<BranchProductResult> result = findTopStockUseCase.apply("franchise-1", FindTopStockUseCase.MAX_LIMIT + 1,
+                StockRanking.LOWEST, StockRankingScope.BRANCH);
+
+        // Assert
+        StepVerifier.create(result)
+                .expectError(ValidationException.class)
+                .verify();
+
+        verify(gateway, never()).findTopStock(any(), anyInt(), any(), any());
+    }
+}
@@ -0,0 +1,70 @@
+package com.nequi.franchise.domain.usecase.franchise;
+
+import com.nequi.franchise.domain.exception.ResourceNotFoundException;
+import com.nequi.franchise.domain.model.franchise.Branch;
+import com.nequi.franchise.domain.model.franchise.Franchise;
+import com.nequi.franchise.domain.model.franchise.FranchiseStats;
+import com.nequi.franchise.domain.model.franchise.Product;
+import com.nequi.franchise.domain.model.gateway.FranchiseGateway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests unitarios para FranchiseStatsUseCase")
+class FranchiseStatsUseCaseTest {
+
+    @Mock
+    private FranchiseGateway gateway;
+
+    @InjectMocks
+    private FranchiseStatsUseCase franchiseStatsUseCase;
+
+    @Test
+    @DisplayName("Debe calcular las estadísticas con una sola lectura de la franquicia")
+    void shouldComputeStatsFromSingleRead() {
+        // Arrange
+        Branch branch = Branch.builder()
+                .branchId("b-1")
+                .name("Sucursal Centro")
+                .products(List.of(Product.builder().stock(5).build(), Product.builder().stock(15).build()))
+                .build();
+        when(gateway.findCurrentById("franchise-1")).thenReturn(Mono.just(new Franchise("franchise-1", "Franquicia", List.of(branch))));
+
+        // Act
+        Mono<FranchiseStats> result = franchiseStatsUseCase.apply("franchise-1");
+
+        // Assert
+        StepVerifier.create(result)
+                .expectNextMatches(stats -> stats.getStock().getTotalStock() == 20
+                        && stats.getBranches().size() == 1
+                        && stats.getBranches().get(0).getStock().getAverageStock() == 10.0)
+                .verifyComplete();
+
+        verify(gateway, times(1)).findCurrentById("franchise-1");
+    }
+
+    @Test
+    @DisplayName("Debe fallar con recurso no encontrado cuando la franquicia no existe")
+    void shouldFailWhenFranchiseNotFound() {
+        // Arrange
+        when(gateway.findCurrentById("missing")).thenReturn(Mono.empty());
+
+        // Act
+        Mono<FranchiseStats> result = franchiseStatsUseCase.apply("missing");
+
+        // Assert
+        StepVerifier.create(result)
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+    }
+}
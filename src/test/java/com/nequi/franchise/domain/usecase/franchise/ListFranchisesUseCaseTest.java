@@ -0,0 +1,82 @@
+package com.nequi.franchise.domain.usecase.franchise;
+
+import com.nequi.franchise.domain.exception.ValidationException;
+import com.nequi.franchise.domain.model.franchise.FranchisePage;
+import com.nequi.franchise.domain.model.franchise.FranchiseSummary;
+import com.nequi.franchise.domain.model.gateway.FranchiseGateway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests unitarios para ListFranchisesUseCase")
+class ListFranchisesUseCaseTest {
+
+    @Mock
+    private FranchiseGateway gateway;
+
+    private ListFranchisesUseCase listFranchisesUseCase;
+
+    @BeforeEach
+    void setUp() {
+        listFranchisesUseCase = new ListFranchisesUseCase(gateway, 2);
+    }
+
+    private static FranchiseSummary summary(String id) {
+        return new FranchiseSummary(id, "Franquicia " + id, 1);
+    }
+
+    @Test
+    @DisplayName("Debe devolver el cursor del último elemento cuando hay una página siguiente")
+    void shouldReturnNextCursorWhenMorePagesExist() {
+        // Arrange
+        when(gateway.findFranchises(null, "a", 3)).thenReturn(Flux.just(summary("b"), summary("c"), summary("d")));
+
+        // Act
+        Mono<FranchisePage> result = listFranchisesUseCase.apply(null, "a", null);
+
+        // Assert
+        StepVerifier.create(result)
+                .expectNextMatches(page -> page.items().size() == 2 && "c".equals(page.nextCursor()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("No debe devolver cursor en la última página")
+    void shouldNotReturnCursorOnLastPage() {
+        // Arrange
+        when(gateway.findFranchises("Fr", null, 6)).thenReturn(Flux.just(summary("a")));
+
+        // Act
+        Mono<FranchisePage> result = listFranchisesUseCase.apply(" Fr ", "", 5);
+
+        // Assert
+        StepVerifier.create(result)
+                .expectNextMatches(page -> page.items().size() == 1 && page.nextCursor() == null)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un tamaño de página fuera de rango sin consultar")
+    void shouldRejectInvalidPageSize() {
+        // Act
+        Mono<FranchisePage> result = listFranchisesUseCase.apply(null, null, ListFranchisesUseCase.MAX_PAGE_SIZE + 1);
+
+        // Assert
+        StepVerifier.create(result)
+                .expectError(ValidationException.class)
+                .verify();
+
+        verify(gateway, never()).findFranchises(any(), any(), anyInt());
+    }
+}
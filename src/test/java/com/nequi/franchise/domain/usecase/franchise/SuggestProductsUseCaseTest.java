@@ -0,0 +1,58 @@
+package com.nequi.franchise.domain.usecase.franchise;
+
+import com.nequi.franchise.domain.exception.ValidationException;
+import com.nequi.franchise.domain.model.franchise.ProductSuggestion;
+import com.nequi.franchise.domain.model.gateway.FranchiseGateway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests unitarios para SuggestProductsUseCase")
+class SuggestProductsUseCaseTest {
+
+    @Mock
+    private FranchiseGateway gateway;
+
+    @InjectMocks
+    private SuggestProductsUseCase suggestProductsUseCase;
+
+    @Test
+    @DisplayName("Debe retornar las sugerencias del gateway con el prefijo sin espacios")
+    void shouldSuggestProducts() {
+        // Arrange
+        ProductSuggestion suggestion = new ProductSuggestion("b-1", "p-1", "Laptop Dell");
+        when(gateway.suggestProducts("franchise-1", "lap", 10)).thenReturn(Flux.just(suggestion));
+
+        // Act
+        Flux<ProductSuggestion> result = suggestProductsUseCase.apply("franchise-1", " lap ", 10);
+
+        // Assert
+        StepVerifier.create(result)
+                .expectNext(suggestion)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un prefijo vacío sin consultar el gateway")
+    void shouldRejectBlankPrefix() {
+        // Act
+        Flux<ProductSuggestion> result = suggestProductsUseCase.apply("franchise-1", "  ", 10);
+
+        // Assert
+        StepVerifier.create(result)
+                .expectError(ValidationException.class)
+                .verify();
+
+        verify(gateway, never()).suggestProducts(any(), any(), anyInt());
+    }
+}
@@ -118,5 +118,20 @@ class UpdateStockUseCaseTest {
 
         verify(gateway, never()).updateStock(anyString(), anyString(), anyString(), anyInt());
     }
-}
 
+    @Test
+    @DisplayName("Debe lanzar error cuando el stock es nulo")
+    void shouldThrowErrorWhenStockIsNull() {
+        // Act
+        Mono<Franchise> result = updateStockUseCase.apply(franchiseId, branchName, productName, null);
+
+        // Assert
+        StepVerifier.create(result)
+                .expectErrorMatches(throwable ->
+                        throwable instanceof ValidationException &&
+                                throwable.getMessage().equals("El stock es obligatorio"))
+                .verify();
+
+        verify(gateway, never()).updateStock(anyString(), anyString(), anyString(), anyInt());
+    }
+}
@@ -0,0 +1,71 @@
+package com.nequi.franchise.domain.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitarios para IdGenerator y sus estrategias")
+class IdGeneratorTest {
+
+    @AfterEach
+    void tearDown() {
+        IdGenerator.use(new UuidIdStrategy());
+    }
+
+    @Test
+    @DisplayName("Debe generar UUID en hexadecimal sin guiones por defecto")
+    void shouldGenerateUuidByDefault() {
+        // Act
+        String id = IdGenerator.generateId();
+
+        // Assert
+        assertTrue(id.matches("[0-9a-f]{32}"));
+    }
+
+    @Test
+    @DisplayName("Debe generar ULID ordenados por creación y sin repetir")
+    void shouldGenerateOrderedUniqueUlids() {
+        // Arrange
+        IdGenerator.use(IdGenerator.strategyNamed("ulid"));
+        List<String> ids = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(IdGenerator.generateId());
+        }
+
+        // Assert
+        assertTrue(ids.get(0).matches("[0-9A-HJKMNP-TV-Z]{26}"));
+        assertEquals(ids.size(), new HashSet<>(ids).size());
+        assertEquals(ids, ids.stream().sorted().toList());
+    }
+
+    @Test
+    @DisplayName("Debe generar IDs estilo ObjectId con el mismo identificador de proceso")
+    void shouldGenerateObjectIdsSharingProcessPart() {
+        // Arrange
+        IdStrategy strategy = IdGenerator.strategyNamed("objectid");
+
+        // Act
+        String first = strategy.nextId();
+        String second = strategy.nextId();
+
+        // Assert
+        assertTrue(first.matches("[0-9a-f]{24}"));
+        assertNotEquals(first, second);
+        assertEquals(first.substring(8, 18), second.substring(8, 18));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar una estrategia desconocida")
+    void shouldRejectUnknownStrategy() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> IdGenerator.strategyNamed("snowflake"));
+    }
+}
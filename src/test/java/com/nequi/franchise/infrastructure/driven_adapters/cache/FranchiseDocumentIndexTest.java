@@ -0,0 +1,92 @@
+package com.nequi.franchise.infrastructure.driven_adapters.cache;
+
+import com.nequi.franchise.infrastructure.driven_adapters.mongo_repository.FranchiseDocument;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitarios para FranchiseDocumentIndex")
+class FranchiseDocumentIndexTest {
+
+    private static FranchiseDocument.ProductDocument product(String id, String name) {
+        FranchiseDocument.ProductDocument product = new FranchiseDocument.ProductDocument();
+        product.setProductId(id);
+        product.setName(name);
+        return product;
+    }
+
+    private static FranchiseDocument.BranchDocument branch(String id, String name, FranchiseDocument.ProductDocument... products) {
+        FranchiseDocument.BranchDocument branch = new FranchiseDocument.BranchDocument();
+        branch.setBranchId(id);
+        branch.setName(name);
+        branch.setProducts(List.of(products));
+        return branch;
+    }
+
+    private static FranchiseDocument document(FranchiseDocument.BranchDocument... branches) {
+        FranchiseDocument document = new FranchiseDocument();
+        document.setId("f-1");
+        document.setName("Franquicia Norte");
+        document.setBranches(List.of(branches));
+        return document;
+    }
+
+    @Test
+    @DisplayName("Debe encontrar sucursales por ID y por nombre sin distinguir mayúsculas")
+    void shouldFindBranchesByIdAndName() {
+        // Arrange
+        FranchiseDocument.BranchDocument centro = branch("b-1", "Sucursal Centro");
+        FranchiseDocumentIndex index = new FranchiseDocumentIndex(document(centro, branch("b-2", "Sucursal Norte")));
+
+        // Act & Assert
+        assertSame(centro, index.findBranchById("b-1").orElseThrow());
+        assertSame(centro, index.findBranchByName("SUCURSAL centro").orElseThrow());
+        assertTrue(index.findBranchById("b-3").isEmpty());
+        assertTrue(index.findBranchByName("Sucursal Sur").isEmpty());
+        assertTrue(index.findBranchByName(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debe encontrar productos dentro de su sucursal por ID y por nombre")
+    void shouldFindProductsWithinBranch() {
+        // Arrange
+        FranchiseDocument.ProductDocument laptop = product("p-1", "Laptop Dell");
+        FranchiseDocumentIndex index = new FranchiseDocumentIndex(document(
+                branch("b-1", "Sucursal Centro", laptop),
+                branch("b-2", "Sucursal Norte", product("p-2", "Mouse Logitech"))));
+
+        // Act & Assert
+        assertSame(laptop, index.findProductById("b-1", "p-1").orElseThrow());
+        assertSame(laptop, index.findProductByName("b-1", "laptop dell").orElseThrow());
+        assertTrue(index.findProductById("b-2", "p-1").isEmpty());
+        assertTrue(index.findProductByName("b-2", "Laptop Dell").isEmpty());
+        assertTrue(index.findProductById("b-3", "p-1").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debe conservar la primera sucursal ante nombres repetidos")
+    void shouldKeepFirstBranchOnDuplicateNames() {
+        // Arrange
+        FranchiseDocument.BranchDocument first = branch("b-1", "Sucursal Centro");
+        FranchiseDocumentIndex index = new FranchiseDocumentIndex(document(first, branch("b-2", "sucursal centro")));
+
+        // Act & Assert
+        assertSame(first, index.findBranchByName("Sucursal Centro").orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Debe tolerar un documento sin sucursales")
+    void shouldHandleDocumentWithoutBranches() {
+        // Arrange
+        FranchiseDocument document = new FranchiseDocument();
+        document.setId("f-1");
+        FranchiseDocumentIndex index = new FranchiseDocumentIndex(document);
+
+        // Act & Assert
+        assertTrue(index.findBranchById("b-1").isEmpty());
+        assertTrue(index.findProductByName("b-1", "Laptop Dell").isEmpty());
+    }
+}
@@ -0,0 +1,194 @@
+package com.nequi.franchise.infrastructure.driven_adapters.cache;
+
+import com.nequi.franchise.infrastructure.driven_adapters.mongo_repository.FranchiseDocument;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitarios para FranchiseLocalCache")
+class FranchiseLocalCacheTest {
+    private static final Duration TTL = Duration.ofSeconds(30);
+
+    private static FranchiseDocument document(String id) {
+        FranchiseDocument document = new FranchiseDocument();
+        document.setId(id);
+        document.setName("Franquicia " + id);
+        return document;
+    }
+
+    private static OffHeapFranchiseStore heapOnly() {
+        return new OffHeapFranchiseStore(0, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Debe retornar el documento guardado")
+    void shouldReturnCachedDocument() {
+        // Arrange
+        FranchiseLocalCache cache = new FranchiseLocalCache(true, 10, TTL, heapOnly());
+
+        // Act
+        cache.putIfUnchanged(document("1"), cache.epoch());
+
+        // Assert
+        assertTrue(cache.get("1").isPresent());
+        assertEquals("Franquicia 1", cache.get("1").get().getName());
+    }
+
+    @Test
+    @DisplayName("Debe compartir el índice del documento entre lecturas de la misma entrada")
+    void shouldShareIndexAcrossReads() {
+        // Arrange
+        FranchiseLocalCache cache = new FranchiseLocalCache(true, 10, TTL, heapOnly());
+        cache.putIfUnchanged(document("1"), cache.epoch());
+
+        // Act
+        FranchiseDocumentIndex first = cache.getIndex("1").orElseThrow();
+        FranchiseDocumentIndex second = cache.getIndex("1").orElseThrow();
+
+        // Assert
+        assertSame(first, second);
+        assertSame(cache.get("1").orElseThrow(), first.document());
+    }
+
+    @Test
+    @DisplayName("Debe expulsar la entrada menos usada al superar el límite")
+    void shouldEvictLeastRecentlyUsedEntry() {
+        // Arrange
+        FranchiseLocalCache cache = new FranchiseLocalCache(true, 2, TTL, heapOnly());
+        cache.putIfUnchanged(document("1"), cache.epoch());
+        cache.putIfUnchanged(document("2"), cache.epoch());
+        cache.get("1");
+
+        // Act
+        cache.putIfUnchanged(document("3"), cache.epoch());
+
+        // Assert
+        assertEquals(2, cache.size());
+        assertTrue(cache.get("1").isPresent());
+        assertTrue(cache.get("2").isEmpty());
+        assertTrue(cache.get("3").isPresent());
+    }
+
+    @Test
+    @DisplayName("No debe guardar un documento leído antes de una invalidación")
+    void shouldNotStoreDocumentReadBeforeInvalidation() {
+        // Arrange
+        FranchiseLocalCache cache = new FranchiseLocalCache(true, 10, TTL, heapOnly());
+        long epoch = cache.epoch();
+
+        // Act
+        cache.invalidate("1");
+        cache.putIfUnchanged(document("1"), epoch);
+
+        // Assert
+        assertTrue(cache.get("1").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debe vaciar todas las entradas")
+    void shouldInvalidateAllEntries() {
+        // Arrange
+        FranchiseLocalCache cache = new FranchiseLocalCache(true, 10, TTL, heapOnly());
+        cache.putIfUnchanged(document("1"), cache.epoch());
+        cache.putIfUnchanged(document("2"), cache.epoch());
+
+        // Act
+        cache.invalidateAll();
+
+        // Assert
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("No debe guardar nada cuando la caché está deshabilitada")
+    void shouldIgnoreEntriesWhenDisabled() {
+        // Arrange
+        FranchiseLocalCache cache = new FranchiseLocalCache(false, 10, TTL, heapOnly());
+
+        // Act
+        cache.putIfUnchanged(document("1"), cache.epoch());
+
+        // Assert
+        assertTrue(cache.get("1").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debe bajar al nivel fuera del heap la entrada expulsada y recuperarla al leerla")
+    void shouldDemoteEvictedEntryAndPromoteItOnRead() {
+        // Arrange
+        OffHeapFranchiseStore offHeapStore = new OffHeapFranchiseStore(1024 * 1024, new SimpleMeterRegistry());
+        FranchiseLocalCache cache = new FranchiseLocalCache(true, 1, TTL, offHeapStore);
+        cache.putIfUnchanged(document("1"), cache.epoch());
+
+        // Act
+        cache.putIfUnchanged(document("2"), cache.epoch());
+
+        // Assert
+        assertEquals(1, cache.size());
+        assertTrue(offHeapStore.contains("1"));
+        assertEquals("Franquicia 1", cache.get("1").map(FranchiseDocument::getName).orElseThrow());
+        assertTrue(offHeapStore.contains("2"));
+    }
+
+    @Test
+    @DisplayName("Debe invalidar también la copia fuera del heap")
+    void shouldInvalidateOffHeapCopy() {
+        // Arrange
+        OffHeapFranchiseStore offHeapStore = new OffHeapFranchiseStore(1024 * 1024, new SimpleMeterRegistry());
+        FranchiseLocalCache cache = new FranchiseLocalCache(true, 1, TTL, offHeapStore);
+        cache.putIfUnchanged(document("1"), cache.epoch());
+        cache.putIfUnchanged(document("2"), cache.epoch());
+
+        // Act
+        cache.invalidate("1");
+
+        // Assert
+        assertFalse(offHeapStore.contains("1"));
+        assertTrue(cache.get("1").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debe descartar la entrada cuando vence el tiempo de vida")
+    void shouldExpireEntryAfterTtl() {
+        // Arrange
+        AtomicLong now = new AtomicLong();
+        FranchiseLocalCache cache = new FranchiseLocalCache(true, 10, TTL, heapOnly(), now::get);
+        cache.putIfUnchanged(document("1"), cache.epoch());
+
+        // Act
+        now.addAndGet(TTL.toNanos() - 1);
+        boolean beforeExpiry = cache.get("1").isPresent();
+        now.incrementAndGet();
+
+        // Assert
+        assertTrue(beforeExpiry);
+        assertTrue(cache.get("1").isEmpty());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("No debe renovar el vencimiento al promover una entrada desde fuera del heap")
+    void shouldKeepOriginalLoadTimeWhenPromoting() {
+        // Arrange
+        AtomicLong now = new AtomicLong();
+        OffHeapFranchiseStore offHeapStore = new OffHeapFranchiseStore(1024 * 1024, new SimpleMeterRegistry());
+        FranchiseLocalCache cache = new FranchiseLocalCache(true, 1, TTL, offHeapStore, now::get);
+        cache.putIfUnchanged(document("1"), cache.epoch());
+        cache.putIfUnchanged(document("2"), cache.epoch());
+
+        // Act
+        now.addAndGet(TTL.toNanos() / 2);
+        boolean promoted = cache.get("1").isPresent();
+        now.addAndGet(TTL.toNanos() / 2);
+
+        // Assert
+        assertTrue(promoted);
+        assertTrue(cache.get("1").isEmpty());
+        assertFalse(offHeapStore.contains("1"));
+    }
+}
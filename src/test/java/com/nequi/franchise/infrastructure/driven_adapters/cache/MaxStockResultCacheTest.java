@@ -0,0 +1,74 @@
+package com.nequi.franchise.infrastructure.driven_adapters.cache;
+
+import com.nequi.franchise.domain.model.franchise.BranchProductResult;
+import com.nequi.franchise.domain.model.franchise.Product;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitarios para MaxStockResultCache")
+class MaxStockResultCacheTest {
+
+    private MaxStockResultCache cache;
+    private List<BranchProductResult> results;
+
+    @BeforeEach
+    void setUp() {
+        cache = new MaxStockResultCache(10, new SimpleMeterRegistry());
+        results = List.of(new BranchProductResult("Sucursal Centro",
+                Product.builder().productId("p-1").name("Producto A").stock(100).build()));
+    }
+
+    @Test
+    @DisplayName("Debe responder desde la caché cuando la versión no cambió")
+    void shouldHitWhenVersionIsUnchanged() {
+        // Arrange
+        cache.put("franchise-1", 3L, results);
+
+        // Act & Assert
+        assertEquals(results, cache.get("franchise-1", 3L).orElseThrow());
+        assertEquals(1.0, cache.hitRatio());
+    }
+
+    @Test
+    @DisplayName("No debe responder desde la caché cuando la versión cambió")
+    void shouldMissWhenVersionChanged() {
+        // Arrange
+        cache.put("franchise-1", 3L, results);
+
+        // Act & Assert
+        assertTrue(cache.get("franchise-1", 4L).isEmpty());
+        assertEquals(0.0, cache.hitRatio());
+    }
+
+    @Test
+    @DisplayName("No debe reemplazar un resultado por otro de una versión anterior")
+    void shouldNotReplaceNewerResult() {
+        // Arrange
+        cache.put("franchise-1", 5L, results);
+
+        // Act
+        cache.put("franchise-1", 4L, List.of());
+
+        // Assert
+        assertEquals(results, cache.get("franchise-1", 5L).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Debe descartar la entrada al invalidar")
+    void shouldDropEntryOnInvalidate() {
+        // Arrange
+        cache.put("franchise-1", 3L, results);
+
+        // Act
+        cache.invalidate("franchise-1");
+
+        // Assert
+        assertTrue(cache.get("franchise-1", 3L).isEmpty());
+    }
+}
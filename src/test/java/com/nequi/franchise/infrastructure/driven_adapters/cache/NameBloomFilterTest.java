@@ -0,0 +1,97 @@
+package com.nequi.franchise.infrastructure.driven_adapters.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitarios para NameBloomFilter")
+class NameBloomFilterTest {
+
+    private NameBloomFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new NameBloomFilter(true, true, 100, 0.01, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Debe responder 'puede existir' mientras no esté listo")
+    void shouldDelegateToDatabaseUntilReady() {
+        assertTrue(filter.mightContainFranchiseName("Franquicia Nueva"));
+        assertTrue(filter.mightContainBranchName("franchise-1", "Sucursal Nueva"));
+    }
+
+    @Test
+    @DisplayName("Debe reconocer nombres sin distinguir mayúsculas ni espacios extremos")
+    void shouldMatchNormalizedNames() {
+        // Arrange
+        filter.addFranchiseName("Franquicia El Éxito");
+        filter.addBranchName("franchise-1", "Sucursal Centro");
+        filter.markReady(filter.startRebuild());
+
+        // Act & Assert
+        assertTrue(filter.mightContainFranchiseName("  franquicia el éxito "));
+        assertTrue(filter.mightContainBranchName("franchise-1", "SUCURSAL CENTRO"));
+        assertFalse(filter.mightContainBranchName("franchise-2", "Sucursal Centro"));
+    }
+
+    @Test
+    @DisplayName("Debe calcular la tasa observada de falsos positivos")
+    void shouldComputeObservedFalsePositiveRate() {
+        // Arrange
+        filter.markReady(filter.startRebuild());
+        filter.mightContainFranchiseName("Ausente 1");
+        filter.mightContainFranchiseName("Ausente 2");
+        filter.mightContainFranchiseName("Ausente 3");
+
+        // Act
+        filter.recordFalsePositive();
+
+        // Assert
+        assertEquals(0.25, filter.observedFalsePositiveRate(), 0.0001);
+    }
+
+    @Test
+    @DisplayName("Debe responder siempre 'puede existir' cuando está deshabilitado")
+    void shouldAlwaysDelegateWhenDisabled() {
+        // Arrange
+        NameBloomFilter disabled = new NameBloomFilter(false, true, 100, 0.01, new SimpleMeterRegistry());
+        disabled.markReady(disabled.startRebuild());
+
+        // Act & Assert
+        assertTrue(disabled.mightContainFranchiseName("Cualquiera"));
+    }
+
+    @Test
+    @DisplayName("Debe deshabilitarse si no está activo el listener de change streams")
+    void shouldStayDisabledWithoutChangeStream() {
+        // Arrange
+        NameBloomFilter withoutListener = new NameBloomFilter(true, false, 100, 0.01, new SimpleMeterRegistry());
+        withoutListener.markReady(withoutListener.startRebuild());
+
+        // Act & Assert
+        assertFalse(withoutListener.isEnabled());
+        assertTrue(withoutListener.mightContainBranchName("franchise-1", "Creada en otro nodo"));
+    }
+
+    @Test
+    @DisplayName("Debe volver a delegar en la base de datos al perder la confianza y hasta la siguiente reconstrucción")
+    void shouldDelegateAfterMarkNotReadyUntilNextRebuild() {
+        // Arrange
+        filter.markReady(filter.startRebuild());
+        long interrupted = filter.startRebuild();
+
+        // Act
+        filter.markNotReady();
+        filter.markReady(interrupted);
+
+        // Assert
+        assertFalse(filter.isReady());
+        assertTrue(filter.mightContainFranchiseName("Creada durante el corte"));
+        filter.markReady(filter.startRebuild());
+        assertFalse(filter.mightContainFranchiseName("Creada durante el corte"));
+    }
+}
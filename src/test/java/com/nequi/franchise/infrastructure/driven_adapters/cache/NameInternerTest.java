@@ -0,0 +1,79 @@
+package com.nequi.franchise.infrastructure.driven_adapters.cache;
+
+import com.nequi.franchise.infrastructure.driven_adapters.mongo_repository.FranchiseDocument;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitarios para NameInterner")
+class NameInternerTest {
+
+    @Test
+    @DisplayName("Debe retornar la misma instancia para nombres iguales y contabilizar los bytes deduplicados")
+    void shouldReturnCanonicalInstance() {
+        // Arrange
+        NameInterner interner = new NameInterner(true, 1024, new SimpleMeterRegistry());
+        String first = new String("Laptop Dell");
+        String duplicate = new String("Laptop Dell");
+
+        // Act
+        String canonical = interner.intern(first);
+        String deduplicated = interner.intern(duplicate);
+
+        // Assert
+        assertSame(first, canonical);
+        assertSame(first, deduplicated);
+        assertTrue(interner.bytesDeduplicated() > 0);
+    }
+
+    @Test
+    @DisplayName("Debe deduplicar los nombres de sucursales y productos de distintos documentos")
+    void shouldInternDocumentNames() {
+        // Arrange
+        NameInterner interner = new NameInterner(true, 1024, new SimpleMeterRegistry());
+        FranchiseDocument first = document();
+        FranchiseDocument second = document();
+
+        // Act
+        interner.internNames(first);
+        interner.internNames(second);
+
+        // Assert
+        assertSame(first.getBranches().get(0).getName(), second.getBranches().get(0).getName());
+        assertSame(first.getBranches().get(0).getProducts().get(0).getName(),
+                second.getBranches().get(0).getProducts().get(0).getName());
+    }
+
+    @Test
+    @DisplayName("No debe modificar los nombres cuando está deshabilitado")
+    void shouldPassThroughWhenDisabled() {
+        // Arrange
+        NameInterner interner = new NameInterner(false, 1024, new SimpleMeterRegistry());
+        String first = new String("Mouse");
+        String duplicate = new String("Mouse");
+        interner.intern(first);
+
+        // Act
+        String result = interner.intern(duplicate);
+
+        // Assert
+        assertSame(duplicate, result);
+        assertEquals(0, interner.bytesDeduplicated());
+    }
+
+    private static FranchiseDocument document() {
+        FranchiseDocument.ProductDocument product = new FranchiseDocument.ProductDocument();
+        product.setName(new String("Laptop Dell"));
+        FranchiseDocument.BranchDocument branch = new FranchiseDocument.BranchDocument();
+        branch.setName(new String("Sucursal Centro"));
+        branch.setProducts(List.of(product));
+        FranchiseDocument document = new FranchiseDocument();
+        document.setName(new String("Franquicia Norte"));
+        document.setBranches(List.of(branch));
+        return document;
+    }
+}
@@ -0,0 +1,126 @@
+package com.nequi.franchise.infrastructure.driven_adapters.cache;
+
+import com.nequi.franchise.infrastructure.driven_adapters.mongo_repository.FranchiseDocument;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitarios para OffHeapFranchiseStore")
+class OffHeapFranchiseStoreTest {
+    private static final int BLOCK_SIZE = 64;
+
+    private static FranchiseDocument document(String id) {
+        FranchiseDocument.ProductDocument product = new FranchiseDocument.ProductDocument();
+        product.setProductId("p-" + id);
+        product.setName("Producto " + id);
+        product.setStock(42);
+        FranchiseDocument.BranchDocument branch = new FranchiseDocument.BranchDocument();
+        branch.setBranchId("b-" + id);
+        branch.setName("Sucursal " + id);
+        branch.setProducts(List.of(product));
+        FranchiseDocument document = new FranchiseDocument();
+        document.setId(id);
+        document.setName("Franquicia " + id);
+        document.setBranches(List.of(branch));
+        document.setVersion(3L);
+        return document;
+    }
+
+    @Test
+    @DisplayName("Debe recuperar el documento completo desde los bytes serializados")
+    void shouldRoundTripDocument() {
+        // Arrange
+        OffHeapFranchiseStore store = new OffHeapFranchiseStore(1024 * 1024, new SimpleMeterRegistry());
+        FranchiseDocument original = document("1");
+
+        // Act
+        store.put("1", store.serialize(original), 0L);
+
+        // Assert
+        assertEquals(original, store.get("1").orElseThrow().document());
+        assertTrue(store.usedBytes() > 0);
+    }
+
+    @Test
+    @DisplayName("Debe expulsar las entradas menos usadas al superar el presupuesto de bytes")
+    void shouldEvictLeastRecentlyUsedWhenOverBudget() {
+        // Arrange
+        OffHeapFranchiseStore probe = new OffHeapFranchiseStore(1024 * 1024, new SimpleMeterRegistry());
+        int blocksPerEntry = (probe.serialize(document("1")).length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        // Espacio para dos entradas y media
+        OffHeapFranchiseStore store = new OffHeapFranchiseStore((2L * blocksPerEntry + blocksPerEntry / 2) * BLOCK_SIZE,
+                BLOCK_SIZE, new SimpleMeterRegistry());
+        store.put("1", store.serialize(document("1")), 0L);
+        store.put("2", store.serialize(document("2")), 0L);
+        store.get("1");
+
+        // Act
+        store.put("3", store.serialize(document("3")), 0L);
+
+        // Assert
+        assertEquals(2, store.size());
+        assertTrue(store.contains("1"));
+        assertFalse(store.contains("2"));
+        assertTrue(store.contains("3"));
+    }
+
+    @Test
+    @DisplayName("No debe guardar nada cuando el presupuesto es cero")
+    void shouldIgnoreEntriesWhenDisabled() {
+        // Arrange
+        OffHeapFranchiseStore store = new OffHeapFranchiseStore(0, new SimpleMeterRegistry());
+
+        // Act
+        store.put("1", new byte[]{1, 2, 3}, 0L);
+
+        // Assert
+        assertFalse(store.isEnabled());
+        assertEquals(0, store.size());
+        assertEquals(0, store.usedBytes());
+    }
+
+    @Test
+    @DisplayName("Debe reutilizar los bloques liberados sin pasar del presupuesto reservado")
+    void shouldReuseReleasedBlocksWithinBudget() {
+        // Arrange
+        OffHeapFranchiseStore store = new OffHeapFranchiseStore(16L * BLOCK_SIZE, BLOCK_SIZE, new SimpleMeterRegistry());
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            store.put(Integer.toString(i % 7), store.serialize(document(Integer.toString(i))), 0L);
+            assertTrue(store.usedBytes() <= store.capacityBytes());
+        }
+        FranchiseDocument last = store.get(Integer.toString(99 % 7)).orElseThrow().document();
+        store.clear();
+
+        // Assert
+        assertEquals("99", last.getId());
+        assertEquals(16L * BLOCK_SIZE, store.capacityBytes());
+        assertEquals(0, store.usedBytes());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    @DisplayName("Debe deduplicar los nombres de los documentos leídos")
+    void shouldInternNamesOnRead() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        OffHeapFranchiseStore store = new OffHeapFranchiseStore(1024 * 1024, new NameInterner(true, 1024, registry), registry);
+        FranchiseDocument first = document("1");
+        FranchiseDocument second = document("2");
+        second.getBranches().get(0).setName("Sucursal 1");
+        store.put("1", store.serialize(first), 0L);
+        store.put("2", store.serialize(second), 0L);
+
+        // Act
+        String firstName = store.get("1").orElseThrow().document().getBranches().get(0).getName();
+        String secondName = store.get("2").orElseThrow().document().getBranches().get(0).getName();
+
+        // Assert
+        assertSame(firstName, secondName);
+    }
+}
@@ -0,0 +1,121 @@
+package com.nequi.franchise.infrastructure.driven_adapters.cache;
+
+import com.nequi.franchise.domain.model.franchise.ProductSuggestion;
+import com.nequi.franchise.infrastructure.driven_adapters.mongo_repository.FranchiseDocument;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitarios para ProductNameIndex y ProductPrefixIndex")
+class ProductNameIndexTest {
+
+    private ProductNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductNameIndex(10, new SimpleMeterRegistry());
+    }
+
+    private static FranchiseDocument document(String... productNames) {
+        FranchiseDocument.BranchDocument branch = new FranchiseDocument.BranchDocument();
+        branch.setBranchId("b-1");
+        branch.setName("Sucursal Centro");
+        branch.setProducts(Arrays.stream(productNames).map(name -> {
+            FranchiseDocument.ProductDocument product = new FranchiseDocument.ProductDocument();
+            product.setProductId("p-" + name);
+            product.setName(name);
+            return product;
+        }).toList());
+        FranchiseDocument document = new FranchiseDocument();
+        document.setId("f-1");
+        document.setBranches(List.of(branch));
+        return document;
+    }
+
+    private static List<String> names(List<ProductSuggestion> suggestions) {
+        return suggestions.stream().map(ProductSuggestion::getName).toList();
+    }
+
+    @Test
+    @DisplayName("Debe sugerir por prefijo sin distinguir mayúsculas y en orden alfabético")
+    void shouldSuggestByPrefixIgnoringCase() {
+        // Arrange
+        ProductPrefixIndex prefixIndex = ProductPrefixIndex.of(document("Laptop Lenovo", "Mouse", "laptop Dell", "Lámpara"));
+
+        // Act
+        List<ProductSuggestion> suggestions = prefixIndex.search("LAP", 10);
+
+        // Assert
+        assertEquals(List.of("laptop Dell", "Laptop Lenovo"), names(suggestions));
+        assertEquals("b-1", suggestions.get(0).getBranchId());
+        assertEquals("p-laptop Dell", suggestions.get(0).getProductId());
+    }
+
+    @Test
+    @DisplayName("Debe reflejar altas, renombres y bajas de forma incremental")
+    void shouldApplyIncrementalChanges() {
+        // Arrange
+        ProductPrefixIndex prefixIndex = ProductPrefixIndex.of(document("Mouse", "Monitor"));
+
+        // Act
+        ProductPrefixIndex changed = prefixIndex
+                .withProduct("b-1", "p-new", "Módem")
+                .withRenamedProduct("b-1", "p-Monitor", "Pantalla")
+                .withoutProduct("b-1", "p-Mouse");
+
+        // Assert
+        assertEquals(List.of("Módem"), names(changed.search("m", 10)));
+        assertEquals(List.of("Pantalla"), names(changed.search("pan", 10)));
+        assertEquals(List.of("Monitor", "Mouse"), names(prefixIndex.search("m", 10)));
+    }
+
+    @Test
+    @DisplayName("Debe aplicar cambios solo sobre la versión inmediatamente anterior")
+    void shouldDropIndexWhenVersionsHaveGap() {
+        // Arrange
+        index.putIfUnchanged("f-1", 3, ProductPrefixIndex.of(document("Mouse")), index.epoch());
+        UnaryOperator<ProductPrefixIndex> addKeyboard = current -> current.withProduct("b-1", "p-k", "Keyboard");
+
+        // Act
+        index.apply("f-1", 4, addKeyboard);
+        int sizeAfterConsecutive = index.get("f-1").orElseThrow().size();
+        index.apply("f-1", 6, addKeyboard);
+
+        // Assert
+        assertEquals(2, sizeAfterConsecutive);
+        assertTrue(index.get("f-1").isEmpty());
+    }
+
+    @Test
+    @DisplayName("No debe guardar un índice construido antes de una invalidación")
+    void shouldNotStoreIndexBuiltBeforeInvalidation() {
+        // Arrange
+        long epoch = index.epoch();
+        index.invalidate("f-1");
+
+        // Act
+        index.putIfUnchanged("f-1", 1, ProductPrefixIndex.of(document("Mouse")), epoch);
+
+        // Assert
+        assertTrue(index.get("f-1").isEmpty());
+    }
+
+    @Test
+    @DisplayName("No debe entregar un índice anterior a la versión pedida")
+    void shouldIgnoreIndexOlderThanRequestedVersion() {
+        // Arrange
+        index.putIfUnchanged("f-1", 3, ProductPrefixIndex.of(document("Mouse")), index.epoch());
+
+        // Act & Assert
+        assertTrue(index.get("f-1", 3).isPresent());
+        assertTrue(index.get("f-1", 2).isPresent());
+        assertTrue(index.get("f-1", 4).isEmpty());
+    }
+}
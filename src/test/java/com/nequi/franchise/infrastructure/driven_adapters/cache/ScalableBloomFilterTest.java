@@ -0,0 +1,59 @@
+package com.nequi.franchise.infrastructure.driven_adapters.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitarios para ScalableBloomFilter")
+class ScalableBloomFilterTest {
+
+    @Test
+    @DisplayName("No debe producir falsos negativos al superar la capacidad inicial")
+    void shouldNeverReturnFalseNegatives() {
+        // Arrange
+        ScalableBloomFilter filter = new ScalableBloomFilter(100, 0.01);
+
+        // Act
+        for (int i = 0; i < 5_000; i++) {
+            filter.add("franquicia-" + i);
+        }
+
+        // Assert
+        for (int i = 0; i < 5_000; i++) {
+            assertTrue(filter.mightContain("franquicia-" + i));
+        }
+        assertTrue(filter.approximateElementCount() >= 4_900);
+    }
+
+    @Test
+    @DisplayName("Debe mantener la tasa de falsos positivos cerca de la objetivo")
+    void shouldKeepFalsePositiveRateBounded() {
+        // Arrange
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01);
+        for (int i = 0; i < 20_000; i++) {
+            filter.add("presente-" + i);
+        }
+
+        // Act
+        int falsePositives = 0;
+        int probes = 20_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("ausente-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // Assert
+        double observed = (double) falsePositives / probes;
+        assertTrue(observed < 0.03, "Tasa observada: " + observed);
+        assertTrue(filter.expectedFalsePositiveRate() < 0.03);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar parámetros inválidos")
+    void shouldRejectInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(100, 1.5));
+    }
+}
@@ -0,0 +1,159 @@
+package com.nequi.franchise.infrastructure.driven_adapters.mongo_repository;
+
+import com.nequi.franchise.domain.model.franchise.BatchPlan;
+import com.nequi.franchise.domain.model.franchise.Branch;
+import com.nequi.franchise.domain.model.franchise.Product;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitarios para BatchUpdates")
+class BatchUpdatesTest {
+
+    private FranchiseMapper mapper;
+    private MappingMongoConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        mapper = new FranchiseMapperImpl();
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext());
+        converter.afterPropertiesSet();
+    }
+
+    private static Product product(String id, String name, int stock) {
+        return Product.builder().productId(id).name(name).stock(stock).build();
+    }
+
+    private List<Document> pipeline(BatchPlan plan) {
+        return BatchUpdates.of(plan, mapper, converter).toPipeline(Aggregation.DEFAULT_CONTEXT);
+    }
+
+    private static Document set(List<Document> pipeline) {
+        assertEquals(1, pipeline.size());
+        return pipeline.get(0).get("$set", Document.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T at(Object value, Object... path) {
+        Object current = value;
+        for (Object key : path) {
+            current = key instanceof Integer index ? ((List<Object>) current).get(index) : ((Document) current).get(key);
+        }
+        return (T) current;
+    }
+
+    @Test
+    @DisplayName("Debe escribir en una sola etapa los cambios de rutas en conflicto de una misma sucursal")
+    void shouldCombineConflictingPathsOfOneBranch() {
+        // Arrange
+        BatchPlan plan = new BatchPlan();
+        plan.productRenamed("b-1", product("p-1", "Laptop HP", 5));
+        plan.stockUpdated("b-1", product("p-1", "Laptop HP", 7));
+        plan.productRemoved("b-1", "p-2");
+        plan.productAdded("b-1", product("p-3", "Mouse", 2));
+
+        // Act
+        Document set = set(pipeline(plan));
+
+        // Assert
+        Document map = at(set, "branches", "$map");
+        assertEquals(new Document("$ifNull", List.of("$branches", List.of())), map.get("input"));
+        List<Document> cases = at(map, "in", "$switch", "branches");
+        assertEquals(1, cases.size());
+        assertEquals(new Document("$eq", List.of("$$branch.branchId", new Document("$literal", "b-1"))), cases.get(0).get("case"));
+        assertEquals("$$branch", at(map, "in", "$switch", "default"));
+
+        Document products = at(cases.get(0), "then", "$mergeObjects", 1, "products");
+        List<Document> added = at(products, "$concatArrays", 1, "$literal");
+        assertEquals("p-3", added.get(0).get("productId"));
+        Document filter = at(products, "$concatArrays", 0, "$filter");
+        assertEquals(List.of("p-2"), at(filter, "cond", "$not", 0, "$in", 1, "$literal"));
+        Document changed = at(filter, "input", "$map", "in", "$switch", "branches", 0, "then", "$mergeObjects", 1);
+        assertEquals(new Document("name", new Document("$literal", "Laptop HP")).append("stock", new Document("$literal", 7)), changed);
+    }
+
+    @Test
+    @DisplayName("Debe incrementar la versión una sola vez, también en documentos sin versión")
+    void shouldIncrementVersionOnce() {
+        // Arrange
+        Branch branch = Branch.builder().branchId("b-1").name("Sucursal Centro").build();
+        BatchPlan plan = new BatchPlan();
+        plan.branchRenamed(branch);
+
+        // Act
+        Document set = set(pipeline(plan));
+
+        // Assert
+        assertEquals(new Document("$add", List.of(new Document("$ifNull", List.of("$version", 0L)), 1L)), set.get("version"));
+    }
+
+    @Test
+    @DisplayName("Debe tratar como literales los nombres que empiezan por $")
+    void shouldWrapValuesAsLiterals() {
+        // Arrange
+        Branch branch = Branch.builder().branchId("b-1").name("$branches").build();
+        BatchPlan plan = new BatchPlan();
+        plan.branchRenamed(branch);
+
+        // Act
+        Document set = set(pipeline(plan));
+
+        // Assert
+        Document fields = at(set, "branches", "$map", "in", "$switch", "branches", 0, "then", "$mergeObjects", 1);
+        assertEquals(new Document("name", new Document("$literal", "$branches")), fields);
+    }
+
+    @Test
+    @DisplayName("Debe agregar las sucursales nuevas al final sin stock desconocido ni información de tipo")
+    void shouldAppendNewBranchesAsPlainDocuments() {
+        // Arrange
+        List<Product> products = new ArrayList<>();
+        products.add(product("p-1", "Teclado", Product.UNKNOWN_STOCK));
+        Branch branch = Branch.builder().branchId("b-9").name("Sucursal Norte").products(products).build();
+        BatchPlan plan = new BatchPlan();
+        plan.branchAdded(branch);
+
+        // Act
+        Document set = set(pipeline(plan));
+
+        // Assert
+        assertEquals(new Document("$ifNull", List.of("$branches", List.of())), at(set, "branches", "$concatArrays", 0));
+        List<Document> added = at(set, "branches", "$concatArrays", 1, "$literal");
+        assertEquals(1, added.size());
+        assertEquals("b-9", added.get(0).get("branchId"));
+        assertFalse(added.get(0).containsKey("_class"));
+        Document product = at(added.get(0), "products", 0);
+        assertEquals("Teclado", product.get("name"));
+        assertFalse(product.containsKey("stock"));
+    }
+
+    @Test
+    @DisplayName("Debe usar un caso por sucursal afectada y conservar las demás")
+    void shouldUseOneCasePerChangedBranch() {
+        // Arrange
+        BatchPlan plan = new BatchPlan();
+        plan.stockUpdated("b-1", product("p-1", "Laptop", 3));
+        plan.stockUpdated("b-2", product("p-5", "Monitor", 4));
+        plan.stockUpdated("b-1", product("p-2", "Mouse", 8));
+
+        // Act
+        Document set = set(pipeline(plan));
+
+        // Assert
+        List<Document> cases = at(set, "branches", "$map", "in", "$switch", "branches");
+        assertEquals(2, cases.size());
+        List<Document> productCases = at(cases.get(0), "then", "$mergeObjects", 1, "products", "$map", "in", "$switch", "branches");
+        assertEquals(2, productCases.size());
+        assertEquals(new Document("$literal", "p-2"), at(productCases.get(1), "case", "$eq", 1));
+    }
+}
@@ -0,0 +1,174 @@
+package com.nequi.franchise.infrastructure.driven_adapters.mongo_repository;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import com.nequi.franchise.infrastructure.driven_adapters.cache.FranchiseLocalCache;
+import com.nequi.franchise.infrastructure.driven_adapters.cache.MaxStockResultCache;
+import com.nequi.franchise.infrastructure.driven_adapters.cache.NameBloomFilter;
+import com.nequi.franchise.infrastructure.driven_adapters.cache.OffHeapFranchiseStore;
+import com.nequi.franchise.infrastructure.driven_adapters.cache.ProductNameIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonValue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Requiere un replica set local, ver la sección de change streams en el README. Usa una base de
+ * datos propia, que se elimina al terminar cada test.
+ */
+@EnabledIfEnvironmentVariable(named = "MONGODB_REPLICA_SET_URI", matches = ".+")
+@DisplayName("Test de integración para FranchiseChangeStreamListener")
+class FranchiseChangeStreamListenerIT {
+
+    private static final String DATABASE = "franchise_change_stream_it";
+
+    private MongoClient client;
+    private ReactiveMongoTemplate template;
+    private FranchiseLocalCache cache;
+    private NameBloomFilter nameFilter;
+    private FranchiseChangeStreamListener listener;
+
+    @BeforeEach
+    void setUp() {
+        ConnectionString connectionString = new ConnectionString(System.getenv("MONGODB_REPLICA_SET_URI"));
+        client = MongoClients.create(connectionString);
+        template = new ReactiveMongoTemplate(client, DATABASE);
+        cache = new FranchiseLocalCache(true, 10, Duration.ZERO, new OffHeapFranchiseStore(0, new SimpleMeterRegistry()));
+        nameFilter = new NameBloomFilter(true, true, 100, 0.01, new SimpleMeterRegistry());
+        listener = new FranchiseChangeStreamListener(template, cache,
+                new MaxStockResultCache(10, new SimpleMeterRegistry()),
+                nameFilter, new FranchiseNameFilterInitializer(template, nameFilter),
+                new ProductNameIndex(10, new SimpleMeterRegistry()),
+                Duration.ofMillis(100), Duration.ofSeconds(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        listener.stop();
+        template.getMongoDatabase().flatMap(database -> Mono.from(database.drop())).block();
+        client.close();
+    }
+
+    @Test
+    @DisplayName("Debe invalidar la entrada cuando otro nodo modifica el documento")
+    void shouldInvalidateEntryWhenDocumentChanges() {
+        // Arrange
+        FranchiseDocument saved = template.save(document("Franquicia Change Stream")).block();
+        assertNotNull(saved);
+        cache.putIfUnchanged(saved, cache.epoch());
+        listener.start();
+
+        // Act: se repite la escritura hasta que el stream quede abierto y la procese
+        await().atMost(Duration.ofSeconds(15)).pollInterval(Duration.ofMillis(300)).until(() -> {
+            rename(saved, "Renombrada " + System.nanoTime());
+            return cache.get(saved.getId()).isEmpty();
+        });
+
+        // Assert
+        assertTrue(cache.get(saved.getId()).isEmpty());
+        assertNotNull(listener.currentResumeToken());
+    }
+
+    @Test
+    @DisplayName("Debe vaciar la caché al abrir un stream sin resume token")
+    void shouldFlushCacheWhenOpeningWithoutToken() {
+        // Arrange
+        FranchiseDocument saved = template.save(document("Franquicia sin token")).block();
+        assertNotNull(saved);
+        cache.putIfUnchanged(saved, cache.epoch());
+        assertNull(listener.currentResumeToken());
+
+        // Act
+        listener.start();
+
+        // Assert: sin ninguna escritura, la entrada cargada antes de abrir el stream se descarta
+        await().atMost(Duration.ofSeconds(15)).until(() -> cache.get(saved.getId()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debe reanudar desde el resume token e invalidar lo escrito mientras el stream estaba cerrado")
+    void shouldResumeFromTokenAndReplayMissedWrites() {
+        // Arrange
+        FranchiseDocument saved = template.save(document("Franquicia reanudada")).block();
+        assertNotNull(saved);
+        listener.start();
+        awaitResumeToken(saved);
+        listener.stop();
+        BsonValue token = listener.currentResumeToken();
+        FranchiseDocument cached = template.findById(saved.getId(), FranchiseDocument.class).block();
+        cache.putIfUnchanged(cached, cache.epoch());
+        rename(saved, "Renombrada sin stream");
+        assertTrue(cache.get(saved.getId()).isPresent());
+
+        // Act
+        listener.start();
+
+        // Assert: la escritura hecha sin stream llega al reanudar y la entrada se invalida
+        await().atMost(Duration.ofSeconds(15)).until(() -> cache.get(saved.getId()).isEmpty());
+        assertNotEquals(token, listener.currentResumeToken());
+    }
+
+    @Test
+    @DisplayName("Debe vaciar la caché y reabrir el stream sin token cuando se elimina la colección")
+    void shouldFlushAndReopenAfterCollectionDrop() {
+        // Arrange
+        FranchiseDocument saved = template.save(document("Franquicia eliminada")).block();
+        assertNotNull(saved);
+        listener.start();
+        awaitResumeToken(saved);
+        cache.putIfUnchanged(template.findById(saved.getId(), FranchiseDocument.class).block(), cache.epoch());
+
+        // Act
+        template.dropCollection(FranchiseChangeStreamListener.COLLECTION).block();
+
+        // Assert: el drop vacía la caché, el filtro de nombres se reconstruye y el stream reabierto sigue invalidando
+        await().atMost(Duration.ofSeconds(15)).until(() -> cache.get(saved.getId()).isEmpty());
+        FranchiseDocument recreated = template.save(document("Franquicia recreada")).block();
+        assertNotNull(recreated);
+        cache.putIfUnchanged(recreated, cache.epoch());
+        await().atMost(Duration.ofSeconds(15)).pollInterval(Duration.ofMillis(300)).until(() -> {
+            rename(recreated, "Renombrada " + System.nanoTime());
+            return cache.get(recreated.getId()).isEmpty();
+        });
+        await().atMost(Duration.ofSeconds(15)).until(nameFilter::isReady);
+        FranchiseDocument current = template.findById(recreated.getId(), FranchiseDocument.class).block();
+        assertNotNull(current);
+        assertTrue(nameFilter.mightContainFranchiseName(current.getName()));
+    }
+
+    private static FranchiseDocument document(String name) {
+        FranchiseDocument document = new FranchiseDocument();
+        document.setName(name);
+        return document;
+    }
+
+    private void rename(FranchiseDocument document, String name) {
+        template.updateFirst(Query.query(Criteria.where("id").is(document.getId())),
+                new Update().set("name", name), FranchiseDocument.class).block();
+    }
+
+    // Se repite la escritura hasta que el stream quede abierto y registre un token
+    private void awaitResumeToken(FranchiseDocument document) {
+        await().atMost(Duration.ofSeconds(15)).pollInterval(Duration.ofMillis(300)).until(() -> {
+            rename(document, "Renombrada " + System.nanoTime());
+            return listener.currentResumeToken() != null;
+        });
+    }
+}
@@ -1,9 +1,21 @@
 package com.nequi.franchise.infrastructure.entrypoints.reactiveweb;
 
+import com.nequi.franchise.domain.exception.ValidationException;
+import com.nequi.franchise.domain.model.franchise.BatchOperation;
+import com.nequi.franchise.domain.model.franchise.BatchOperationResult;
+import com.nequi.franchise.domain.model.franchise.BatchOperationType;
+import com.nequi.franchise.domain.model.franchise.BatchResult;
 import com.nequi.franchise.domain.model.franchise.Branch;
 import com.nequi.franchise.domain.model.franchise.BranchProductResult;
+import com.nequi.franchise.domain.model.franchise.FieldSelection;
 import com.nequi.franchise.domain.model.franchise.Franchise;
+import com.nequi.franchise.domain.model.franchise.FranchisePage;
+import com.nequi.franchise.domain.model.franchise.FranchiseStats;
+import com.nequi.franchise.domain.model.franchise.FranchiseSummary;
 import com.nequi.franchise.domain.model.franchise.Product;
+import com.nequi.franchise.domain.model.franchise.ProductSuggestion;
+import com.nequi.franchise.domain.model.franchise.StockRanking;
+import com.nequi.franchise.domain.model.franchise.StockRankingScope;
 import com.nequi.franchise.domain.usecase.franchise.*;
 import com.nequi.franchise.infrastructure.entrypoints.reactiveweb.dto.*;
 import com.nequi.franchise.infrastructure.entrypoints.reactiveweb.helper.FranchiseIdResolver;
@@ -15,7 +27,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.mock.web.reactive.function.server.MockServerRequest;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
@@ -25,9 +39,14 @@ import reactor.test.StepVerifier;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +56,10 @@ class FranchiseHandlerTest {
     @Mock
     private CreateFranchiseUseCase createFranchiseUseCase;
     @Mock
+    private FindFranchiseUseCase findFranchiseUseCase;
+    @Mock
+    private ListFranchisesUseCase listFranchisesUseCase;
+    @Mock
     private AddBranchUseCase addBranchUseCase;
     @Mock
     private AddProductUseCase addProductUseCase;
@@ -47,12 +70,24 @@ class FranchiseHandlerTest {
     @Mock
     private FindMaxStockUseCase findMaxStockUseCase;
     @Mock
+    private FindTopStockUseCase findTopStockUseCase;
+    @Mock
+    private FindProductsByStockRangeUseCase findProductsByStockRangeUseCase;
+    @Mock
+    private SuggestProductsUseCase suggestProductsUseCase;
+    @Mock
+    private FranchiseStatsUseCase franchiseStatsUseCase;
+    @Mock
+    private FindFranchiseVersionUseCase findFranchiseVersionUseCase;
+    @Mock
     private UpdateFranchiseNameUseCase updateFranchiseNameUseCase;
     @Mock
     private UpdateBranchNameUseCase updateBranchNameUseCase;
     @Mock
     private UpdateProductNameUseCase updateProductNameUseCase;
     @Mock
+    private ExecuteBatchUseCase executeBatchUseCase;
+    @Mock
     private GlobalErrorHandler errorHandler;
     @Mock
     private FranchiseDtoMapper mapper;
@@ -208,6 +243,57 @@ class FranchiseHandlerTest {
         verify(removeProductUseCase).apply("123", "branch-456", "product-123");
     }
 
+    @Test
+    @DisplayName("Debe eliminar producto por ID sin resolver nombres")
+    void shouldRemoveProductByIdWithoutResolvingNames() {
+        // Arrange
+        ServerRequest serverRequest = MockServerRequest.builder()
+                .pathVariable("franchiseId", "123")
+                .pathVariable("branchId", "branch-456")
+                .pathVariable("productId", "product-123")
+                .build();
+
+        when(removeProductUseCase.apply("123", "branch-456", "product-123"))
+                .thenReturn(Mono.just(franchise));
+
+        // Act
+        Mono<ServerResponse> result = handler.removeProductById(serverRequest);
+
+        // Assert
+        StepVerifier.create(result)
+                .expectNextMatches(response -> response.statusCode() == HttpStatus.OK)
+                .verifyComplete();
+
+        verifyNoInteractions(idResolver);
+    }
+
+    @Test
+    @DisplayName("Debe actualizar stock por ID sin resolver nombres")
+    void shouldUpdateStockByIdWithoutResolvingNames() {
+        // Arrange
+        UpdateStockRequest request = new UpdateStockRequest();
+        request.setStock(200);
+
+        ServerRequest serverRequest = MockServerRequest.builder()
+                .pathVariable("franchiseId", "123")
+                .pathVariable("branchId", "branch-456")
+                .pathVariable("productId", "product-123")
+                .body(Mono.just(request));
+
+        when(updateStockUseCase.apply("123", "branch-456", "product-123", 200))
+                .thenReturn(Mono.just(franchise));
+
+        // Act
+        Mono<ServerResponse> result = handler.updateStockById(serverRequest);
+
+        // Assert
+        StepVerifier.create(result)
+                .expectNextMatches(response -> response.statusCode() == HttpStatus.OK)
+                .verifyComplete();
+
+        verifyNoInteractions(idResolver);
+    }
+
     @Test
     @DisplayName("Debe actualizar stock exitosamente")
     void shouldUpdateStockSuccessfully() {
@@ -250,12 +336,108 @@ class FranchiseHandlerTest {
         BranchProductResult result1 = new BranchProductResult("Sucursal Centro", product);
         BranchProductResult result2 = new BranchProductResult("Sucursal Norte", product);
 
+        when(findFranchiseVersionUseCase.apply("123")).thenReturn(Mono.just(3L));
         when(findMaxStockUseCase.apply("123"))
                 .thenReturn(Flux.just(result1, result2));
 
         // Act
         Mono<ServerResponse> result = handler.getMaxStockProducts(serverRequest);
 
+        // Assert
+        StepVerifier.create(result)
+                .expectNextMatches(response -> response.statusCode() == HttpStatus.OK
+                        && "\"v3\"".equals(response.headers().getETag()))
+                .verifyComplete();
+
+        verify(findMaxStockUseCase).apply("123");
+    }
+
+    @Test
+    @DisplayName("Debe transmitir los productos con mayor stock en NDJSON sin acumularlos")
+    void shouldStreamMaxStockProductsAsNdjson() {
+        // Arrange
+        ServerRequest serverRequest = MockServerRequest.builder()
+                .pathVariable("franchiseId", "123")
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_NDJSON_VALUE)
+                .build();
+
+        when(findFranchiseVersionUseCase.apply("123")).thenReturn(Mono.just(3L));
+        when(findMaxStockUseCase.apply("123"))
+                .thenReturn(Flux.just(new BranchProductResult("Sucursal Centro", product)));
+
+        // Act
+        Mono<ServerResponse> result = handler.getMaxStockProducts(serverRequest);
+
+        // Assert
+        StepVerifier.create(result)
+                .expectNextMatches(response -> response.statusCode() == HttpStatus.OK
+                        && MediaType.APPLICATION_NDJSON.equals(response.headers().getContentType())
+                        && "\"v3\"".equals(response.headers().getETag())
+                        && response.headers().getVary().contains(HttpHeaders.ACCEPT))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Debe conservar el 404 al transmitir cuando no hay productos con stock")
+    void shouldReturn404WhenStreamingEmptyMaxStock() {
+        // Arrange
+        ServerRequest serverRequest = MockServerRequest.builder()
+                .pathVariable("franchiseId", "123")
+                .header(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE)
+                .build();
+
+        when(findFranchiseVersionUseCase.apply("123")).thenReturn(Mono.just(3L));
+        when(findMaxStockUseCase.apply("123")).thenReturn(Flux.empty());
+
+        // Act
+        Mono<ServerResponse> result = handler.getMaxStockProducts(serverRequest);
+
+        // Assert
+        StepVerifier.create(result)
+                .expectNextMatches(response -> response.statusCode() == HttpStatus.NOT_FOUND)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Debe responder 304 cuando el ETag coincide con la versión actual")
+    void shouldReturnNotModifiedWhenETagMatches() {
+        // Arrange
+        ServerRequest serverRequest = MockServerRequest.builder()
+                .pathVariable("franchiseId", "123")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"v3\"")
+                .build();
+
+        when(findFranchiseVersionUseCase.apply("123")).thenReturn(Mono.just(3L));
+
+        // Act
+        Mono<ServerResponse> result = handler.getMaxStockProducts(serverRequest);
+
+        // Assert
+        StepVerifier.create(result)
+                .expectNextMatches(response -> response.statusCode() == HttpStatus.NOT_MODIFIED
+                        && "\"v3\"".equals(response.headers().getETag())
+                        && response.headers().getVary().contains(HttpHeaders.ACCEPT))
+                .verifyComplete();
+
+        verify(findMaxStockUseCase, never()).apply(any());
+    }
+
+    @Test
+    @DisplayName("Debe recalcular cuando el ETag no coincide con la versión actual")
+    void shouldRecomputeWhenETagIsStale() {
+        // Arrange
+        ServerRequest serverRequest = MockServerRequest.builder()
+                .pathVariable("franchiseId", "123")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"v2\"")
+                .build();
+
+        when(findFranchiseVersionUseCase.apply("123")).thenReturn(Mono.just(3L));
+        when(findMaxStockUseCase.apply("123"))
+                .thenReturn(Flux.just(new BranchProductResult("Sucursal Centro", product)));
+
+        // Act
+        Mono<ServerResponse> result = handler.getMaxStockProducts(serverRequest);
+
         // Assert
         StepVerifier.create(result)
                 .expectNextMatches(response -> response.statusCode() == HttpStatus.OK)
@@ -264,6 +446,343 @@ class FranchiseHandlerTest {
         verify(findMaxStockUseCase).apply("123");
     }
 
+    @Test
+    @DisplayName("Debe obtener el ranking de productos con los parámetros indicados")
+    void shouldGetTopStockProducts() {
+        // Arrange
+        ServerRequest serverRequest = MockServerRequest.builder()
+                .pathVariable("franchiseId", "123")
+                .queryParam("limit", "5")
+                .queryParam("order", "lowest")
+                .queryParam("scope", "franchise")
+                .build();
+
+        when(findFranchiseVersionUseCase.apply("123")).thenReturn(Mono.just(3L));
+        when(findTopStockUseCase.apply("123", 5, StockRanking.LOWEST, StockRankingScope.FRANCHISE))
+                .thenReturn(Flux.just(new BranchProductResult("Sucursal Centro", product)));
+
+        // Act
+        Mono<ServerResponse> result = handler.getTopStockProducts(serverRequest);
+
+        // Assert
+        StepVerifier.create(result)
+                .expectNextMatches(response -> response.statusCode() == HttpStatus.OK
+                        && "\"v3\"".equals(response.headers().getETag()))
+                .verifyComplete();
+
+        verify(findTopStockUseCase).apply("123", 5, StockRanking.LOWEST, StockRankingScope.FRANCHISE);
+    }
+
+    @Test
+    @DisplayName("Debe transmitir el ranking como Server-Sent Events cuando el cliente los prefiere")
+    void shouldStreamTopStockAsServerSentEvents() {
+        // Arrange
+        ServerRequest serverRequest = MockServerRequest.builder()
+                .pathVariable("franchiseId", "123")
+                .header(HttpHeaders.ACCEPT, "application/json;q=0.5, text/event-stream")
+                .build();
+
+        when(findFranchiseVersionUseCase.apply("123")).thenReturn(Mono.just(3L));
+        when(findTopStockUseCase.apply("123", 10, StockRanking.HIGHEST, StockRankingScope.BRANCH))
+                .thenReturn(Flux.just(new BranchProductResult("Sucursal Centro", product)));
+
+        // Act
+        Mono<ServerResponse> result = handler.getTopStockProducts(serverRequest);
+
+        // Assert
+        StepVerifier.create(result)
+                .expectNextMatches(response -> response.statusCode() == HttpStatus.OK
+                        && MediaType.TEXT_EVENT_STREAM.equals(response.headers().getContentType()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un orden de ranking inválido sin consultar")
+    void shouldRejectInvalidTopStockOrder() {
+        // Arrange
+        ServerRequest serverRequest = MockServerRequest.builder()
+                .pathVariable("franchiseId", "123")
+                .queryParam("order", "random")
+                .build();
+
+        when(errorHandler.handleError(any(ValidationException.class), any()))
+                .thenReturn(ServerResponse.status(HttpStatus.BAD_REQUEST).build());
+
+        // Act
+        Mono<ServerResponse> result = handler.getTopStockProducts(serverRequest);
+
+        // Assert
+        StepVerifier.create(result)
+                .expectNextMatches(response -> response.statusCode() == HttpStatus.BAD_REQUEST)
+                .verifyComplete();
+
+        verify(findTopStockUseCase, never()).apply(any(), anyInt(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un límite de ranking fuera de rango antes de responder")
+    void shouldRejectOutOfRangeTopStockLimit() {
+        // Arrange
+        ServerRequest serverRequest = MockServerRequest.builder()
+                .pathVariable("franchiseId", "123")
+                .queryParam("limit", "101")
+                .build();
+
+        when(errorHandler.handleError(any(ValidationException.class), any()))
+                .thenReturn(ServerResponse.status(HttpStatus.BAD_REQUEST).build());
+
+        // Act
+        Mono<ServerResponse> result = handler.getTopStockProducts(serverRequest);
+
+        // Assert
+        StepVerifier.create(result)
+                .expectNextMatches(response -> response.statusCode() == HttpStatus.BAD_REQUEST)
+                .verifyComplete();
+
+        verify(findFranchiseVersionUseCase, never()).apply(any());
+        verify(findTopStockUseCase, never()).apply(any(), anyInt(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Debe transmitir sugerencias de productos como NDJSON")
+    void shouldStreamProductSuggestions() {
+        // Arrange
+        ServerRequest serverRequest = MockServerRequest.builder()
+                .pathVariable("franchiseId", "123")
+                .queryParam("q", "lap")
+                .header(HttpHeaders.ACCEPT, "application/x-ndjson")
+                .build();
+
+        when(findFranchiseVersionUseCase.apply("123")).thenReturn(Mono.just(3L));
+        when(suggestProductsUseCase.apply("123", "lap", 10))
+                .thenReturn(Flux.just(new ProductSuggestion("branch-456", "product-123", "Laptop Dell")));
+
+        // Act
+        Mono<ServerResponse> result = handler.suggestProducts(serverRequest);
+
+        // Assert
+        StepVerifier.create(result)
+                .expectNextMatches(response -> response.statusCode() == HttpStatus.OK
+                        && MediaType.APPLICATION_NDJSON.equals(response.headers().getContentType()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un prefijo de sugerencias vacío antes de responder")
+    void shouldRejectBlankSuggestionPrefix() {
+        // Arrange
+        ServerRequest serverRequest = MockServerRequest.builder()
+                .pathVariable("franchiseId", "123")
+                .queryParam("q", "  ")
+                .header(HttpHeaders.ACCEPT, "application/x-ndjson")
+                .build();
+
+        when(errorHandler.handleError(any(ValidationException.class), any()))
+                .thenReturn(ServerResponse.status(HttpStatus.BAD_REQUEST).build());
+
+        // Act
+        Mono<ServerResponse> result = handler.suggestProducts(serverRequest);
+
+        // Assert
+        StepVerifier.create(result)
+                .expectNextMatches(response -> response.statusCode() == HttpStatus.BAD_REQUEST)
+                .verifyComplete();
+
+        verify(findFranchiseVersionUseCase, never()).apply(any());
+        verify(suggestProductsUseCase, never()).apply(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Debe responder 404 sin transmitir sugerencias cuando la franquicia no existe")
+    void shouldReturnNotFoundForSuggestionsOfMissingFranchise() {
+        // Arrange
+        ServerRequest serverRequest = MockServerRequest.builder()
+                .pathVariable("franchiseId", "999")
+                .queryParam("q", "lap")
+                .header(HttpHeaders.ACCEPT, "text/event-stream")
+                .build();
+
+        when(findFranchiseVersionUseCase.apply("999")).thenReturn(Mono.empty());
+
+        // Act
+        Mono<ServerResponse> result = handler.suggestProducts(serverRequest);
+
+        // Assert
+        StepVerifier.create(result)
+                .expectNextMatches(response -> response.statusCode() == HttpStatus.NOT_FOUND)
+                .verifyComplete();
+
+        verify(suggestProductsUseCase, never()).apply(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Debe listar franquicias enviando el cursor de la página siguiente en el encabezado")
+    void shouldListFranchisesWithNextCursorHeader() {
+        // Arrange
+        ServerRequest serverRequest = MockServerRequest.builder()
+                .queryParam("limit", "1")
+                .queryParam("after", "100")
+                .build();
+
+        when(listFranchisesUseCase.apply(null, "100", 1))
+                .thenReturn(Mono.just(new FranchisePage(List.of(new FranchiseSummary("123", "Franquicia Test", 1)), "123")));
+
+        // Act
+        Mono<ServerResponse> result = handler.listFranchises(serverRequest);
+
+        // Assert
+        StepVerifier.create(result)
+                .expectNextMatches(response -> response.statusCode() == HttpStatus.OK
+                        && "123".equals(response.headers().getFirst("X-Next-Cursor")))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Debe consultar la franquicia devolviendo solo los campos pedidos")
+    void shouldGetFranchiseWithSparseFields() {
+        // Arrange
+        ServerRequest serverRequest = MockServerRequest.builder()
+                .pathVariable("franchiseId", "123")
+                .queryParam("fields", "name,branches.name")
+                .build();
+        FieldSelection fields = FieldSelection.parse("name,branches.name");
+
+        when(findFranchiseVersionUseCase.apply("123")).thenReturn(Mono.just(3L));
+        when(findFranchiseUseCase.apply("123", fields)).thenReturn(Mono.just(franchise));
+        when(mapper.toSparseView(franchise, fields)).thenReturn(Map.of("id", "123", "name", "Franquicia Test"));
+
+        // Act
+        Mono<ServerResponse> result = handler.getFranchise(serverRequest);
+
+        // Assert
+        StepVerifier.create(result)
+                .expectNextMatches(response -> response.statusCode() == HttpStatus.OK
+                        && "\"v3\"".equals(response.headers().getETag()))
+                .verifyComplete();
+
+        verify(mapper).toSparseView(franchise, fields);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar campos no soportados sin consultar la franquicia")
+    void shouldRejectUnsupportedFields() {
+        // Arrange
+        ServerRequest serverRequest = MockServerRequest.builder()
+                .pathVariable("franchiseId", "123")
+                .queryParam("fields", "password")
+                .build();
+
+        when(errorHandler.handleError(any(ValidationException.class), any()))
+                .thenReturn(ServerResponse.status(HttpStatus.BAD_REQUEST).build());
+
+        // Act
+        Mono<ServerResponse> result = handler.getFranchise(serverRequest);
+
+        // Assert
+        StepVerifier.create(result)
+                .expectNextMatches(response -> response.statusCode() == HttpStatus.BAD_REQUEST)
+                .verifyComplete();
+
+        verify(findFranchiseUseCase, never()).apply(any(), any());
+    }
+
+    @Test
+    @DisplayName("Debe obtener las estadísticas de inventario con el ETag de la versión actual")
+    void shouldGetFranchiseStats() {
+        // Arrange
+        ServerRequest serverRequest = MockServerRequest.builder()
+                .pathVariable("franchiseId", "123")
+                .build();
+
+        when(findFranchiseVersionUseCase.apply("123")).thenReturn(Mono.just(3L));
+        when(franchiseStatsUseCase.apply("123")).thenReturn(Mono.just(FranchiseStats.of(franchise)));
+
+        // Act
+        Mono<ServerResponse> result = handler.getFranchiseStats(serverRequest);
+
+        // Assert
+        StepVerifier.create(result)
+                .expectNextMatches(response -> response.statusCode() == HttpStatus.OK
+                        && "\"v3\"".equals(response.headers().getETag()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Debe responder 404 sin calcular estadísticas cuando la franquicia no existe")
+    void shouldReturn404ForStatsOfMissingFranchise() {
+        // Arrange
+        ServerRequest serverRequest = MockServerRequest.builder()
+                .pathVariable("franchiseId", "missing")
+                .build();
+
+        when(findFranchiseVersionUseCase.apply("missing")).thenReturn(Mono.empty());
+
+        // Act
+        Mono<ServerResponse> result = handler.getFranchiseStats(serverRequest);
+
+        // Assert
+        StepVerifier.create(result)
+                .expectNextMatches(response -> response.statusCode() == HttpStatus.NOT_FOUND)
+                .verifyComplete();
+
+        verify(franchiseStatsUseCase, never()).apply(any());
+    }
+
+    @Test
+    @DisplayName("Debe responder el resultado del lote con el ETag de la nueva versión")
+    void shouldExecuteBatchWithNewVersionETag() {
+        // Arrange
+        BatchRequest request = new BatchRequest();
+        ServerRequest serverRequest = MockServerRequest.builder()
+                .pathVariable("franchiseId", "123")
+                .body(Mono.just(request));
+        List<BatchOperation> operations = List.of(
+                new BatchOperation(BatchOperationType.UPDATE_STOCK, "branch-456", null, "product-123", null, null, 7));
+        BatchResult batchResult = BatchResult.builder()
+                .version(5L)
+                .applied(1)
+                .results(List.of(BatchOperationResult.builder()
+                        .type(BatchOperationType.UPDATE_STOCK)
+                        .status(BatchOperationResult.Status.APPLIED)
+                        .build()))
+                .build();
+
+        when(mapper.toBatchOperations(request)).thenReturn(operations);
+        when(executeBatchUseCase.apply("123", operations)).thenReturn(Mono.just(batchResult));
+
+        // Act
+        Mono<ServerResponse> result = handler.executeBatch(serverRequest);
+
+        // Assert
+        StepVerifier.create(result)
+                .expectNextMatches(response -> response.statusCode() == HttpStatus.OK
+                        && "\"v5\"".equals(response.headers().getETag()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Debe responder 400 antes de transmitir cuando el rango de stock es inválido")
+    void shouldRejectInvalidStockRangeBeforeStreaming() {
+        // Arrange
+        ServerRequest serverRequest = MockServerRequest.builder()
+                .queryParam("min", "10")
+                .queryParam("max", "5")
+                .build();
+
+        when(errorHandler.handleError(any(ValidationException.class), any()))
+                .thenReturn(ServerResponse.status(HttpStatus.BAD_REQUEST).build());
+
+        // Act
+        Mono<ServerResponse> result = handler.getProductsByStockRange(serverRequest);
+
+        // Assert
+        StepVerifier.create(result)
+                .expectNextMatches(response -> response.statusCode() == HttpStatus.BAD_REQUEST)
+                .verifyComplete();
+
+        verify(findProductsByStockRangeUseCase, never()).apply(any(), anyInt(), anyInt(), any(), anyInt());
+    }
+
     @Test
     @DisplayName("Debe actualizar nombre de franquicia exitosamente")
     void shouldUpdateFranchiseNameSuccessfully() {
@@ -389,6 +908,7 @@ class FranchiseHandlerTest {
                 .pathVariable("franchiseId", "123")
                 .build();
 
+        when(findFranchiseVersionUseCase.apply("123")).thenReturn(Mono.empty());
         when(findMaxStockUseCase.apply("123")).thenReturn(Flux.empty());
 
         // Act
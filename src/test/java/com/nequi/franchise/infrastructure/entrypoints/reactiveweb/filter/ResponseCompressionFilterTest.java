@@ -0,0 +1,176 @@
+package com.nequi.franchise.infrastructure.entrypoints.reactiveweb.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitarios para ResponseCompressionFilter")
+class ResponseCompressionFilterTest {
+
+    private static final String LARGE_BODY = "{\"branches\":[" + "{\"name\":\"Sucursal Centro\",\"stock\":10},".repeat(100) + "{}]}";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ResponseCompressionFilter filter = new ResponseCompressionFilter(true, 1024, 4096, 6,
+            "application/json,text/plain", registry);
+
+    private static WebFilterChain writing(String body, MediaType contentType) {
+        return exchange -> {
+            exchange.getResponse().getHeaders().setContentType(contentType);
+            DataBuffer buffer = exchange.getResponse().bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8));
+            return exchange.getResponse().writeWith(Mono.just(buffer));
+        };
+    }
+
+    private static WebFilterChain writingWithLength(String body, MediaType contentType, String etag) {
+        return exchange -> {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponse().getHeaders().setContentType(contentType);
+            exchange.getResponse().getHeaders().setContentLength(bytes.length);
+            exchange.getResponse().getHeaders().setETag(etag);
+            return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap(bytes)));
+        };
+    }
+
+    private static WebFilterChain streaming(List<String> chunks, String etag) {
+        return exchange -> {
+            exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            exchange.getResponse().getHeaders().setETag(etag);
+            return exchange.getResponse().writeWith(Flux.fromIterable(chunks)
+                    .map(chunk -> exchange.getResponse().bufferFactory().wrap(chunk.getBytes(StandardCharsets.UTF_8))));
+        };
+    }
+
+    private static String gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static byte[] bodyOf(MockServerWebExchange exchange) {
+        DataBuffer joined = DataBufferUtils.join(exchange.getResponse().getBody()).block();
+        byte[] bytes = new byte[joined.readableByteCount()];
+        joined.read(bytes);
+        return bytes;
+    }
+
+    @Test
+    @DisplayName("Debe comprimir respuestas grandes de tipo permitido y registrar los bytes ahorrados")
+    void shouldCompressLargeAllowedResponses() throws IOException {
+        // Arrange
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/franchises/1")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"));
+
+        // Act
+        filter.filter(exchange, writing(LARGE_BODY, MediaType.APPLICATION_JSON)).block();
+
+        // Assert
+        assertEquals("gzip", exchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        byte[] compressed = bodyOf(exchange);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertEquals(LARGE_BODY, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertEquals(LARGE_BODY.length() - compressed.length, registry.get("franchise.http.compression.saved").counter().count());
+        assertEquals(1, registry.get("franchise.http.compression.cpu").timer().count());
+    }
+
+    @Test
+    @DisplayName("Debe comprimir completas las respuestas con Content-Length y debilitar su ETag")
+    void shouldCompressBufferedResponsesWithWeakETag() throws IOException {
+        // Arrange
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/franchises/1")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+
+        // Act
+        filter.filter(exchange, writingWithLength(LARGE_BODY, MediaType.APPLICATION_JSON, "\"v3\"")).block();
+
+        // Assert
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        byte[] compressed = bodyOf(exchange);
+        assertEquals("gzip", headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(compressed.length, headers.getContentLength());
+        assertEquals("W/\"v3\"", headers.getETag());
+        assertEquals(LARGE_BODY, gunzip(compressed));
+    }
+
+    @Test
+    @DisplayName("Debe comprimir tramo a tramo los arreglos transmitidos sin Content-Length")
+    void shouldCompressStreamedResponsesPerChunk() throws IOException {
+        // Arrange
+        List<String> chunks = new ArrayList<>();
+        chunks.add("[");
+        for (int i = 0; i < 500; i++) {
+            chunks.add((i == 0 ? "" : ",") + "{\"branchName\":\"Sucursal " + i + "\",\"stock\":" + i + "}");
+        }
+        chunks.add("]");
+        String expected = String.join("", chunks);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/franchises/1/top-stock")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+
+        // Act
+        filter.filter(exchange, streaming(chunks, "\"v3\"")).block();
+
+        // Assert
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        assertTrue(expected.length() > 4096);
+        assertEquals("gzip", headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(-1, headers.getContentLength());
+        assertEquals("W/\"v3\"", headers.getETag());
+        byte[] compressed = bodyOf(exchange);
+        assertEquals(expected, gunzip(compressed));
+        assertEquals(expected.length(), registry.get("franchise.http.compression.original").counter().count());
+        assertEquals(expected.length() - compressed.length, registry.get("franchise.http.compression.saved").counter().count());
+    }
+
+    @Test
+    @DisplayName("No debe comprimir respuestas bajo el umbral")
+    void shouldSkipResponsesBelowThreshold() {
+        // Arrange
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/franchises/1")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+
+        // Act
+        filter.filter(exchange, writing("{\"code\":\"RESOURCE_NOT_FOUND\"}", MediaType.APPLICATION_JSON)).block();
+
+        // Assert
+        assertNull(exchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("{\"code\":\"RESOURCE_NOT_FOUND\"}", new String(bodyOf(exchange), StandardCharsets.UTF_8));
+        assertEquals(1, registry.get("franchise.http.compression.skipped").counter().count());
+    }
+
+    @Test
+    @DisplayName("No debe comprimir tipos fuera de la lista ni si el cliente no acepta gzip")
+    void shouldSkipDisallowedTypesAndClientsWithoutGzip() {
+        // Arrange
+        MockServerWebExchange binary = MockServerWebExchange.from(MockServerHttpRequest.get("/")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+        MockServerWebExchange noGzip = MockServerWebExchange.from(MockServerHttpRequest.get("/")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, br"));
+
+        // Act
+        filter.filter(binary, writing(LARGE_BODY, MediaType.APPLICATION_CBOR)).block();
+        filter.filter(noGzip, writing(LARGE_BODY, MediaType.APPLICATION_JSON)).block();
+
+        // Assert
+        assertNull(binary.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertNull(noGzip.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(LARGE_BODY, new String(bodyOf(noGzip), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,40 @@
+package com.nequi.franchise.infrastructure.entrypoints.reactiveweb.helper;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.reactive.function.server.MockServerRequest;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DisplayName("Tests unitarios para RouteMetrics")
+class RouteMetricsTest {
+
+    @Test
+    @DisplayName("Debe registrar la latencia por operación, direccionamiento y resultado")
+    void shouldRecordLatencyPerRouteFamily() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RouteMetrics metrics = new RouteMetrics(registry);
+        HandlerFunction<ServerResponse> handler = metrics.timed("updateStock", RouteMetrics.Addressing.ID,
+                request -> ServerResponse.status(HttpStatus.NOT_FOUND).build());
+
+        // Act
+        StepVerifier.create(handler.handle(MockServerRequest.builder().build()))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        // Assert
+        Timer timer = registry.find(RouteMetrics.LATENCY_METRIC)
+                .tags("operation", "updateStock", "addressing", "id", "outcome", "CLIENT_ERROR")
+                .timer();
+        assertEquals(1, timer.count());
+        assertNull(registry.find(RouteMetrics.LATENCY_METRIC).tags("addressing", "name").timer());
+    }
+}
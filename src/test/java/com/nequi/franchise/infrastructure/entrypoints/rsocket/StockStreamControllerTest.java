@@ -0,0 +1,132 @@
+package com.nequi.franchise.infrastructure.entrypoints.rsocket;
+
+import com.nequi.franchise.domain.exception.ResourceNotFoundException;
+import com.nequi.franchise.domain.model.franchise.BatchOperation;
+import com.nequi.franchise.domain.model.franchise.BatchOperationResult;
+import com.nequi.franchise.domain.model.franchise.BatchOperationType;
+import com.nequi.franchise.domain.model.franchise.BatchResult;
+import com.nequi.franchise.domain.usecase.franchise.ExecuteBatchUseCase;
+import com.nequi.franchise.infrastructure.entrypoints.rsocket.dto.StockUpdateMessage;
+import com.nequi.franchise.infrastructure.entrypoints.rsocket.dto.StockUpdateRejection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests unitarios para StockStreamController")
+class StockStreamControllerTest {
+
+    @Mock
+    private ExecuteBatchUseCase executeBatchUseCase;
+
+    @Captor
+    private ArgumentCaptor<List<BatchOperation>> operations;
+
+    private StockStreamController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new StockStreamController(executeBatchUseCase, 3, Duration.ofSeconds(5));
+    }
+
+    private static StockUpdateMessage message(long sequence, String franchiseId, String productId, int stock) {
+        return new StockUpdateMessage(sequence, franchiseId, "b-1", productId, stock);
+    }
+
+    private static BatchOperationResult result(int index, BatchOperationResult.Status status, String message) {
+        return BatchOperationResult.builder()
+                .index(index)
+                .type(BatchOperationType.UPDATE_STOCK)
+                .status(status)
+                .message(message)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Debe aplicar cada tramo como un lote por franquicia y confirmar con los rechazos")
+    void shouldApplyChunkPerFranchiseAndAcknowledge() {
+        // Arrange
+        Flux<StockUpdateMessage> updates = Flux.just(
+                message(1, "franchise-1", "p-1", 10),
+                message(2, "franchise-1", "missing", 4),
+                message(3, "franchise-2", "p-9", 7),
+                message(4, "franchise-1", "p-1", 11));
+        when(executeBatchUseCase.apply(eq("franchise-1"), anyList())).thenReturn(Mono.just(BatchResult.builder()
+                .results(List.of(
+                        result(0, BatchOperationResult.Status.APPLIED, null),
+                        result(1, BatchOperationResult.Status.FAILED, "Producto no encontrado con productId: missing")))
+                .build())).thenReturn(Mono.just(BatchResult.builder()
+                .results(List.of(result(0, BatchOperationResult.Status.APPLIED, null)))
+                .build()));
+        when(executeBatchUseCase.apply(eq("franchise-2"), anyList())).thenReturn(Mono.just(BatchResult.builder()
+                .results(List.of(result(0, BatchOperationResult.Status.APPLIED, null)))
+                .build()));
+
+        // Act & Assert
+        StepVerifier.create(controller.updates(updates))
+                .expectNextMatches(ack -> ack.getLastSequence() == 3
+                        && ack.getApplied() == 2
+                        && ack.getFailed() == 1
+                        && ack.getRejections().equals(List.of(new StockUpdateRejection(2, "Producto no encontrado con productId: missing"))))
+                .expectNextMatches(ack -> ack.getLastSequence() == 4 && ack.getApplied() == 1 && ack.getFailed() == 0)
+                .verifyComplete();
+
+        verify(executeBatchUseCase, times(2)).apply(eq("franchise-1"), operations.capture());
+        BatchOperation first = operations.getAllValues().get(0).get(0);
+        assertEquals(BatchOperationType.UPDATE_STOCK, first.type());
+        assertEquals("p-1", first.productId());
+        assertEquals(10, first.stock());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar los mensajes de una franquicia inexistente sin cerrar el canal")
+    void shouldRejectGroupOnDomainErrorAndKeepChannelOpen() {
+        // Arrange
+        Flux<StockUpdateMessage> updates = Flux.just(
+                message(1, "missing", "p-1", 10),
+                message(2, null, "p-1", 3),
+                message(3, "missing", "p-2", 5),
+                message(4, "missing", "p-1", 6));
+        when(executeBatchUseCase.apply(eq("missing"), anyList()))
+                .thenReturn(Mono.error(new ResourceNotFoundException("Franquicia no encontrada con ID: missing")));
+
+        // Act & Assert
+        StepVerifier.create(controller.updates(updates))
+                .expectNextMatches(ack -> ack.getApplied() == 0
+                        && ack.getRejections().equals(List.of(
+                        new StockUpdateRejection(1, "Franquicia no encontrada con ID: missing"),
+                        new StockUpdateRejection(2, "El franchiseId es obligatorio"),
+                        new StockUpdateRejection(3, "Franquicia no encontrada con ID: missing"))))
+                .expectNextMatches(ack -> ack.getLastSequence() == 4 && ack.getFailed() == 1)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Debe terminar el canal ante errores que no son de dominio")
+    void shouldTerminateChannelOnInfrastructureError() {
+        // Arrange
+        when(executeBatchUseCase.apply(eq("franchise-1"), anyList()))
+                .thenReturn(Mono.error(new IllegalStateException("MongoDB no disponible")));
+
+        // Act & Assert
+        StepVerifier.create(controller.updates(Flux.just(message(1, "franchise-1", "p-1", 10))))
+                .expectError(IllegalStateException.class)
+                .verify();
+    }
+}
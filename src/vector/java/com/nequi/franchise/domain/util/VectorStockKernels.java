@@ -0,0 +1,74 @@
+package com.nequi.franchise.domain.util;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Implementación SIMD de {@link StockKernels} con la Vector API: procesa tantos stocks por
+ * instrucción como permita el ancho de registro de la CPU y resuelve la cola de forma escalar.
+ * Solo se instancia desde {@link StockKernels#preferred()} cuando el módulo está disponible.
+ */
+final class VectorStockKernels implements StockKernels {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONG_SPECIES = LongVector.SPECIES_PREFERRED;
+    // Cuántos vectores de long se necesitan para ensanchar un vector de int
+    private static final int LONG_PARTS = SPECIES.length() / LONG_SPECIES.length();
+
+    VectorStockKernels() {
+    }
+
+    @Override
+    public int max(int[] stocks, int from, int to) {
+        IntVector acc = IntVector.broadcast(SPECIES, Integer.MIN_VALUE);
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            acc = acc.max(IntVector.fromArray(SPECIES, stocks, i));
+        }
+        int max = acc.reduceLanes(VectorOperators.MAX);
+        for (; i < to; i++) {
+            max = Math.max(max, stocks[i]);
+        }
+        return max;
+    }
+
+    @Override
+    public long sum(int[] stocks, int from, int to) {
+        // Acumulación en lanes de 64 bits: evita desbordes aun con muchos stocks grandes
+        LongVector acc = LongVector.zero(LONG_SPECIES);
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            // El stock desconocido (MIN_VALUE) aporta 0
+            IntVector known = IntVector.fromArray(SPECIES, stocks, i).max(0);
+            for (int part = 0; part < LONG_PARTS; part++) {
+                acc = acc.add((LongVector) known.convertShape(VectorOperators.I2L, LONG_SPECIES, part));
+            }
+        }
+        long sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < to; i++) {
+            sum += Math.max(stocks[i], 0);
+        }
+        return sum;
+    }
+
+    @Override
+    public int countBelow(int[] stocks, int from, int to, int threshold) {
+        int count = 0;
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            IntVector values = IntVector.fromArray(SPECIES, stocks, i);
+            VectorMask<Integer> below = values.compare(VectorOperators.GE, 0)
+                    .and(values.compare(VectorOperators.LT, threshold));
+            count += below.trueCount();
+        }
+        for (; i < to; i++) {
+            int stock = stocks[i];
+            if (stock >= 0 && stock < threshold) {
+                count++;
+            }
+        }
+        return count;
+    }
+}